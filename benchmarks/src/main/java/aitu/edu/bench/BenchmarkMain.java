@@ -0,0 +1,35 @@
+package aitu.edu.bench;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of the benchmark jar: the standard JMH command line with the GC profiler always enabled, so every
+ * result comes with its allocation rate ({@code gc.alloc.rate.norm} is bytes per operation).
+ */
+public class BenchmarkMain {
+
+    /**
+     * Runs the benchmarks selected by the JMH command line arguments.
+     *
+     * @param args JMH command line arguments, e.g. a benchmark regexp and {@code -p n=1000}
+     * @throws CommandLineOptionException if the arguments are invalid
+     * @throws RunnerException if a benchmark fails
+     * @throws IOException if listing the benchmarks fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class).build()).run();
+    }
+}
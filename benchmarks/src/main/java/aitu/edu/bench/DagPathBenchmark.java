@@ -0,0 +1,121 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.dagsp.CriticalPathExtractor;
+import aitu.edu.graph.dagsp.DagLongestPath;
+import aitu.edu.graph.dagsp.DagShortestPath;
+import aitu.edu.graph.dagsp.PathResult;
+import aitu.edu.graph.util.TimerMetrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-source shortest and longest paths and critical path extraction on the DAG families, from node 0.
+ * <p>
+ * The plain benchmarks drop the graph's analysis cache before every call, so each one computes the topological
+ * order and stays comparable with the results from before the cache existed. The warm variants keep the cache,
+ * so they measure only the path computation over the cached order.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class DagPathBenchmark {
+
+    /**
+     * Clears the DAG's cached analysis before each invocation of the cold benchmarks.
+     */
+    @State(Scope.Benchmark)
+    public static class Cold {
+        /**
+         * Drops the cached topological order.
+         *
+         * @param d the DAG state
+         */
+        @Setup(Level.Invocation)
+        public void clear(DagState d) {
+            d.graph.analysis().clear();
+        }
+    }
+
+    /**
+     * Shortest paths from node 0.
+     *
+     * @param d    the DAG state
+     * @param cold clears the cache before the call
+     * @return the path result
+     */
+    @Benchmark
+    public PathResult shortestPath(DagState d, Cold cold) {
+        return DagShortestPath.shortestPath(d.graph, 0, new TimerMetrics());
+    }
+
+    /**
+     * Shortest paths from node 0, reusing the cached topological order.
+     *
+     * @param d the DAG state
+     * @return the path result
+     */
+    @Benchmark
+    public PathResult shortestPathWarm(DagState d) {
+        return DagShortestPath.shortestPath(d.graph, 0, new TimerMetrics());
+    }
+
+    /**
+     * Longest paths from node 0.
+     *
+     * @param d    the DAG state
+     * @param cold clears the cache before the call
+     * @return the path result
+     */
+    @Benchmark
+    public PathResult longestPath(DagState d, Cold cold) {
+        return DagLongestPath.longestPath(d.graph, 0, new TimerMetrics());
+    }
+
+    /**
+     * Longest paths from node 0, reusing the cached topological order.
+     *
+     * @param d the DAG state
+     * @return the path result
+     */
+    @Benchmark
+    public PathResult longestPathWarm(DagState d) {
+        return DagLongestPath.longestPath(d.graph, 0, new TimerMetrics());
+    }
+
+    /**
+     * Critical path over all sources.
+     *
+     * @param d    the DAG state
+     * @param cold clears the cache before the call
+     * @return the path result
+     */
+    @Benchmark
+    public PathResult criticalPath(DagState d, Cold cold) {
+        return CriticalPathExtractor.criticalPath(d.graph, new TimerMetrics());
+    }
+
+    /**
+     * Critical path over all sources, reusing the cached topological order.
+     *
+     * @param d the DAG state
+     * @return the path result
+     */
+    @Benchmark
+    public PathResult criticalPathWarm(DagState d) {
+        return CriticalPathExtractor.criticalPath(d.graph, new TimerMetrics());
+    }
+}
@@ -0,0 +1,34 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.util.Graph;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * An acyclic graph from {@link GraphFamily} for the DAG path algorithms, whose results are only defined on DAGs.
+ */
+@State(Scope.Benchmark)
+public class DagState {
+    /** Average out-degree class: "sparse" (2) or "dense" (8). */
+    @Param({"sparse", "dense"})
+    public String density;
+
+    /** Number of vertices. */
+    @Param({"1000", "100000", "10000000"})
+    public int n;
+
+    /** The generated DAG. */
+    public Graph graph;
+
+    /**
+     * Generates the graph once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphFamily.generate(density, "dag", n, 42);
+    }
+}
@@ -0,0 +1,83 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.scc.DynamicSCC;
+import aitu.edu.graph.scc.SCCResult;
+import aitu.edu.graph.scc.TarjanSCC;
+import aitu.edu.graph.util.Graph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Update latency of {@link DynamicSCC} against recomputing the SCCs from scratch after every change.
+ * <p>
+ * On a {@code many_cycles} graph, an update adds an edge from the first node of a random 10-node block back to
+ * the last node of the block before it, which merges the two components, and then removes it again, which
+ * splits them. {@code update} times that pair; {@code recompute} is one Tarjan run over the whole graph, the
+ * cost a static engine pays per change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class DynamicSccBenchmark {
+    /** Average out-degree class: "sparse" (2) or "dense" (8). */
+    @Param({"sparse", "dense"})
+    public String density;
+
+    /** Number of vertices. */
+    @Param({"1000", "100000", "1000000"})
+    public int n;
+
+    private Graph graph;
+    private DynamicSCC dynamic;
+    private final SplittableRandom rnd = new SplittableRandom(7);
+
+    /**
+     * Generates the graph and builds the dynamic structure.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphFamily.generate(density, "many_cycles", n, 42);
+        dynamic = new DynamicSCC(graph);
+    }
+
+    /**
+     * A merge followed by the matching split.
+     *
+     * @return whether the removal split a component
+     */
+    @Benchmark
+    public boolean update() {
+        int block = 1 + rnd.nextInt(n / 10 - 1);
+        int u = block * 10;
+        int v = u - 1;
+        dynamic.addEdge(u, v);
+        return dynamic.removeEdge(u, v);
+    }
+
+    /**
+     * A full Tarjan recompute, the baseline.
+     *
+     * @return the SCC result
+     */
+    @Benchmark
+    public SCCResult recompute() {
+        return TarjanSCC.computeSCC(graph, null);
+    }
+}
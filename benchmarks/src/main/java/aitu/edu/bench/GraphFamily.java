@@ -0,0 +1,70 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.util.Graph;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic graph families for the benchmarks, built straight into CSR arrays so that even the 1e7-vertex
+ * graphs fit in a benchmark heap.
+ * <p>
+ * Every family starts from a DAG: node u has an edge to u+1 and further edges to uniformly random later
+ * nodes (1 extra for sparse, 7 for dense). The structure then adds back edges: none for {@code dag}, one
+ * closing a 100-node cycle for {@code one_cycle}, and one per block of 10 nodes for {@code many_cycles}
+ * (n/10 SCCs of size 10). Every node gets a duration in [1, 9]. Generation is deterministic per seed.
+ */
+public final class GraphFamily {
+    private static final int CYCLE_LENGTH = 100;
+    private static final int BLOCK = 10;
+
+    private GraphFamily() {}
+
+    /**
+     * Generates a graph of the family.
+     *
+     * @param density   "sparse" or "dense"
+     * @param structure "dag", "one_cycle" or "many_cycles"
+     * @param n         the number of vertices
+     * @param seed      the random seed
+     * @return the generated graph
+     */
+    public static Graph generate(String density, String structure, int n, long seed) {
+        int forward;
+        switch (density) {
+            case "sparse": forward = 2; break;
+            case "dense": forward = 8; break;
+            default: throw new IllegalArgumentException("unknown density: " + density);
+        }
+        if (!structure.equals("dag") && !structure.equals("one_cycle") && !structure.equals("many_cycles")) {
+            throw new IllegalArgumentException("unknown structure: " + structure);
+        }
+
+        int[] off = new int[n + 1];
+        for (int u = 0; u < n; u++) off[u + 1] = off[u] + (u < n - 1 ? forward : 0) + (hasBackEdge(structure, u, n) ? 1 : 0);
+        int[] tgt = new int[off[n]];
+        SplittableRandom rnd = new SplittableRandom(seed);
+        for (int u = 0; u < n; u++) {
+            int i = off[u];
+            if (u < n - 1) {
+                tgt[i++] = u + 1;
+                for (int k = 1; k < forward; k++) tgt[i++] = u + 1 + rnd.nextInt(n - u - 1);
+            }
+            if (hasBackEdge(structure, u, n)) tgt[i] = structure.equals("one_cycle") ? 0 : u - (BLOCK - 1);
+        }
+
+        long[] dur = new long[n];
+        for (int v = 0; v < n; v++) dur[v] = 1 + rnd.nextInt(9);
+        BitSet hasDur = new BitSet(n);
+        hasDur.set(0, n);
+        return Graph.fromCsr(n, off, tgt, dur, hasDur);
+    }
+
+    private static boolean hasBackEdge(String structure, int u, int n) {
+        switch (structure) {
+            case "one_cycle": return u == Math.min(n, CYCLE_LENGTH) - 1 && u > 0;
+            case "many_cycles": return u % BLOCK == BLOCK - 1;
+            default: return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.util.Graph;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A graph from every {@link GraphFamily}, shared by the benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    /** Average out-degree class: "sparse" (2) or "dense" (8). */
+    @Param({"sparse", "dense"})
+    public String density;
+
+    /** Cycle structure: "dag", "one_cycle" or "many_cycles". */
+    @Param({"dag", "one_cycle", "many_cycles"})
+    public String structure;
+
+    /** Number of vertices. */
+    @Param({"1000", "100000", "10000000"})
+    public int n;
+
+    /** The generated graph. */
+    public Graph graph;
+
+    /**
+     * Generates the graph once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphFamily.generate(density, structure, n, 42);
+    }
+}
@@ -0,0 +1,107 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph ingestion: {@link GraphBuilder#fromFile} (streaming parse of the whole file) against {@link
+ * GraphBuilder#fromJson} (building from an already parsed tree).
+ * <p>
+ * The input is a generated single-graph file with weighted object edges, the format of the {@code data/}
+ * inputs. Edges per second are {@code edges} divided by the time per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class IngestBenchmark {
+    /** Number of edges in the generated file. */
+    @Param({"2000000"})
+    public int edges;
+
+    /** Number of nodes in the generated file. */
+    @Param({"200000"})
+    public int nodes;
+
+    private Path file;
+    private JsonNode tree;
+
+    /**
+     * Generates the input file and parses it once for the tree benchmark.
+     *
+     * @throws IOException if the file cannot be written or read
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("ingest", ".json");
+        Random rnd = new Random(42);
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            w.print("{\"n\":" + nodes + ",\"weight_model\":\"node\",\"nodes\":[");
+            for (int v = 0; v < nodes; v++) w.print(v == 0 ? "0" : "," + v);
+            w.print("],\"edges\":[");
+            for (int i = 0; i < edges; i++) {
+                if (i > 0) w.print(',');
+                w.print("{\"u\":" + rnd.nextInt(nodes) + ",\"v\":" + rnd.nextInt(nodes) + ",\"w\":" + (1 + rnd.nextInt(8)) + "}");
+            }
+            w.print("],\"durations\":{\"0\":3}}");
+        }
+        tree = new ObjectMapper().readTree(file.toFile());
+    }
+
+    /**
+     * Deletes the input file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Streaming parse of the file.
+     *
+     * @return the graph
+     * @throws IOException if reading fails
+     */
+    @Benchmark
+    public Graph fromFile() throws IOException {
+        return GraphBuilder.fromFile(file.toString()).build();
+    }
+
+    /**
+     * Building from the parsed tree.
+     *
+     * @return the graph
+     */
+    @Benchmark
+    public Graph fromJson() {
+        return GraphBuilder.fromJson(tree).build();
+    }
+}
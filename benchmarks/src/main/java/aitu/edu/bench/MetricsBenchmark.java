@@ -0,0 +1,117 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.scc.KosarajuSCC;
+import aitu.edu.graph.scc.SCCResult;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+import aitu.edu.graph.util.NoOpMetrics;
+import aitu.edu.graph.util.StripedMetrics;
+import aitu.edu.graph.util.TimerMetrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Metrics implementations: the synchronized {@link TimerMetrics}, the striped {@link StripedMetrics}
+ * and {@link NoOpMetrics}.
+ * <p>
+ * {@code kosaraju} runs a real algorithm on one thread with each implementation; {@code contended} has four
+ * threads incrementing one shared instance, the situation of a parallel algorithm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MetricsBenchmark {
+    private static final int INCREMENTS = 1000;
+
+    /**
+     * The Metrics implementation under test, created per call by {@link #create()}.
+     */
+    @State(Scope.Benchmark)
+    public static class Impl {
+        /** "synchronized", "striped" or "noop". */
+        @Param({"synchronized", "striped", "noop"})
+        public String metrics;
+
+        Metrics shared;
+
+        /**
+         * Creates the shared instance used by the contended benchmark.
+         */
+        @Setup(Level.Iteration)
+        public void setUp() {
+            shared = create();
+        }
+
+        Metrics create() {
+            switch (metrics) {
+                case "synchronized": return new TimerMetrics();
+                case "striped": return new StripedMetrics();
+                case "noop": return NoOpMetrics.INSTANCE;
+                default: throw new IllegalArgumentException("unknown metrics: " + metrics);
+            }
+        }
+    }
+
+    /**
+     * A sparse graph with 1e5 vertices in SCCs of size 10.
+     */
+    @State(Scope.Benchmark)
+    public static class Input {
+        Graph graph;
+
+        /**
+         * Generates the graph and builds its reverse CSR once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            graph = GraphFamily.generate("sparse", "many_cycles", 100_000, 42);
+            graph.reverseSources();
+        }
+    }
+
+    /**
+     * Kosaraju SCC on one thread, counting every visit and edge.
+     *
+     * @param impl  the Metrics implementation
+     * @param input the graph
+     * @return the SCC result
+     */
+    @Benchmark
+    public SCCResult kosaraju(Impl impl, Input input) {
+        return KosarajuSCC.computeSCC(input.graph, impl.create());
+    }
+
+    /**
+     * Four threads incrementing one shared instance; the score is the time per increment.
+     *
+     * @param impl the Metrics implementation
+     * @return the count read back
+     */
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    @OperationsPerInvocation(INCREMENTS)
+    public long contended(Impl impl) {
+        Metrics m = impl.shared;
+        for (int i = 0; i < INCREMENTS; i++) m.incDfsEdge();
+        return m.getDfsEdges();
+    }
+}
@@ -0,0 +1,90 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.scc.KosarajuSCC;
+import aitu.edu.graph.scc.ParallelSCC;
+import aitu.edu.graph.scc.SCCResult;
+import aitu.edu.graph.util.Graph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speedup curve of {@link ParallelSCC} by pool size, next to sequential Kosaraju on the same graph.
+ * <p>
+ * Dividing the {@code kosaraju} time by the {@code parallel} time for each {@code threads} value gives the
+ * speedup; the 1-thread run shows the FW-BW overhead over a single DFS pass.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ParallelSccBenchmark {
+    /** Fork-join pool size. */
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    public int threads;
+
+    /** Cycle structure of the graph. */
+    @Param({"one_cycle", "many_cycles"})
+    public String structure;
+
+    /** Number of vertices; the dense family has 8 edges per vertex. */
+    @Param({"2500000"})
+    public int n;
+
+    private Graph graph;
+    private ForkJoinPool pool;
+
+    /**
+     * Generates the graph, builds its reverse CSR and starts the pool.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphFamily.generate("dense", structure, n, 42);
+        graph.reverseSources();
+        pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Stops the pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Parallel FW-BW SCC on the pool.
+     *
+     * @return the SCC result
+     */
+    @Benchmark
+    public SCCResult parallel() {
+        return ParallelSCC.computeSCC(graph, null, pool);
+    }
+
+    /**
+     * Sequential Kosaraju, the baseline; it does not depend on {@code threads}.
+     *
+     * @return the SCC result
+     */
+    @Benchmark
+    public SCCResult kosaraju() {
+        return KosarajuSCC.computeSCC(graph, null);
+    }
+}
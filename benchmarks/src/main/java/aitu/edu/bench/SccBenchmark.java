@@ -0,0 +1,76 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.scc.CondensationBuilder;
+import aitu.edu.graph.scc.KosarajuSCC;
+import aitu.edu.graph.scc.SCCResult;
+import aitu.edu.graph.util.TimerMetrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kosaraju SCC and condensation building on every graph family.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class SccBenchmark {
+
+    /**
+     * The graph together with its edge list and SCCs, the inputs of {@link CondensationBuilder#build}.
+     */
+    @State(Scope.Benchmark)
+    public static class CondensationInput {
+        List<int[]> edges;
+        SCCResult scc;
+
+        /**
+         * Precomputes the edge list and SCCs once per trial.
+         *
+         * @param g the graph state
+         */
+        @Setup(Level.Trial)
+        public void setUp(GraphState g) {
+            edges = g.graph.edges();
+            scc = KosarajuSCC.computeSCC(g.graph);
+        }
+    }
+
+    /**
+     * Kosaraju SCC. The graph is shared, so this measures the two DFS passes over the cached reverse CSR, not
+     * its construction.
+     *
+     * @param g the graph state
+     * @return the SCC result
+     */
+    @Benchmark
+    public SCCResult kosaraju(GraphState g) {
+        return KosarajuSCC.computeSCC(g.graph, new TimerMetrics());
+    }
+
+    /**
+     * Condensation building from the edge list and precomputed SCCs.
+     *
+     * @param g  the graph state
+     * @param in the precomputed inputs
+     * @return the condensation
+     */
+    @Benchmark
+    public CondensationBuilder.Condensation condensation(GraphState g, CondensationInput in) {
+        return CondensationBuilder.build(g.graph.nodeCount(), in.edges, in.scc);
+    }
+}
@@ -0,0 +1,71 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.scc.SCCResult;
+import aitu.edu.graph.scc.SccEngine;
+import aitu.edu.graph.util.Graph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The sequential SCC engines side by side on every graph family.
+ * <p>
+ * Each invocation runs on a fresh Graph sharing the generated CSR arrays, so Kosaraju pays for building the
+ * reverse CSR every time, while Tarjan and Gabow, which only walk forward edges, do not need it. With the GC
+ * profiler, {@code gc.alloc.rate.norm} is the engine's working memory per run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class SccEngineBenchmark {
+    /** Engine name, as accepted by {@link SccEngine#fromName}. */
+    @Param({"kosaraju", "tarjan", "gabow"})
+    public String engine;
+
+    private SccEngine sccEngine;
+    private Graph fresh;
+
+    /**
+     * Resolves the engine.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        sccEngine = SccEngine.fromName(engine);
+    }
+
+    /**
+     * Wraps the graph's arrays in a new Graph without a reverse CSR.
+     *
+     * @param g the graph state
+     */
+    @Setup(Level.Invocation)
+    public void freshGraph(GraphState g) {
+        Graph graph = g.graph;
+        fresh = Graph.fromCsr(graph.nodeCount(), graph.offsets(), graph.targets(), graph.durationArray(), null);
+    }
+
+    /**
+     * One engine run.
+     *
+     * @return the SCC result
+     */
+    @Benchmark
+    public SCCResult compute() {
+        return sccEngine.compute(fresh, null);
+    }
+}
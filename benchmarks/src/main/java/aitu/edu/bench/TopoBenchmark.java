@@ -0,0 +1,48 @@
+package aitu.edu.bench;
+
+import aitu.edu.graph.topo.DFSTopologicalSort;
+import aitu.edu.graph.util.TimerMetrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DFS topological sort on every graph family; on cyclic graphs it still yields the reverse post-order.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class TopoBenchmark {
+
+    /**
+     * The list-based API over the graph's adjacency view, as used by the reports.
+     *
+     * @param g the graph state
+     * @return the order
+     */
+    @Benchmark
+    public List<Integer> topologicalOrder(GraphState g) {
+        return DFSTopologicalSort.topologicalOrder(g.graph.adjacency(), new TimerMetrics());
+    }
+
+    /**
+     * The primitive API reading the CSR arrays directly.
+     *
+     * @param g the graph state
+     * @return the order
+     */
+    @Benchmark
+    public int[] topologicalOrderArray(GraphState g) {
+        return DFSTopologicalSort.topologicalOrderArray(g.graph, new TimerMetrics());
+    }
+}
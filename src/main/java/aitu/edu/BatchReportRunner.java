@@ -0,0 +1,164 @@
+package aitu.edu;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Generates reports for many input files concurrently on a bounded thread pool.
+ * <p>
+ * Each file's console output is buffered while it runs and printed in input order once the file is done,
+ * so the log reads exactly as in a sequential run. The JVM is warmed up once before any file starts.
+ */
+public class BatchReportRunner {
+
+    /**
+     * What to do when generating the report for a file fails.
+     */
+    public enum FailurePolicy {
+        /**
+         * Log the failure and keep processing the remaining files.
+         */
+        CONTINUE,
+        /**
+         * Stop starting new files and fail the whole batch.
+         */
+        FAIL_FAST
+    }
+
+    private final int threads;
+    private final FailurePolicy failurePolicy;
+    private final ReportOptions options;
+
+    /**
+     * Constructs a BatchReportRunner.
+     *
+     * @param threads       the number of files processed at the same time
+     * @param failurePolicy what to do when a file fails
+     * @param options       the report options used for every file
+     */
+    public BatchReportRunner(int threads, FailurePolicy failurePolicy, ReportOptions options) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive");
+        this.threads = threads;
+        this.failurePolicy = failurePolicy;
+        this.options = options;
+    }
+
+    /**
+     * Generates {@code report_<name>} for every {@code input_<name>} file in the directory.
+     *
+     * @param targetDir  the directory holding the input files, ending with a separator
+     * @param inputFiles the input file names, processed and logged in this order
+     * @return the number of files that failed
+     * @throws IOException if a file fails under {@link FailurePolicy#FAIL_FAST}
+     */
+    public int run(String targetDir, List<String> inputFiles) throws IOException {
+        TasksReportGenerator.warmupJVM(options.getSccEngine(), System.out);
+
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, inputFiles.size())));
+        List<Future<FileOutcome>> futures = new ArrayList<>(inputFiles.size());
+        try {
+            for (String fileName : inputFiles) {
+                futures.add(pool.submit(() -> processFile(targetDir, fileName, aborted)));
+            }
+
+            // Print buffered logs in input order as files complete
+            int failed = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                FileOutcome outcome;
+                try {
+                    outcome = futures.get(i).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted while waiting for " + inputFiles.get(i), e);
+                } catch (ExecutionException e) {
+                    outcome = new FileOutcome("", "", e.getCause() != null ? e.getCause() : e);
+                } catch (CancellationException e) {
+                    outcome = new FileOutcome("", "", e);
+                }
+                if (outcome.skipped) continue;
+                System.out.print(outcome.out);
+                System.err.print(outcome.err);
+                if (outcome.error == null) continue;
+
+                failed++;
+                System.err.println("Report failed: " + inputFiles.get(i) + " - " + outcome.error);
+                if (failurePolicy == FailurePolicy.FAIL_FAST) {
+                    aborted.set(true);
+                    pool.shutdownNow();
+                    throw new IOException("report generation failed for " + inputFiles.get(i), outcome.error);
+                }
+            }
+            return failed;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the report for one file with its output captured in memory.
+     *
+     * @param targetDir the input directory
+     * @param fileName  the input file name
+     * @param aborted   set once the batch has been aborted, and set here when this file fails under
+     *                  {@link FailurePolicy#FAIL_FAST}
+     * @return the captured output and failure, if any
+     */
+    private FileOutcome processFile(String targetDir, String fileName, AtomicBoolean aborted) {
+        if (aborted.get()) return FileOutcome.SKIPPED;
+        ByteArrayOutputStream outBuf = new ByteArrayOutputStream();
+        ByteArrayOutputStream errBuf = new ByteArrayOutputStream();
+        Throwable error = null;
+        try (PrintStream out = new PrintStream(outBuf, true, StandardCharsets.UTF_8);
+             PrintStream err = new PrintStream(errBuf, true, StandardCharsets.UTF_8)) {
+            out.println("Processing file: " + fileName);
+            String inputPath = targetDir + fileName;
+            String baseName = fileName.substring("input_".length());
+            String outputPath = targetDir + "report_" + baseName;
+            long start = System.nanoTime();
+            try {
+                TasksReportGenerator.generateReport(inputPath, outputPath, options, out, err);
+                out.println("Report generated: " + outputPath + " (" + (System.nanoTime() - start) / 1_000_000 + " ms)");
+            } catch (Exception | Error e) {
+                e.printStackTrace(err);
+                error = e;
+                // Files still queued are skipped at once rather than when the in-order loop reaches this one
+                if (failurePolicy == FailurePolicy.FAIL_FAST) aborted.set(true);
+            }
+        }
+        return new FileOutcome(outBuf.toString(StandardCharsets.UTF_8), errBuf.toString(StandardCharsets.UTF_8), error);
+    }
+
+    /**
+     * Captured output of one file.
+     */
+    private static final class FileOutcome {
+        static final FileOutcome SKIPPED = new FileOutcome("", "", null, true);
+
+        final String out;
+        final String err;
+        final Throwable error;
+        final boolean skipped;
+
+        FileOutcome(String out, String err, Throwable error) {
+            this(out, err, error, false);
+        }
+
+        private FileOutcome(String out, String err, Throwable error, boolean skipped) {
+            this.out = out;
+            this.err = err;
+            this.error = error;
+            this.skipped = skipped;
+        }
+    }
+}
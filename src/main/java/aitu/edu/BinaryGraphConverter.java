@@ -0,0 +1,65 @@
+package aitu.edu;
+
+import aitu.edu.graph.util.BinaryGraphFile;
+import aitu.edu.graph.util.BinaryGraphWriter;
+import aitu.edu.graph.util.GraphRecord;
+import aitu.edu.graph.util.GraphStreamReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts JSON graph inputs into the binary graph format and compares how long each takes to load.
+ * <p>
+ * {@code input_x.json} is written to {@code input_x.bin} next to it. For every file it prints both sizes, the
+ * time to parse all graphs from JSON and the time to load them from the binary file.
+ */
+public class BinaryGraphConverter {
+
+    /**
+     * Converts the given JSON files, or every {@code data/input_*.json} file if none are given.
+     *
+     * @param args input file paths
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>(List.of(args));
+        if (files.isEmpty()) {
+            for (String name : FileUtils.getJsonFiles("data/")) files.add("data/" + name);
+        }
+
+        System.out.printf("%-28s %6s %12s %12s %12s %12s%n", "file", "graphs", "json_bytes", "bin_bytes", "json_ms", "bin_ms");
+        for (String file : files) {
+            Path json = Paths.get(file);
+            String name = json.getFileName().toString();
+            Path bin = json.resolveSibling(name.endsWith(".json") ? name.substring(0, name.length() - 5) + ".bin" : name + ".bin");
+            int graphs = BinaryGraphWriter.convertJson(json.toFile(), bin);
+
+            long start = System.nanoTime();
+            long edges = 0;
+            try (GraphStreamReader reader = new GraphStreamReader(json.toFile())) {
+                while (reader.hasNext()) {
+                    GraphRecord rec = reader.next();
+                    edges += rec.graph().edgeCount();
+                }
+            }
+            long jsonNs = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long binEdges = 0;
+            try (BinaryGraphFile in = BinaryGraphFile.open(bin)) {
+                for (int i = 0; i < in.graphCount(); i++) binEdges += in.graph(i).edgeCount();
+            }
+            long binNs = System.nanoTime() - start;
+            if (binEdges != edges) throw new IllegalStateException(bin + " holds " + binEdges + " edges, expected " + edges);
+
+            System.out.printf("%-28s %6d %12d %12d %12.3f %12.3f%n", new File(file).getName(), graphs,
+                    Files.size(json), Files.size(bin), jsonNs / 1e6, binNs / 1e6);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package aitu.edu;
 
+import aitu.edu.graph.scc.SccEngine;
+
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Main entry point for the application that processes input JSON files and generates reports.
@@ -8,24 +11,59 @@ import java.util.List;
 public class Main {
     /**
      * Main method that processes all input JSON files in the data directory and generates corresponding report files.
+     * <p>
+     * Supported arguments:
+     * <ul>
+     *   <li>{@code --scc=<kosaraju|tarjan|gabow|parallel>} selects the SCC algorithm (default kosaraju)</li>
+     *   <li>{@code --threads=N} sets how many files are processed in parallel (default: available processors)</li>
+     *   <li>{@code --on-error=<continue|fail-fast>} sets the per-file failure policy (default continue)</li>
+     *   <li>{@code --graph-threads=N} processes the graphs inside each file on N threads (default 1)</li>
+     *   <li>{@code --compact} writes the reports on one line instead of pretty-printed</li>
+     *   <li>{@code --atomic-output} publishes each report only once complete, by moving a temporary file into
+     *   place, instead of streaming it</li>
+     * </ul>
+     * Unknown arguments are rejected. The process exits with status 1 if any report failed.
      *
-     * @param args command line arguments (not used)
+     * @param args command line arguments
      * @throws Exception if there is an issue during processing
      */
     public static void main(String[] args) throws Exception {
+        SccEngine sccEngine = SccEngine.KOSARAJU;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int graphThreads = 1;
+        boolean compact = false;
+        boolean atomic = false;
+        BatchReportRunner.FailurePolicy failurePolicy = BatchReportRunner.FailurePolicy.CONTINUE;
+        for (String arg : args) {
+            if (arg.startsWith("--scc=")) {
+                sccEngine = SccEngine.fromName(arg.substring("--scc=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+                if (threads < 1) throw new IllegalArgumentException("--threads must be positive: " + arg);
+            } else if (arg.startsWith("--graph-threads=")) {
+                graphThreads = Integer.parseInt(arg.substring("--graph-threads=".length()));
+            } else if (arg.equals("--compact")) {
+                compact = true;
+            } else if (arg.equals("--atomic-output")) {
+                atomic = true;
+            } else if (arg.startsWith("--on-error=")) {
+                String policy = arg.substring("--on-error=".length()).replace('-', '_').toUpperCase(Locale.ROOT);
+                failurePolicy = BatchReportRunner.FailurePolicy.valueOf(policy);
+            } else {
+                throw new IllegalArgumentException("unknown argument: " + arg);
+            }
+        }
         // Define the target directory containing input files
         String targetDir = "data/";
         // Retrieve the list of JSON files in the target directory
         List<String> inputFiles = FileUtils.getJsonFiles(targetDir);
-        // Process each input file
-        for (String fileName : inputFiles) {
-            System.out.println("Processing file: " + fileName);
-            String inputPath = targetDir + fileName;
-            String baseName = fileName.substring("input_".length());
-            String outputPath = targetDir + "report_" + baseName;
-            // Generate report for the current input file
-            TasksReportGenerator.generateReport(inputPath, outputPath);
-            System.out.println("Report generated: " + outputPath);
+        // Process the files on a bounded pool; logs are printed in input order
+        ReportOptions options = new ReportOptions().sccEngine(sccEngine).graphParallelism(graphThreads)
+                .compactOutput(compact).atomicOutput(atomic);
+        int failed = new BatchReportRunner(threads, failurePolicy, options).run(targetDir, inputFiles);
+        if (failed > 0) {
+            System.err.println(failed + " of " + inputFiles.size() + " reports failed");
+            System.exit(1);
         }
     }
-}
\ No newline at end of file
+}
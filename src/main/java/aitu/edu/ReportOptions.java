@@ -0,0 +1,104 @@
+package aitu.edu;
+
+import aitu.edu.graph.scc.SccAlgorithm;
+import aitu.edu.graph.scc.SccEngine;
+
+/**
+ * Settings for report generation: which SCC algorithm to use, how many graphs of a file to process in
+ * parallel, whether the report is pretty-printed and whether it is published atomically.
+ */
+public class ReportOptions {
+    private SccAlgorithm sccEngine = SccEngine.KOSARAJU;
+    private int graphParallelism = 1;
+    private boolean compactOutput = false;
+    private boolean atomicOutput = false;
+
+    /**
+     * Constructs ReportOptions with the defaults: Kosaraju SCC, sequential graph processing and pretty-printed
+     * output streamed to the report path.
+     */
+    public ReportOptions() {}
+
+    /**
+     * Sets the SCC algorithm run on each graph.
+     *
+     * @param sccEngine the SCC algorithm
+     * @return these options
+     */
+    public ReportOptions sccEngine(SccAlgorithm sccEngine) {
+        if (sccEngine == null) throw new IllegalArgumentException("sccEngine is null");
+        this.sccEngine = sccEngine;
+        return this;
+    }
+
+    /**
+     * Sets how many graphs of one input file are processed at the same time. 1 means sequential.
+     *
+     * @param graphParallelism the number of worker threads for the graphs of a file
+     * @return these options
+     */
+    public ReportOptions graphParallelism(int graphParallelism) {
+        if (graphParallelism < 1) throw new IllegalArgumentException("graphParallelism must be positive");
+        this.graphParallelism = graphParallelism;
+        return this;
+    }
+
+    /**
+     * Sets whether the report is written compactly on one line instead of pretty-printed.
+     *
+     * @param compactOutput true for compact output
+     * @return these options
+     */
+    public ReportOptions compactOutput(boolean compactOutput) {
+        this.compactOutput = compactOutput;
+        return this;
+    }
+
+    /**
+     * Sets whether the report is written to a temporary file and moved into place once complete, instead of
+     * streamed to the report path as the graphs finish.
+     *
+     * @param atomicOutput true for atomic output
+     * @return these options
+     */
+    public ReportOptions atomicOutput(boolean atomicOutput) {
+        this.atomicOutput = atomicOutput;
+        return this;
+    }
+
+    /**
+     * Returns the SCC algorithm.
+     *
+     * @return the SCC algorithm
+     */
+    public SccAlgorithm getSccEngine() {
+        return sccEngine;
+    }
+
+    /**
+     * Returns the number of graphs processed at the same time.
+     *
+     * @return the graph parallelism
+     */
+    public int getGraphParallelism() {
+        return graphParallelism;
+    }
+
+    /**
+     * Returns whether the report is written compactly.
+     *
+     * @return true for compact output
+     */
+    public boolean isCompactOutput() {
+        return compactOutput;
+    }
+
+    /**
+     * Returns whether the report is moved into place once complete.
+     *
+     * @return true for atomic output
+     */
+    public boolean isAtomicOutput() {
+        return atomicOutput;
+    }
+}
@@ -0,0 +1,136 @@
+package aitu.edu;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes a report file incrementally: the enclosing JSON array is opened up front and each graph's entry is
+ * written and flushed as soon as it is added, so finished entries never pile up in memory and readers of the
+ * file see them early.
+ * <p>
+ * With pretty printing the output is byte-for-byte what {@code writerWithDefaultPrettyPrinter()} produces for
+ * the whole array; compact output puts everything on one line.
+ * <p>
+ * The closing {@code ]} is only written by {@link #finish()}. A writer closed without finishing leaves the
+ * entries written so far without it, so a failed run never leaves a report that parses as complete. With
+ * atomic output the entries go to a temporary file next to the report instead, which {@link #finish()} moves
+ * into place; readers then only ever see complete reports, but not before the run ends, and a failed run
+ * leaves the previous report untouched.
+ */
+public class ReportWriter implements Closeable {
+    private final ObjectMapper om;
+    private final JsonGenerator gen;
+    private final Path target;
+    /** The temporary file for atomic output, or null when writing to the report path directly. */
+    private final Path temp;
+    private int count = 0;
+    private boolean finished = false;
+
+    /**
+     * Opens the report file and writes the start of the array.
+     *
+     * @param om         the ObjectMapper used to serialize the entries
+     * @param outputPath the path of the report file
+     * @param pretty     whether to pretty-print the output
+     * @throws IOException if the file cannot be opened
+     */
+    public ReportWriter(ObjectMapper om, String outputPath, boolean pretty) throws IOException {
+        this(om, outputPath, pretty, false);
+    }
+
+    /**
+     * Opens the report file, or a temporary file next to it for atomic output, and writes the start of the
+     * array.
+     *
+     * @param om         the ObjectMapper used to serialize the entries
+     * @param outputPath the path of the report file
+     * @param pretty     whether to pretty-print the output
+     * @param atomic     whether to write to a temporary file that {@link #finish()} moves to the report path
+     * @throws IOException if the file cannot be opened
+     */
+    public ReportWriter(ObjectMapper om, String outputPath, boolean pretty, boolean atomic) throws IOException {
+        this.om = om;
+        this.target = Paths.get(outputPath).toAbsolutePath();
+        this.temp = atomic ? Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp") : null;
+        JsonGenerator g = null;
+        try {
+            g = om.getFactory().createGenerator((atomic ? temp : target).toFile(), JsonEncoding.UTF8);
+            // Closing must not complete the array; only finish() does
+            g.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (pretty) g.useDefaultPrettyPrinter();
+            g.writeStartArray();
+        } catch (IOException | RuntimeException e) {
+            if (g != null) g.close();
+            if (temp != null) Files.deleteIfExists(temp);
+            throw e;
+        }
+        this.gen = g;
+    }
+
+    /**
+     * Writes one graph's entry and flushes it to the file.
+     *
+     * @param entry the report entry
+     * @throws IOException if writing fails
+     */
+    public void write(ObjectNode entry) throws IOException {
+        om.writeTree(gen, entry);
+        gen.flush();
+        count++;
+    }
+
+    /**
+     * Returns the number of entries written so far.
+     *
+     * @return the entry count
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Writes the end of the array and closes the file; with atomic output, moves it to the report path,
+     * replacing any previous report.
+     *
+     * @throws IOException if writing or moving fails
+     */
+    public void finish() throws IOException {
+        if (finished) return;
+        gen.writeEndArray();
+        gen.close();
+        if (temp != null) {
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finished = true;
+    }
+
+    /**
+     * Closes the file. Unless {@link #finish()} succeeded, the report is left without its closing bracket, or
+     * with atomic output the temporary file is deleted.
+     *
+     * @throws IOException if closing or deleting fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (finished) return;
+        try {
+            gen.close();
+        } finally {
+            if (temp != null) Files.deleteIfExists(temp);
+        }
+    }
+}
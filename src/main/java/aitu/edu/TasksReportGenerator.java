@@ -1,32 +1,45 @@
 package aitu.edu;
 
+import aitu.edu.graph.dagsp.CpmSchedule;
 import aitu.edu.graph.dagsp.CriticalPathExtractor;
+import aitu.edu.graph.dagsp.CriticalPathMethod;
 import aitu.edu.graph.dagsp.DagShortestPath;
 import aitu.edu.graph.dagsp.DagLongestPath;
 import aitu.edu.graph.dagsp.PathResult;
 import aitu.edu.graph.scc.SCCResult;
-import aitu.edu.graph.scc.KosarajuSCC;
-import aitu.edu.graph.scc.CondensationBuilder;
+import aitu.edu.graph.scc.SccAlgorithm;
+import aitu.edu.graph.scc.SccEngine;
 import aitu.edu.graph.topo.DFSTopologicalSort;
 import aitu.edu.graph.topo.TaskOrderDeriver;
 import aitu.edu.graph.util.Graph;
 import aitu.edu.graph.util.GraphBuilder;
+import aitu.edu.graph.util.GraphRecord;
+import aitu.edu.graph.util.GraphStreamReader;
 import aitu.edu.graph.util.Metrics;
-import aitu.edu.graph.util.TimerMetrics;
+import aitu.edu.graph.util.StripedMetrics;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Generates reports for graph processing tasks, including SCC, topological sort, shortest and longest paths.
  */
 public class TasksReportGenerator {
+    private static final AtomicBoolean WARMED_UP = new AtomicBoolean(false);
+    /** Most critical paths listed in the CPM section; there can be exponentially many. */
+    private static final int CPM_PATH_LIMIT = 10;
 
     /**
      * Generates a report from the input JSON file and writes the results to the output JSON file.
@@ -36,47 +49,176 @@ public class TasksReportGenerator {
      * @throws IOException if there is an issue reading the input file or writing the output file
      */
     public static void generateReport(String inputPath, String outputPath) throws IOException {
-        // Warm up the JVM with a dummy computation
-        warmupJVM();
+        generateReport(inputPath, outputPath, SccEngine.KOSARAJU);
+    }
 
-        ObjectMapper om = new ObjectMapper();
-        JsonNode root = om.readTree(new File(inputPath));
+    /**
+     * Generates a report from the input JSON file using the given SCC algorithm and writes the results to the
+     * output JSON file.
+     *
+     * @param inputPath  the path to the input JSON file containing graph data
+     * @param outputPath the path to the output JSON file where the report will be written
+     * @param sccEngine  the SCC algorithm to run on each graph
+     * @throws IOException if there is an issue reading the input file or writing the output file
+     */
+    public static void generateReport(String inputPath, String outputPath, SccAlgorithm sccEngine) throws IOException {
+        generateReport(inputPath, outputPath, new ReportOptions().sccEngine(sccEngine), System.out, System.err);
+    }
 
-        ArrayNode outArr = om.createArrayNode();
+    /**
+     * Generates a report from the input JSON file with the given options, writing progress messages to
+     * {@code out} and per-graph errors to {@code err} instead of the console.
+     * <p>
+     * With a graph parallelism above 1 the graphs of the file run on a fork-join pool. Each graph's messages
+     * are buffered and the results are reassembled in input order, so the output file and the log are the
+     * same as in a sequential run apart from timings.
+     *
+     * @param inputPath  the path to the input JSON file containing graph data
+     * @param outputPath the path to the output JSON file where the report will be written
+     * @param options    the report options
+     * @param out        the stream receiving progress messages
+     * @param err        the stream receiving per-graph error messages
+     * @throws IOException if there is an issue reading the input file or writing the output file
+     */
+    public static void generateReport(String inputPath, String outputPath, ReportOptions options,
+                                      PrintStream out, PrintStream err) throws IOException {
+        SccAlgorithm sccEngine = options.getSccEngine();
+        // Warm up the JVM with a dummy computation (once per process)
+        warmupJVM(sccEngine, out);
 
-        if (!root.has("graphs") || !root.get("graphs").isArray()) {
-            // Single graph object - reuse existing GraphBuilder.fromJson
-            JsonNode gnode = root;
-            outArr.add(processGraph(gnode, om));
-        } else {
-            int idx = 0;
-            for (JsonNode gnode : root.get("graphs")) {
-                System.out.println("[report] processing graph index=" + idx + " id=" + (gnode.has("id") ? gnode.get("id").asText() : "?") );
-                try {
-                    outArr.add(processGraph(gnode, om));
-                } catch (Throwable t) {
-                    System.err.println("[report] error processing graph index=" + idx + " - " + t);
-                    t.printStackTrace(System.err);
-                    // create a minimal failure entry
-                    ObjectNode fail = om.createObjectNode();
-                    fail.put("graph_id", gnode.has("id") ? gnode.get("id").asInt(-1) : -1);
-                    fail.put("error", t.toString());
-                    outArr.add(fail);
+        long fileStart = System.nanoTime();
+        ObjectMapper om = new ObjectMapper();
+        int graphs;
+
+        // Graphs are read one at a time from the token stream and each entry is written as soon as it is done;
+        // the closing bracket (or, with atomic output, the move into place) marks the report complete
+        try (GraphStreamReader reader = new GraphStreamReader(new File(inputPath));
+             ReportWriter writer = new ReportWriter(om, outputPath, !options.isCompactOutput(), options.isAtomicOutput())) {
+            if (!reader.hasGraphsArray()) {
+                // Single graph object
+                writer.write(processGraph(reader.next(), om, sccEngine, out));
+            } else if (options.getGraphParallelism() <= 1) {
+                while (reader.hasNext()) {
+                    writer.write(processGraphEntry(reader.next(), om, sccEngine, out, err));
                 }
-                idx++;
+            } else {
+                processGraphsInParallel(reader, om, sccEngine, options.getGraphParallelism(), writer, out, err);
             }
+            graphs = writer.count();
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
 
-        // write output
-        om.writerWithDefaultPrettyPrinter().writeValue(new File(outputPath), outArr);
-        System.out.println("[report] written output to " + outputPath);
+        out.println("[report] written output to " + outputPath);
+        out.println("[report] file wall-clock ns=" + (System.nanoTime() - fileStart) + " graphs=" + graphs);
+    }
+
+    /**
+     * Processes one element of the "graphs" array, turning any failure into a minimal error entry.
+     *
+     * @param rec       the graph read from the input
+     * @param om        the ObjectMapper for creating JSON nodes
+     * @param sccEngine the SCC algorithm to run
+     * @param out       the stream receiving progress messages
+     * @param err       the stream receiving error messages
+     * @return the report entry, or an error entry if processing failed
+     */
+    private static ObjectNode processGraphEntry(GraphRecord rec, ObjectMapper om, SccAlgorithm sccEngine,
+                                                PrintStream out, PrintStream err) {
+        out.println("[report] processing graph index=" + rec.getIndex() + " id=" + (rec.getIdText() != null ? rec.getIdText() : "?") );
+        try {
+            return processGraph(rec, om, sccEngine, out);
+        } catch (Throwable t) {
+            err.println("[report] error processing graph index=" + rec.getIndex() + " - " + t);
+            t.printStackTrace(err);
+            // create a minimal failure entry
+            ObjectNode fail = om.createObjectNode();
+            fail.put("graph_id", rec.getErrorId());
+            fail.put("error", t.toString());
+            return fail;
+        }
     }
 
     /**
-     * Warms up the JVM by performing dummy computations on a small graph.
+     * Processes the graphs on a fork-join pool and writes their entries in input order, replaying
+     * each graph's buffered messages in the same order. At most twice the parallelism graphs are read ahead,
+     * so memory stays bounded by a few graphs at a time.
+     *
+     * @param reader      the reader positioned inside the "graphs" array
+     * @param om          the ObjectMapper for creating JSON nodes
+     * @param sccEngine   the SCC algorithm to run
+     * @param parallelism the number of worker threads
+     * @param writer      the writer receiving the report entries
+     * @param out         the stream receiving progress messages
+     * @param err         the stream receiving error messages
      */
-    private static void warmupJVM() {
-        System.out.println("[report] warming up JVM...");
+    private static void processGraphsInParallel(GraphStreamReader reader, ObjectMapper om, SccAlgorithm sccEngine, int parallelism,
+                                                ReportWriter writer, PrintStream out, PrintStream err) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Deque<ForkJoinTask<GraphOutcome>> inFlight = new ArrayDeque<>();
+            while (reader.hasNext()) {
+                GraphRecord rec = reader.next();
+                inFlight.add(pool.submit(() -> {
+                    ByteArrayOutputStream outBuf = new ByteArrayOutputStream();
+                    ByteArrayOutputStream errBuf = new ByteArrayOutputStream();
+                    ObjectNode entry;
+                    try (PrintStream gout = new PrintStream(outBuf, true, StandardCharsets.UTF_8);
+                         PrintStream gerr = new PrintStream(errBuf, true, StandardCharsets.UTF_8)) {
+                        entry = processGraphEntry(rec, om, sccEngine, gout, gerr);
+                    }
+                    return new GraphOutcome(entry, outBuf.toString(StandardCharsets.UTF_8), errBuf.toString(StandardCharsets.UTF_8));
+                }));
+                if (inFlight.size() >= 2 * parallelism) emit(inFlight.poll(), writer, out, err);
+            }
+            while (!inFlight.isEmpty()) emit(inFlight.poll(), writer, out, err);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Waits for a graph task, replays its buffered messages and writes its entry.
+     *
+     * @param task   the graph task
+     * @param writer the writer receiving the report entries
+     * @param out    the stream receiving progress messages
+     * @param err    the stream receiving error messages
+     * @throws IOException if writing the entry fails
+     */
+    private static void emit(ForkJoinTask<GraphOutcome> task, ReportWriter writer, PrintStream out, PrintStream err) throws IOException {
+        GraphOutcome outcome = task.join();
+        out.print(outcome.out);
+        err.print(outcome.err);
+        writer.write(outcome.entry);
+    }
+
+    /**
+     * A graph's report entry with its buffered messages.
+     */
+    private static final class GraphOutcome {
+        final ObjectNode entry;
+        final String out;
+        final String err;
+
+        GraphOutcome(ObjectNode entry, String out, String err) {
+            this.entry = entry;
+            this.out = out;
+            this.err = err;
+        }
+    }
+
+    /**
+     * Warms up the JVM by performing dummy computations on a small graph. Only the first call in a process
+     * does any work.
+     *
+     * @param sccEngine the SCC algorithm to warm up
+     * @param out       the stream receiving progress messages
+     */
+    static void warmupJVM(SccAlgorithm sccEngine, PrintStream out) {
+        if (!WARMED_UP.compareAndSet(false, true)) return;
+        out.println("[report] warming up JVM...");
         // Create a small dummy graph
         GraphBuilder gb = new GraphBuilder();
         gb.addEdge(0, 1);
@@ -88,57 +230,135 @@ public class TasksReportGenerator {
         Graph dummyGraph = gb.build();
 
         // Run dummy computations
-        TimerMetrics metrics = new TimerMetrics();
-        SCCResult scc = KosarajuSCC.computeSCC(dummyGraph, metrics);
+        StripedMetrics metrics = new StripedMetrics();
+        SCCResult scc = sccEngine.compute(dummyGraph, metrics);
         List<Integer> topo = DFSTopologicalSort.topologicalOrder(dummyGraph.adjacency(), metrics);
         PathResult sp = DagShortestPath.shortestPath(dummyGraph, 0, metrics);
         PathResult lp = CriticalPathExtractor.criticalPath(dummyGraph, metrics);
 
-        System.out.println("[report] JVM warmup complete.");
+        out.println("[report] JVM warmup complete.");
+    }
+
+    /**
+     * Returns whether a graph has no cycle: every SCC is a single node and no node has a self-loop.
+     *
+     * @param g   the graph
+     * @param scc the SCC result of the graph
+     * @return true if the graph is acyclic
+     */
+    private static boolean isAcyclic(Graph g, SCCResult scc) {
+        if (scc.componentCount() != g.nodeCount()) return false;
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+        for (int u = 0; u < g.nodeCount(); u++) {
+            for (int i = off[u]; i < off[u + 1]; i++) if (tgt[i] == u) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Builds the CPM section of a report entry: the project duration, the per-task schedule as arrays indexed by
+     * node, and up to {@link #CPM_PATH_LIMIT} critical paths.
+     *
+     * @param om  the ObjectMapper for creating JSON nodes
+     * @param cpm the schedule, or null if the graph is not marked as a DAG or has a cycle
+     * @param ops the operation count of the computation
+     * @param ns  the computation time in nanoseconds
+     * @return the section
+     */
+    private static ObjectNode cpmNode(ObjectMapper om, CpmSchedule cpm, long ops, long ns) {
+        ObjectNode node = om.createObjectNode();
+        ArrayNode es = om.createArrayNode();
+        ArrayNode ef = om.createArrayNode();
+        ArrayNode ls = om.createArrayNode();
+        ArrayNode lf = om.createArrayNode();
+        ArrayNode total = om.createArrayNode();
+        ArrayNode free = om.createArrayNode();
+        ArrayNode paths = om.createArrayNode();
+        boolean truncated = false;
+        int critical = 0;
+        if (cpm != null) {
+            for (int v = 0; v < cpm.taskCount(); v++) {
+                es.add(cpm.earliestStart(v));
+                ef.add(cpm.earliestFinish(v));
+                ls.add(cpm.latestStart(v));
+                lf.add(cpm.latestFinish(v));
+                total.add(cpm.totalSlack(v));
+                free.add(cpm.freeSlack(v));
+                if (cpm.isCritical(v)) critical++;
+            }
+            // Ask for one more path than listed to tell whether the list is complete
+            List<List<Integer>> found = cpm.criticalPaths(CPM_PATH_LIMIT + 1);
+            truncated = found.size() > CPM_PATH_LIMIT;
+            for (List<Integer> path : found.subList(0, Math.min(found.size(), CPM_PATH_LIMIT))) {
+                ArrayNode arr = om.createArrayNode();
+                for (int v : path) arr.add(v);
+                paths.add(arr);
+            }
+        }
+        node.put("project_duration", cpm == null ? 0 : cpm.projectDuration());
+        node.put("critical_tasks", critical);
+        node.set("earliest_start", es);
+        node.set("earliest_finish", ef);
+        node.set("latest_start", ls);
+        node.set("latest_finish", lf);
+        node.set("total_slack", total);
+        node.set("free_slack", free);
+        node.set("critical_paths", paths);
+        node.put("critical_paths_truncated", truncated);
+        node.put("operations_count", ops);
+        node.put("execution_time_ns", ns);
+        return node;
     }
 
     /**
      * Processes a single graph node and returns the report object.
      *
-     * @param gnode the JSON node representing the graph
-     * @param om    the ObjectMapper for creating JSON nodes
+     * @param rec       the graph read from the input
+     * @param om        the ObjectMapper for creating JSON nodes
+     * @param sccEngine the SCC algorithm to run
+     * @param log       the stream receiving progress messages
      * @return the ObjectNode containing the processed report data
      */
-    private static ObjectNode processGraph(JsonNode gnode, ObjectMapper om) {
+    private static ObjectNode processGraph(GraphRecord rec, ObjectMapper om, SccAlgorithm sccEngine, PrintStream log) {
         ObjectNode out = om.createObjectNode();
 
-        int graphId = gnode.has("id") ? gnode.get("id").asInt() : -1;
+        int graphId = rec.getId();
         out.put("graph_id", graphId);
 
-        System.out.println("[report] building graph id=" + graphId);
+        log.println("[report] building graph id=" + graphId);
         // Build Graph
-        Graph g = GraphBuilder.fromJson(gnode).build();
-        System.out.println("[report] built graph id=" + graphId + " nodes=" + g.nodeCount() + " edges=" + g.edges().size());
+        Graph g = rec.graph();
+        log.println("[report] built graph id=" + graphId + " nodes=" + g.nodeCount() + " edges=" + g.edgeCount());
 
         // input_stats
         ObjectNode input = om.createObjectNode();
         input.put("vertices", g.nodeCount());
-        input.put("edges", g.edges().size());
-        input.put("density", gnode.has("density") ? gnode.get("density").asText() : "");
-        input.put("variant", gnode.has("variant") ? gnode.get("variant").asText() : "");
-        input.put("source", gnode.has("source") ? gnode.get("source").asInt() : -1);
-        input.put("weight_model", gnode.has("weight_model") ? gnode.get("weight_model").asText() : "");
+        input.put("edges", g.edgeCount());
+        input.put("density", rec.getDensity() != null ? rec.getDensity() : "");
+        input.put("variant", rec.getVariant() != null ? rec.getVariant() : "");
+        input.put("source", rec.getSource());
+        input.put("weight_model", rec.getWeightModel() != null ? rec.getWeightModel() : "");
         out.set("input_stats", input);
 
         long totalOps = 0;
         long totalNs = 0;
+        // Each section reports the work it actually did. What a cached analysis (e.g. the topological order in the
+        // path sections) saved it goes in cached_operations and cached_time_ns, which stay out of the totals
 
-        // --- Kosaraju SCC ---
-        System.out.println("[report] computing SCC for graph id=" + graphId);
-        TimerMetrics sccMetrics = new TimerMetrics();
+        // --- SCC (Kosaraju unless another engine was chosen; the report key stays "kosaraju_scc") ---
+        String sccName = sccEngine instanceof SccEngine ? ((SccEngine) sccEngine).reportName() : sccEngine.getClass().getSimpleName();
+        log.println("[report] computing SCC for graph id=" + graphId + " engine=" + sccName);
+        StripedMetrics sccMetrics = new StripedMetrics();
         long sccStart = System.nanoTime();
-        SCCResult scc = KosarajuSCC.computeSCC(g, sccMetrics);
+        SCCResult scc = sccEngine.computeCached(g, sccMetrics);
         long sccEnd = System.nanoTime();
         long sccOps = sccMetrics.getDfsVisits() + sccMetrics.getDfsEdges() + sccMetrics.getRelaxations();
         long sccNs = sccEnd - sccStart;
-        System.out.println("[report] scc done id=" + graphId + " comps=" + scc.componentCount() + " ops=" + sccOps + " ns=" + sccNs);
+        log.println("[report] scc done id=" + graphId + " comps=" + scc.componentCount() + " ops=" + sccOps + " ns=" + sccNs);
 
         ObjectNode sccNode = om.createObjectNode();
+        sccNode.put("algorithm", sccName);
         sccNode.put("num_sccs", scc.componentCount());
         ArrayNode comps = om.createArrayNode();
         for (List<Integer> comp : scc.getComponents()) {
@@ -149,13 +369,15 @@ public class TasksReportGenerator {
         sccNode.set("sccs", comps);
         sccNode.put("operations_count", sccOps);
         sccNode.put("execution_time_ns", sccNs);
+        sccNode.put("cached_operations", sccMetrics.getCachedOperations());
+        sccNode.put("cached_time_ns", sccMetrics.getCachedNanos());
         out.set("kosaraju_scc", sccNode);
 
         totalOps += sccOps;
         totalNs += sccNs;
 
         // condensation_graph (use TaskOrderDeriver to build condensation adjacency)
-        System.out.println("[report] building condensation for graph id=" + graphId);
+        log.println("[report] building condensation for graph id=" + graphId);
         List<List<Integer>> condAdj = TaskOrderDeriver.buildCondensation(g, scc);
         int condV = condAdj == null ? 0 : condAdj.size();
         int condE = 0;
@@ -164,17 +386,17 @@ public class TasksReportGenerator {
         condNode.put("vertices", condV);
         condNode.put("edges", condE);
         out.set("condensation_graph", condNode);
-        System.out.println("[report] condensation done id=" + graphId + " v=" + condV + " e=" + condE);
+        log.println("[report] condensation done id=" + graphId + " v=" + condV + " e=" + condE);
 
         // topological sort on original graph
-        System.out.println("[report] computing topological order for graph id=" + graphId);
-        TimerMetrics topoMetrics = new TimerMetrics();
+        log.println("[report] computing topological order for graph id=" + graphId);
+        StripedMetrics topoMetrics = new StripedMetrics();
         long topoStart = System.nanoTime();
-        List<Integer> topoOrder = DFSTopologicalSort.topologicalOrder(g.adjacency(), topoMetrics);
+        int[] topoOrder = DFSTopologicalSort.cachedOrder(g, topoMetrics);
         long topoEnd = System.nanoTime();
         long topoOps = topoMetrics.getDfsVisits() + topoMetrics.getDfsEdges() + topoMetrics.getRelaxations();
         long topoNs = topoEnd - topoStart;
-        System.out.println("[report] topo done id=" + graphId + " orderLen=" + topoOrder.size() + " ops=" + topoOps + " ns=" + topoNs);
+        log.println("[report] topo done id=" + graphId + " orderLen=" + topoOrder.length + " ops=" + topoOps + " ns=" + topoNs);
 
         ObjectNode topoNode = om.createObjectNode();
         ArrayNode topoArr = om.createArrayNode();
@@ -182,16 +404,18 @@ public class TasksReportGenerator {
         topoNode.set("topological_order", topoArr);
         topoNode.put("operations_count", topoOps);
         topoNode.put("execution_time_ns", topoNs);
+        topoNode.put("cached_operations", topoMetrics.getCachedOperations());
+        topoNode.put("cached_time_ns", topoMetrics.getCachedNanos());
         out.set("topological_sort", topoNode);
 
         totalOps += topoOps;
         totalNs += topoNs;
 
         // shortest paths (from source)
-        int source = gnode.has("source") ? gnode.get("source").asInt(-1) : -1;
-        boolean isDag = gnode.has("metadata") && gnode.get("metadata").has("is_dag") && gnode.get("metadata").get("is_dag").asBoolean();
-        System.out.println("[report] computing shortest paths for graph id=" + graphId + " src=" + source + " isDag=" + isDag);
-        TimerMetrics spMetrics = new TimerMetrics();
+        int source = rec.getSource();
+        boolean isDag = rec.isDag();
+        log.println("[report] computing shortest paths for graph id=" + graphId + " src=" + source + " isDag=" + isDag);
+        StripedMetrics spMetrics = new StripedMetrics();
         long spStart = System.nanoTime();
         PathResult sp = null;
         if (isDag) {
@@ -200,7 +424,7 @@ public class TasksReportGenerator {
         long spEnd = System.nanoTime();
         long spOps = spMetrics.getDfsVisits() + spMetrics.getDfsEdges() + spMetrics.getRelaxations();
         long spNs = spEnd - spStart;
-        System.out.println("[report] shortest paths done id=" + graphId + " ops=" + spOps + " ns=" + spNs);
+        log.println("[report] shortest paths done id=" + graphId + " ops=" + spOps + " ns=" + spNs);
 
         ObjectNode spNode = om.createObjectNode();
         spNode.put("source", source);
@@ -229,14 +453,16 @@ public class TasksReportGenerator {
         spNode.set("paths", pathsNode);
         spNode.put("operations_count", spOps);
         spNode.put("execution_time_ns", spNs);
+        spNode.put("cached_operations", spMetrics.getCachedOperations());
+        spNode.put("cached_time_ns", spMetrics.getCachedNanos());
         out.set("shortest_path", spNode);
 
         totalOps += spOps;
         totalNs += spNs;
 
         // longest / critical path
-        System.out.println("[report] computing critical (longest) path for graph id=" + graphId + " isDag=" + isDag);
-        TimerMetrics lpMetrics = new TimerMetrics();
+        log.println("[report] computing critical (longest) path for graph id=" + graphId + " isDag=" + isDag);
+        StripedMetrics lpMetrics = new StripedMetrics();
         long lpStart = System.nanoTime();
         PathResult lp = null;
         if (isDag) {
@@ -245,7 +471,7 @@ public class TasksReportGenerator {
         long lpEnd = System.nanoTime();
         long lpOps = lpMetrics.getDfsVisits() + lpMetrics.getDfsEdges() + lpMetrics.getRelaxations();
         long lpNs = lpEnd - lpStart;
-        System.out.println("[report] critical path done id=" + graphId + " ops=" + lpOps + " ns=" + lpNs);
+        log.println("[report] critical path done id=" + graphId + " ops=" + lpOps + " ns=" + lpNs);
 
         ObjectNode lpNode = om.createObjectNode();
         if (lp != null) {
@@ -278,15 +504,36 @@ public class TasksReportGenerator {
         }
         lpNode.put("operations_count", lpOps);
         lpNode.put("execution_time_ns", lpNs);
+        lpNode.put("cached_operations", lpMetrics.getCachedOperations());
+        lpNode.put("cached_time_ns", lpMetrics.getCachedNanos());
         out.set("longest_path", lpNode);
 
         totalOps += lpOps;
         totalNs += lpNs;
 
+        // CPM schedule; reported on its own and kept out of the totals, which cover the sections above. The
+        // is_dag flag comes from the input, so a mislabeled graph is caught by the SCCs instead of failing the entry
+        boolean acyclic = isDag && isAcyclic(g, scc);
+        log.println("[report] computing CPM schedule for graph id=" + graphId + " isDag=" + isDag + " acyclic=" + acyclic);
+        StripedMetrics cpmMetrics = new StripedMetrics();
+        long cpmStart = System.nanoTime();
+        CpmSchedule cpm = null;
+        if (acyclic) {
+            cpm = CriticalPathMethod.schedule(g, cpmMetrics);
+        }
+        long cpmEnd = System.nanoTime();
+        long cpmOps = cpmMetrics.getDfsVisits() + cpmMetrics.getDfsEdges() + cpmMetrics.getRelaxations();
+        long cpmNs = cpmEnd - cpmStart;
+        log.println("[report] CPM schedule done id=" + graphId + " ops=" + cpmOps + " ns=" + cpmNs);
+        ObjectNode cpmNode = cpmNode(om, cpm, cpmOps, cpmNs);
+        cpmNode.put("cached_operations", cpmMetrics.getCachedOperations());
+        cpmNode.put("cached_time_ns", cpmMetrics.getCachedNanos());
+        out.set("cpm_schedule", cpmNode);
+
         out.put("total_operations_count", totalOps);
         out.put("total_execution_time_ns", totalNs);
 
-        System.out.println("[report] finished graph id=" + graphId + " totalOps=" + totalOps + " totalNs=" + totalNs);
+        log.println("[report] finished graph id=" + graphId + " totalOps=" + totalOps + " totalNs=" + totalNs);
         return out;
     }
 }
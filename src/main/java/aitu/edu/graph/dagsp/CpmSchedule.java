@@ -0,0 +1,224 @@
+package aitu.edu.graph.dagsp;
+
+import aitu.edu.graph.util.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The result of {@link CriticalPathMethod}: earliest and latest start and finish, and total and free slack, for
+ * every task of a DAG.
+ * <p>
+ * Tasks are the nodes and their durations the node durations. A task starts once all its predecessors have
+ * finished, and the project starts at time 0. Only the earliest starts, latest finishes and free slacks are
+ * stored; the other values are derived from them and the durations.
+ */
+public class CpmSchedule {
+    private final Graph g;
+    private final long[] dur;
+    private final long[] es;
+    private final long[] lf;
+    private final long[] free;
+    private final long project;
+
+    CpmSchedule(Graph g, long[] es, long[] lf, long[] free, long project) {
+        this.g = g;
+        this.dur = g.durationArray();
+        this.es = es;
+        this.lf = lf;
+        this.free = free;
+        this.project = project;
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return the task count
+     */
+    public int taskCount() {
+        return es.length;
+    }
+
+    /**
+     * Returns the project duration, the latest earliest finish of any task.
+     *
+     * @return the project duration, 0 for an empty graph
+     */
+    public long projectDuration() {
+        return project;
+    }
+
+    /**
+     * Returns the earliest start (ES) of a task.
+     *
+     * @param v the task
+     * @return its earliest start
+     */
+    public long earliestStart(int v) {
+        return es[v];
+    }
+
+    /**
+     * Returns the earliest finish (EF) of a task.
+     *
+     * @param v the task
+     * @return its earliest finish
+     */
+    public long earliestFinish(int v) {
+        return es[v] + dur[v];
+    }
+
+    /**
+     * Returns the latest start (LS) of a task that does not delay the project.
+     *
+     * @param v the task
+     * @return its latest start
+     */
+    public long latestStart(int v) {
+        return lf[v] - dur[v];
+    }
+
+    /**
+     * Returns the latest finish (LF) of a task that does not delay the project.
+     *
+     * @param v the task
+     * @return its latest finish
+     */
+    public long latestFinish(int v) {
+        return lf[v];
+    }
+
+    /**
+     * Returns the total slack of a task: how far it can slip without delaying the project.
+     *
+     * @param v the task
+     * @return its total slack
+     */
+    public long totalSlack(int v) {
+        return lf[v] - dur[v] - es[v];
+    }
+
+    /**
+     * Returns the free slack of a task: how far it can slip without delaying the earliest start of any successor.
+     *
+     * @param v the task
+     * @return its free slack
+     */
+    public long freeSlack(int v) {
+        return free[v];
+    }
+
+    /**
+     * Returns whether a task has no total slack.
+     *
+     * @param v the task
+     * @return true if the task is critical
+     */
+    public boolean isCritical(int v) {
+        return totalSlack(v) == 0;
+    }
+
+    /**
+     * Returns the earliest starts of all tasks.
+     *
+     * @return a copy of the earliest starts
+     */
+    public long[] earliestStarts() {
+        return es.clone();
+    }
+
+    /**
+     * Returns the latest finishes of all tasks.
+     *
+     * @return a copy of the latest finishes
+     */
+    public long[] latestFinishes() {
+        return lf.clone();
+    }
+
+    /**
+     * Returns the free slacks of all tasks.
+     *
+     * @return a copy of the free slacks
+     */
+    public long[] freeSlacks() {
+        return free.clone();
+    }
+
+    /**
+     * Returns the critical tasks in ascending order.
+     *
+     * @return the tasks without total slack
+     */
+    public int[] criticalTasks() {
+        int k = 0;
+        for (int v = 0; v < es.length; v++) if (isCritical(v)) k++;
+        int[] out = new int[k];
+        k = 0;
+        for (int v = 0; v < es.length; v++) if (isCritical(v)) out[k++] = v;
+        return out;
+    }
+
+    /**
+     * Enumerates critical paths: maximal paths along which every task is critical and starts as soon as the
+     * previous one finishes. Each runs from time 0 to the project duration. Their number can grow exponentially,
+     * so at most {@code limit} are returned; paths are produced in lexicographic order of their start task and
+     * then of the edge order of the graph.
+     *
+     * @param limit the largest number of paths to return
+     * @return the paths, each from its first to its last task
+     */
+    public List<List<Integer>> criticalPaths(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("negative limit: " + limit);
+        int n = es.length;
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+        List<List<Integer>> paths = new ArrayList<>();
+        if (limit == 0 || n == 0) return paths;
+
+        // A path starts at a critical task that no critical edge enters
+        boolean[] entered = new boolean[n];
+        for (int u = 0; u < n; u++) {
+            if (!isCritical(u)) continue;
+            for (int i = off[u]; i < off[u + 1]; i++) if (criticalEdge(u, tgt[i])) entered[tgt[i]] = true;
+        }
+
+        // Iterative DFS: stack[d] is the task at depth d, cursor[d] the next edge of it to try
+        int[] stack = new int[16];
+        int[] cursor = new int[16];
+        for (int s = 0; s < n && paths.size() < limit; s++) {
+            if (!isCritical(s) || entered[s] || es[s] != 0) continue;
+            int depth = 0;
+            stack[0] = s;
+            cursor[0] = off[s];
+            while (depth >= 0 && paths.size() < limit) {
+                int u = stack[depth];
+                int next = cursor[depth];
+                while (next < off[u + 1] && !criticalEdge(u, tgt[next])) next++;
+                if (next == off[u + 1]) {
+                    // No critical edge at all, rather than none left to try, ends a path
+                    if (cursor[depth] == off[u]) {
+                        List<Integer> path = new ArrayList<>(depth + 1);
+                        for (int d = 0; d <= depth; d++) path.add(stack[d]);
+                        paths.add(path);
+                    }
+                    depth--;
+                    continue;
+                }
+                cursor[depth] = next + 1;
+                if (++depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                    cursor = Arrays.copyOf(cursor, depth * 2);
+                }
+                stack[depth] = tgt[next];
+                cursor[depth] = off[tgt[next]];
+            }
+        }
+        return paths;
+    }
+
+    private boolean criticalEdge(int u, int v) {
+        return isCritical(v) && es[u] + dur[u] == es[v];
+    }
+}
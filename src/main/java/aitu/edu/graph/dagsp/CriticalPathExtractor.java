@@ -4,7 +4,7 @@ import aitu.edu.graph.util.Graph;
 import aitu.edu.graph.util.Metrics;
 import aitu.edu.graph.topo.DFSTopologicalSort;
 
-import java.util.*;
+import java.util.Arrays;
 
 /**
  * Extracts the critical (longest) path in a directed acyclic graph (DAG) using topological sorting and dynamic programming.
@@ -23,25 +23,28 @@ public class CriticalPathExtractor {
         int n = g.nodeCount();
         long[] dist = new long[n];
         Arrays.fill(dist, PathResult.NEG_INF);
-        Map<Integer, Integer> pred = new HashMap<>();
+        int[] pred = new int[n];
+        Arrays.fill(pred, -1);
+
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+        long[] dur = g.durationArray();
 
         // Initialize distances with node durations
-        for (int v = 0; v < n; v++) {
-            dist[v] = g.durationOf(v).orElse(0L);
-        }
+        System.arraycopy(dur, 0, dist, 0, n);
 
         // Get topological order
-        List<Integer> topo = DFSTopologicalSort.topologicalOrder(g.adjacency(), metrics);
+        int[] topo = DFSTopologicalSort.cachedOrder(g, metrics);
         // Relax edges in topological order to compute longest paths
         for (int u : topo) {
             if (dist[u] == PathResult.NEG_INF) continue; // unreachable in strange graphs
-            for (int v : g.neighbors(u)) {
+            for (int i = off[u]; i < off[u + 1]; i++) {
                 if (metrics != null) metrics.incRelaxation();
-                long vdur = g.durationOf(v).orElse(0L);
-                long cand = dist[u] + vdur;
+                int v = tgt[i];
+                long cand = dist[u] + dur[v];
                 if (cand > dist[v]) {
                     dist[v] = cand;
-                    pred.put(v, u);
+                    pred[v] = u;
                 }
             }
         }
@@ -57,15 +60,15 @@ public class CriticalPathExtractor {
         }
 
         if (sink == -1) {
-            return new PathResult(0, dist, pred);
+            return PathResult.fromPredecessorArray(0, dist, pred);
         }
 
         // Reconstruct the path by following predecessors
         int src = sink;
-        while (pred.containsKey(src)) {
-            src = pred.get(src);
+        for (int steps = 0; pred[src] >= 0 && steps < n; steps++) {
+            src = pred[src];
         }
 
-        return new PathResult(src, dist, pred);
+        return PathResult.fromPredecessorArray(src, dist, pred);
     }
 }
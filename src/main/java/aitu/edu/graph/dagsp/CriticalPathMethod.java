@@ -0,0 +1,228 @@
+package aitu.edu.graph.dagsp;
+
+import aitu.edu.graph.topo.DFSTopologicalSort;
+import aitu.edu.graph.topo.LevelOrder;
+import aitu.edu.graph.topo.ParallelKahnSort;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Schedules the tasks of a DAG with the critical-path method (CPM).
+ * <p>
+ * A forward pass over the topological order gives each task its earliest start, the latest earliest finish of
+ * its predecessors (or 0), and the project duration is the latest earliest finish of all. A backward pass gives
+ * each task its latest finish, the earliest latest start of its successors (or the project duration), and its
+ * free slack, the gap to the earliest start of its earliest successor. Everything is kept in primitive arrays of
+ * one entry per task.
+ * <p>
+ * The sequential version follows the DFS topological order. The parallel version walks the levels of {@link
+ * ParallelKahnSort} instead, computing each level's tasks in parallel slices; every task only reads values of
+ * other levels, so no synchronization is needed beyond the fork-join boundaries. Both give the same schedule.
+ * Metrics, if given, count one relaxation per edge and pass; with the parallel version they are updated from
+ * several threads and must be thread-safe.
+ */
+public class CriticalPathMethod {
+    /** Vertex slices up to this many vertices are handled by one task. */
+    private static final int GRAIN = 1024;
+
+    /**
+     * Computes the schedule sequentially.
+     *
+     * @param g       the graph to process
+     * @param metrics optional metrics collector
+     * @return the schedule
+     * @throws IllegalArgumentException if the graph is null or has a cycle
+     */
+    public static CpmSchedule schedule(Graph g, Metrics metrics) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        int n = g.nodeCount();
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+        long[] dur = g.durationArray();
+        int[] topo = DFSTopologicalSort.cachedOrder(g, metrics);
+
+        // Forward: push each finish to the successors; a successor already passed means a back edge
+        long[] es = new long[n];
+        boolean[] done = new boolean[n];
+        long project = 0;
+        for (int u : topo) {
+            done[u] = true;
+            long ef = es[u] + dur[u];
+            project = Math.max(project, ef);
+            for (int i = off[u]; i < off[u + 1]; i++) {
+                if (metrics != null) metrics.incRelaxation();
+                int v = tgt[i];
+                if (done[v]) throw new IllegalArgumentException("graph has a cycle through " + u + " -> " + v);
+                if (ef > es[v]) es[v] = ef;
+            }
+        }
+
+        // Backward: pull the latest starts and earliest starts of the successors
+        long[] lf = new long[n];
+        long[] free = new long[n];
+        for (int k = n - 1; k >= 0; k--) backward(topo[k], off, tgt, dur, es, lf, free, project, metrics);
+        return new CpmSchedule(g, es, lf, free, project);
+    }
+
+    /**
+     * Computes the schedule level by level on the common fork-join pool.
+     *
+     * @param g       the graph to process
+     * @param metrics optional thread-safe metrics collector
+     * @return the schedule
+     * @throws IllegalArgumentException if the graph is null or has a cycle
+     */
+    public static CpmSchedule scheduleParallel(Graph g, Metrics metrics) {
+        return scheduleParallel(g, metrics, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the schedule level by level on the given fork-join pool.
+     *
+     * @param g       the graph to process
+     * @param metrics optional thread-safe metrics collector
+     * @param pool    the pool running the tasks
+     * @return the schedule
+     * @throws IllegalArgumentException if the graph is null or has a cycle
+     */
+    public static CpmSchedule scheduleParallel(Graph g, Metrics metrics, ForkJoinPool pool) {
+        // A single thread gains nothing from forking
+        return scheduleParallel(g, metrics, pool, pool.getParallelism() == 1 ? Integer.MAX_VALUE : GRAIN);
+    }
+
+    /**
+     * Computes with an explicit slice size, so tests can exercise the parallel steps on small graphs.
+     */
+    static CpmSchedule scheduleParallel(Graph g, Metrics metrics, ForkJoinPool pool, int grain) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        LevelOrder levels = ParallelKahnSort.sort(g, null, pool);
+        if (!levels.isAcyclic()) {
+            throw new IllegalArgumentException("graph has a cycle through " + levels.blockedVertices().length + " nodes");
+        }
+        Run run = new Run(g, metrics, Math.max(1, grain), levels);
+        pool.invoke(run);
+        return new CpmSchedule(g, run.es, run.lf, run.free, run.project);
+    }
+
+    private static void backward(int u, int[] off, int[] tgt, long[] dur, long[] es, long[] lf, long[] free,
+                                 long project, Metrics metrics) {
+        long latest = project;
+        long earliest = project;
+        for (int i = off[u]; i < off[u + 1]; i++) {
+            if (metrics != null) metrics.incRelaxation();
+            int v = tgt[i];
+            latest = Math.min(latest, lf[v] - dur[v]);
+            earliest = Math.min(earliest, es[v]);
+        }
+        lf[u] = latest;
+        free[u] = earliest - es[u] - dur[u];
+    }
+
+    /**
+     * The state shared by all tasks of one computation.
+     */
+    private static final class Run extends RecursiveAction {
+        final int[] off;
+        final int[] tgt;
+        final int[] roff;
+        final int[] rsrc;
+        final long[] dur;
+        final Metrics metrics;
+        final int grain;
+        final int[] order;
+        final int[] levelStart;
+
+        final long[] es;
+        final long[] lf;
+        final long[] free;
+        long project;
+
+        Run(Graph g, Metrics metrics, int grain, LevelOrder levels) {
+            this.off = g.offsets();
+            this.tgt = g.targets();
+            this.roff = g.reverseOffsets();
+            this.rsrc = g.reverseSources();
+            this.dur = g.durationArray();
+            this.metrics = metrics;
+            this.grain = grain;
+            this.order = levels.order();
+            this.levelStart = levels.levelOffsets();
+            int n = g.nodeCount();
+            this.es = new long[n];
+            this.lf = new long[n];
+            this.free = new long[n];
+        }
+
+        @Override
+        protected void compute() {
+            int depth = levelStart.length - 1;
+            for (int k = 0; k < depth; k++) pass(levelStart[k], levelStart[k + 1], true);
+            long p = 0;
+            for (int v = 0; v < es.length; v++) p = Math.max(p, es[v] + dur[v]);
+            project = p;
+            for (int k = depth - 1; k >= 0; k--) pass(levelStart[k], levelStart[k + 1], false);
+        }
+
+        private void pass(int from, int to, boolean forward) {
+            if (to - from > grain) new Slice(this, from, to, forward).invoke();
+            else if (forward) forward(from, to);
+            else backward(from, to);
+        }
+
+        /**
+         * Sets the earliest starts of the vertices at order positions [from, to) from their predecessors.
+         */
+        void forward(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int v = order[i];
+                long start = 0;
+                for (int j = roff[v]; j < roff[v + 1]; j++) {
+                    if (metrics != null) metrics.incRelaxation();
+                    int u = rsrc[j];
+                    start = Math.max(start, es[u] + dur[u]);
+                }
+                es[v] = start;
+            }
+        }
+
+        /**
+         * Sets the latest finishes and free slacks of the vertices at order positions [from, to).
+         */
+        void backward(int from, int to) {
+            for (int i = from; i < to; i++) {
+                CriticalPathMethod.backward(order[i], off, tgt, dur, es, lf, free, project, metrics);
+            }
+        }
+    }
+
+    /**
+     * Runs one pass over one slice of a level.
+     */
+    private static final class Slice extends RecursiveAction {
+        private final Run run;
+        private final int from;
+        private final int to;
+        private final boolean forward;
+
+        Slice(Run run, int from, int to, boolean forward) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+            this.forward = forward;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > run.grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Slice(run, from, mid, forward), new Slice(run, mid, to, forward));
+                return;
+            }
+            if (forward) run.forward(from, to);
+            else run.backward(from, to);
+        }
+    }
+}
@@ -4,7 +4,7 @@ import aitu.edu.graph.util.Graph;
 import aitu.edu.graph.util.Metrics;
 import aitu.edu.graph.topo.DFSTopologicalSort;
 
-import java.util.*;
+import java.util.Arrays;
 
 /**
  * Computes shortest paths in a directed acyclic graph (DAG) using topological sorting and dynamic programming.
@@ -24,33 +24,36 @@ public class DagShortestPath {
         int n = g.nodeCount();
         long[] dist = new long[n];
         Arrays.fill(dist, PathResult.INF);
-        Map<Integer, Integer> pred = new HashMap<>();
+        if (src < 0 || src >= n) return PathResult.unreached(src, dist);
 
-        if (src < 0 || src >= n) return new PathResult(src, dist, pred);
+        int[] pred = new int[n];
+        Arrays.fill(pred, -1);
+
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+        long[] dur = g.durationArray();
 
         // Initialize source distance with its duration
-        long srcDur = g.durationOf(src).orElse(0L);
-        dist[src] = srcDur;
+        dist[src] = dur[src];
 
         // Get topological order
-        List<Integer> topo = DFSTopologicalSort.topologicalOrder(g.adjacency(), metrics);
+        int[] topo = DFSTopologicalSort.cachedOrder(g, metrics);
         // Relax edges in topological order to compute shortest paths
         for (int u : topo) {
             if (dist[u] == PathResult.INF) continue; // unreachable
-            List<Integer> nbrs = g.neighbors(u);
-            for (int v : nbrs) {
+            for (int i = off[u]; i < off[u + 1]; i++) {
                 // increment relaxation metric for every processed edge (safe null-check)
                 if (metrics != null) metrics.incRelaxation();
 
-                long vdur = g.durationOf(v).orElse(0L);
-                long cand = dist[u] + vdur;
+                int v = tgt[i];
+                long cand = dist[u] + dur[v];
                 if (cand < dist[v]) {
                     dist[v] = cand;
-                    pred.put(v, u);
+                    pred[v] = u;
                 }
             }
         }
 
-        return new PathResult(src, dist, pred);
+        return PathResult.fromPredecessorArray(src, dist, pred);
     }
 }
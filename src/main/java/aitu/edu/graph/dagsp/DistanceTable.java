@@ -0,0 +1,67 @@
+package aitu.edu.graph.dagsp;
+
+/**
+ * Shortest-path distances from several sources over the same graph, as computed by
+ * {@link MultiSourceDagShortestPath}.
+ * <p>
+ * The sources are stored in blocks of {@link MultiSourceDagShortestPath#BLOCK} lanes, each block as one array
+ * with the lanes of a vertex next to each other; a row for one source is gathered on demand.
+ */
+public class DistanceTable {
+    private final int[] sources;
+    private final int n;
+    private final long[][] blocks;
+
+    DistanceTable(int[] sources, int n, long[][] blocks) {
+        this.sources = sources;
+        this.n = n;
+        this.blocks = blocks;
+    }
+
+    /**
+     * Returns the number of sources.
+     *
+     * @return the source count
+     */
+    public int sourceCount() {
+        return sources.length;
+    }
+
+    /**
+     * Returns a source node.
+     *
+     * @param i the source index
+     * @return the node the i-th row starts from
+     */
+    public int source(int i) {
+        return sources[i];
+    }
+
+    /**
+     * Returns the distance from the i-th source to a node, as {@link PathResult#distanceTo} would.
+     *
+     * @param i the source index
+     * @param v the node
+     * @return the distance, or {@link PathResult#INF} if unreachable or out of bounds
+     */
+    public long distance(int i, int v) {
+        if (v < 0 || v >= n) return PathResult.INF;
+        int k = MultiSourceDagShortestPath.BLOCK;
+        return blocks[i / k][v * k + i % k];
+    }
+
+    /**
+     * Returns the distances from the i-th source to all nodes.
+     *
+     * @param i the source index
+     * @return a new array of n distances
+     */
+    public long[] distancesFrom(int i) {
+        int k = MultiSourceDagShortestPath.BLOCK;
+        long[] block = blocks[i / k];
+        int lane = i % k;
+        long[] out = new long[n];
+        for (int v = 0; v < n; v++) out[v] = block[v * k + lane];
+        return out;
+    }
+}
@@ -0,0 +1,337 @@
+package aitu.edu.graph.dagsp;
+
+import aitu.edu.graph.topo.DynamicTopologicalOrder;
+import aitu.edu.graph.util.DynamicAdjacency;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps the critical path of a DAG up to date while node durations change and edges are added or removed.
+ * <p>
+ * For every node the engine stores its finish, the longest duration sum of a path ending at it, and its tail, the
+ * longest duration sum of a path starting at it; both include the node itself. A change only re-propagates
+ * through the nodes whose values actually move: finishes forward through the downstream cone, tails backward
+ * through the upstream one, each visited in topological order so a node is recomputed once per change. The
+ * order is kept by a {@link DynamicTopologicalOrder}, so edge additions stay incremental as well.
+ * <p>
+ * The critical length is the largest finish, tracked by a tournament tree over the nodes, so it is read in
+ * constant time and the critical path in time proportional to the in-degrees along it. Like {@link
+ * CriticalPathExtractor}, the path ends at the lowest-numbered node with the largest finish. Metrics, if given,
+ * count one relaxation per edge examined. This class is not thread-safe.
+ */
+public class IncrementalCriticalPath {
+    private final DynamicTopologicalOrder order;
+    private final DynamicAdjacency adj;
+    private final Metrics metrics;
+    private final int n;
+    private final long[] dur;
+    private final long[] finish;
+    private final long[] tail;
+
+    /** Tournament tree over finish: best[1] is the node with the largest finish, lowest id first. */
+    private final int[] best;
+    private final int leaves;
+
+    // Propagation state: a heap of nodes keyed by position, and marks for nodes already queued
+    private int[] heap = new int[16];
+    private int heapLen;
+    private final int[] queued;
+    private int epoch;
+
+    /**
+     * Creates an engine for a DAG, using its node durations.
+     *
+     * @param g the graph, which must be acyclic
+     * @throws IllegalArgumentException if the graph is null or has a cycle
+     */
+    public IncrementalCriticalPath(Graph g) {
+        this(g, null);
+    }
+
+    /**
+     * Creates an engine for a DAG, using its node durations.
+     *
+     * @param g       the graph, which must be acyclic
+     * @param metrics optional metrics collector, used by the initial passes and every later update
+     * @throws IllegalArgumentException if the graph is null or has a cycle
+     */
+    public IncrementalCriticalPath(Graph g, Metrics metrics) {
+        this.order = new DynamicTopologicalOrder(g);
+        this.adj = order.adjacency();
+        this.metrics = metrics;
+        this.n = g.nodeCount();
+        this.dur = g.durationArray().clone();
+        this.finish = new long[n];
+        this.tail = new long[n];
+        this.queued = new int[n];
+
+        int[] topo = order.order();
+        for (int v : topo) finish[v] = dur[v] + maxOver(finish, adj.predecessors(v), adj.inDegree(v));
+        for (int i = n - 1; i >= 0; i--) {
+            int v = topo[i];
+            tail[v] = dur[v] + maxOver(tail, adj.successors(v), adj.outDegree(v));
+        }
+
+        int size = 1;
+        while (size < n) size <<= 1;
+        this.leaves = size;
+        this.best = new int[2 * size];
+        Arrays.fill(best, -1);
+        for (int v = 0; v < n; v++) best[size + v] = v;
+        for (int i = size - 1; i >= 1; i--) best[i] = better(best[2 * i], best[2 * i + 1]);
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the node count
+     */
+    public int nodeCount() {
+        return n;
+    }
+
+    /**
+     * Returns the current duration of a node.
+     *
+     * @param v the node
+     * @return its duration
+     */
+    public long duration(int v) {
+        check(v);
+        return dur[v];
+    }
+
+    /**
+     * Changes the duration of a node and re-propagates the affected finishes and tails.
+     *
+     * @param v        the node
+     * @param duration the new duration
+     */
+    public void setDuration(int v, long duration) {
+        check(v);
+        if (dur[v] == duration) return;
+        dur[v] = duration;
+        propagateForward(v);
+        propagateBackward(v);
+    }
+
+    /**
+     * Adds the edge u -> v unless it would create a cycle.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return true if the edge was added, false if it was rejected because v reaches u
+     */
+    public boolean addEdge(int u, int v) {
+        if (!order.addEdge(u, v)) return false;
+        propagateForward(v);
+        propagateBackward(u);
+        return true;
+    }
+
+    /**
+     * Removes one edge u -> v.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return false if there was no such edge
+     */
+    public boolean removeEdge(int u, int v) {
+        if (!order.removeEdge(u, v)) return false;
+        propagateForward(v);
+        propagateBackward(u);
+        return true;
+    }
+
+    /**
+     * Returns the length of the critical path, the largest duration sum over all paths.
+     *
+     * @return the critical length, or 0 for an empty graph
+     */
+    public long length() {
+        return n == 0 ? 0 : finish[best[1]];
+    }
+
+    /**
+     * Returns the node the critical path ends at.
+     *
+     * @return the sink of the critical path, or -1 for an empty graph
+     */
+    public int sink() {
+        return n == 0 ? -1 : best[1];
+    }
+
+    /**
+     * Returns the current critical path, from its first node to its sink.
+     *
+     * @return the nodes of the path, empty for an empty graph
+     */
+    public List<Integer> criticalPath() {
+        if (n == 0) return Collections.emptyList();
+        List<Integer> path = new ArrayList<>();
+        int v = best[1];
+        path.add(v);
+        while (true) {
+            // A predecessor lies on the path if its finish accounts for everything before v
+            long need = finish[v] - dur[v];
+            if (need <= 0) break;
+            int[] row = adj.predecessors(v);
+            int next = -1;
+            for (int i = adj.inDegree(v) - 1; i >= 0 && next < 0; i--) if (finish[row[i]] == need) next = row[i];
+            if (next < 0) break;
+            v = next;
+            path.add(v);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns the earliest finish of a node: the longest duration sum of a path ending at it.
+     *
+     * @param v the node
+     * @return its earliest finish
+     */
+    public long earliestFinish(int v) {
+        check(v);
+        return finish[v];
+    }
+
+    /**
+     * Returns the latest start of a node that does not delay the critical length.
+     *
+     * @param v the node
+     * @return its latest start
+     */
+    public long latestStart(int v) {
+        check(v);
+        return length() - tail[v];
+    }
+
+    /**
+     * Returns how far a node can slip without delaying the critical length.
+     *
+     * @param v the node
+     * @return its slack, 0 for nodes on a critical path
+     */
+    public long slack(int v) {
+        check(v);
+        return length() - (finish[v] + tail[v] - dur[v]);
+    }
+
+    /**
+     * Returns whether a node lies on some critical path.
+     *
+     * @param v the node
+     * @return true if its slack is 0
+     */
+    public boolean isCritical(int v) {
+        return slack(v) == 0;
+    }
+
+    private void check(int v) {
+        if (v < 0 || v >= n) throw new IllegalArgumentException("node out of range: " + v);
+    }
+
+    private long maxOver(long[] values, int[] row, int len) {
+        long m = 0;
+        for (int i = 0; i < len; i++) {
+            if (metrics != null) metrics.incRelaxation();
+            m = Math.max(m, values[row[i]]);
+        }
+        return m;
+    }
+
+    /**
+     * Recomputes finishes from v on, in topological order, continuing only past nodes whose finish changed.
+     */
+    private void propagateForward(int start) {
+        nextEpoch();
+        offer(start, false);
+        while (heapLen > 0) {
+            int x = poll(false);
+            long f = dur[x] + maxOver(finish, adj.predecessors(x), adj.inDegree(x));
+            if (f == finish[x]) continue;
+            finish[x] = f;
+            updateBest(x);
+            int[] row = adj.successors(x);
+            for (int i = adj.outDegree(x) - 1; i >= 0; i--) offer(row[i], false);
+        }
+    }
+
+    /**
+     * Recomputes tails from v back, in reverse topological order, continuing only past nodes whose tail changed.
+     */
+    private void propagateBackward(int start) {
+        nextEpoch();
+        offer(start, true);
+        while (heapLen > 0) {
+            int x = poll(true);
+            long t = dur[x] + maxOver(tail, adj.successors(x), adj.outDegree(x));
+            if (t == tail[x]) continue;
+            tail[x] = t;
+            int[] row = adj.predecessors(x);
+            for (int i = adj.inDegree(x) - 1; i >= 0; i--) offer(row[i], true);
+        }
+    }
+
+    private void updateBest(int v) {
+        for (int i = (leaves + v) >> 1; i >= 1; i >>= 1) best[i] = better(best[2 * i], best[2 * i + 1]);
+    }
+
+    private int better(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        if (finish[a] != finish[b]) return finish[a] > finish[b] ? a : b;
+        return Math.min(a, b);
+    }
+
+    private void nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(queued, 0);
+            epoch = 1;
+        }
+    }
+
+    // Binary heap on topological position: smallest first going forward, largest first going backward
+
+    private boolean before(int a, int b, boolean reverse) {
+        int pa = order.position(a), pb = order.position(b);
+        return reverse ? pa > pb : pa < pb;
+    }
+
+    private void offer(int v, boolean reverse) {
+        if (queued[v] == epoch) return;
+        queued[v] = epoch;
+        if (heapLen == heap.length) heap = Arrays.copyOf(heap, heapLen * 2);
+        int i = heapLen++;
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (!before(v, heap[parent], reverse)) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = v;
+    }
+
+    private int poll(boolean reverse) {
+        int top = heap[0];
+        int last = heap[--heapLen];
+        int i = 0;
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= heapLen) break;
+            if (c + 1 < heapLen && before(heap[c + 1], heap[c], reverse)) c++;
+            if (!before(heap[c], last, reverse)) break;
+            heap[i] = heap[c];
+            i = c;
+        }
+        if (heapLen > 0) heap[i] = last;
+        return top;
+    }
+}
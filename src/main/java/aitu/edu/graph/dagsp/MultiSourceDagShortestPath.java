@@ -0,0 +1,152 @@
+package aitu.edu.graph.dagsp;
+
+import aitu.edu.graph.topo.DFSTopologicalSort;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes shortest-path distances from many sources of one DAG at once.
+ * <p>
+ * The topological order is computed once. Sources are grouped into blocks of {@link #BLOCK}; a block keeps the
+ * distances of all its sources for a vertex in adjacent slots, so one pass over the edges in topological order
+ * relaxes every source of the block with a short, branch-free inner loop. Blocks are independent and run in
+ * parallel on a fork-join pool.
+ * <p>
+ * Distances equal those of {@link DagShortestPath#shortestPath} for each source, including an all-{@link
+ * PathResult#INF} row for a source outside the graph. Only distances are kept; use the single-source version for
+ * paths. Metrics, if given, count one relaxation per edge and block, are updated from several threads and must be
+ * thread-safe.
+ */
+public class MultiSourceDagShortestPath {
+    /** Number of sources relaxed together. */
+    static final int BLOCK = 8;
+    /** Largest all-pairs matrix, in cells, that {@link #allPairs} will allocate (512 MiB of longs). */
+    static final long MAX_MATRIX_CELLS = 1L << 26;
+
+    /**
+     * Computes distances from each of the given sources on the common fork-join pool.
+     *
+     * @param g       the graph to process
+     * @param sources the source nodes; duplicates are allowed
+     * @param metrics optional thread-safe metrics collector
+     * @return the distances, one row per entry of sources
+     */
+    public static DistanceTable shortestPaths(Graph g, int[] sources, Metrics metrics) {
+        return shortestPaths(g, sources, metrics, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes distances from each of the given sources on the given fork-join pool.
+     *
+     * @param g       the graph to process
+     * @param sources the source nodes; duplicates are allowed
+     * @param metrics optional thread-safe metrics collector
+     * @param pool    the pool running the blocks
+     * @return the distances, one row per entry of sources
+     */
+    public static DistanceTable shortestPaths(Graph g, int[] sources, Metrics metrics, ForkJoinPool pool) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        if (sources == null) throw new IllegalArgumentException("sources is null");
+        int n = g.nodeCount();
+        if (n > Integer.MAX_VALUE / BLOCK) throw new IllegalArgumentException("graph too large for a source block: " + n);
+        int[] topo = DFSTopologicalSort.cachedOrder(g, metrics);
+        long[][] blocks = new long[(sources.length + BLOCK - 1) / BLOCK][];
+        Blocks task = new Blocks(g, topo, sources.clone(), metrics, blocks, 0, blocks.length);
+        if (blocks.length == 1 || pool.getParallelism() == 1) task.compute();
+        else pool.invoke(task);
+        return new DistanceTable(sources.clone(), n, blocks);
+    }
+
+    /**
+     * Computes the distances between all pairs of nodes on the common fork-join pool.
+     *
+     * @param g       the graph to process
+     * @param metrics optional thread-safe metrics collector
+     * @return the distances, where row u holds the distances from node u
+     * @throws IllegalArgumentException if the n-by-n matrix would exceed {@link #MAX_MATRIX_CELLS} cells
+     */
+    public static DistanceTable allPairs(Graph g, Metrics metrics) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        long n = g.nodeCount();
+        if (n * n > MAX_MATRIX_CELLS) {
+            throw new IllegalArgumentException("all-pairs matrix of " + n + " nodes exceeds " + MAX_MATRIX_CELLS + " cells");
+        }
+        int[] all = new int[(int) n];
+        for (int v = 0; v < n; v++) all[v] = v;
+        return shortestPaths(g, all, metrics);
+    }
+
+    /**
+     * Relaxes one source block: lanes of the block hold the distances of its sources, unused lanes stay INF.
+     */
+    private static long[] relaxBlock(Graph g, int[] topo, int[] sources, int from, Metrics metrics) {
+        int n = g.nodeCount();
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+        long[] dur = g.durationArray();
+        long[] dist = new long[n * BLOCK];
+        Arrays.fill(dist, PathResult.INF);
+        for (int k = 0; k < BLOCK && from + k < sources.length; k++) {
+            int s = sources[from + k];
+            if (s >= 0 && s < n) dist[s * BLOCK + k] = dur[s];
+        }
+
+        for (int u : topo) {
+            int ub = u * BLOCK;
+            boolean reached = false;
+            for (int k = 0; k < BLOCK; k++) reached |= dist[ub + k] != PathResult.INF;
+            if (!reached) continue;
+            for (int i = off[u]; i < off[u + 1]; i++) {
+                if (metrics != null) metrics.incRelaxation();
+                int v = tgt[i];
+                int vb = v * BLOCK;
+                long dv = dur[v];
+                // An unreached lane stays pinned at INF, even when dv is negative
+                for (int k = 0; k < BLOCK; k++) {
+                    long du = dist[ub + k];
+                    long cand = du == PathResult.INF ? PathResult.INF : du + dv;
+                    dist[vb + k] = Math.min(dist[vb + k], cand);
+                }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Computes a range of source blocks, splitting it across the pool.
+     */
+    private static final class Blocks extends RecursiveAction {
+        private final Graph g;
+        private final int[] topo;
+        private final int[] sources;
+        private final Metrics metrics;
+        private final long[][] out;
+        private final int from;
+        private final int to;
+
+        Blocks(Graph g, int[] topo, int[] sources, Metrics metrics, long[][] out, int from, int to) {
+            this.g = g;
+            this.topo = topo;
+            this.sources = sources;
+            this.metrics = metrics;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && getPool() != null) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Blocks(g, topo, sources, metrics, out, from, mid),
+                        new Blocks(g, topo, sources, metrics, out, mid, to));
+                return;
+            }
+            for (int b = from; b < to; b++) out[b] = relaxBlock(g, topo, sources, b * BLOCK, metrics);
+        }
+    }
+}
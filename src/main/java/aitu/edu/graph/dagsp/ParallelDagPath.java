@@ -0,0 +1,249 @@
+package aitu.edu.graph.dagsp;
+
+import aitu.edu.graph.topo.DFSTopologicalSort;
+import aitu.edu.graph.topo.LevelOrder;
+import aitu.edu.graph.topo.ParallelKahnSort;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes shortest and longest paths in a DAG on a fork-join pool, relaxing one topological level at a time.
+ * <p>
+ * The levels come from {@link ParallelKahnSort}. All vertices of a level have final distances once the levels
+ * above it are done, so each level's out-edges are relaxed in parallel slices, with compare-and-set min (or max)
+ * updates on a {@code long[]} of distances.
+ * <p>
+ * Predecessors are chosen afterwards, so they match {@link DagShortestPath} and {@link DagLongestPath} exactly:
+ * the sequential versions keep the first predecessor in DFS topological order that reaches a vertex's final
+ * distance, so among all predecessors that do, the one ranked first in that order wins. The DFS order is
+ * computed on the side while the levels are relaxed. On a cyclic graph the sequential version runs instead.
+ * Metrics, if given, are updated from several threads and must be thread-safe.
+ */
+public class ParallelDagPath {
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    /** Vertex slices up to this many vertices are handled by one task. */
+    private static final int GRAIN = 1024;
+
+    /**
+     * Computes the shortest paths from a source node on the common fork-join pool.
+     *
+     * @param g       the graph to process
+     * @param src     the source node
+     * @param metrics optional thread-safe metrics collector
+     * @return a PathResult equal to the one of {@link DagShortestPath#shortestPath}
+     */
+    public static PathResult shortestPath(Graph g, int src, Metrics metrics) {
+        return shortestPath(g, src, metrics, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the shortest paths from a source node on the given fork-join pool.
+     *
+     * @param g       the graph to process
+     * @param src     the source node
+     * @param metrics optional thread-safe metrics collector
+     * @param pool    the pool running the tasks
+     * @return a PathResult equal to the one of {@link DagShortestPath#shortestPath}
+     */
+    public static PathResult shortestPath(Graph g, int src, Metrics metrics, ForkJoinPool pool) {
+        return compute(g, src, metrics, pool, grain(pool), false);
+    }
+
+    /**
+     * Computes the longest paths from a source node on the common fork-join pool.
+     *
+     * @param g       the graph to process
+     * @param src     the source node
+     * @param metrics optional thread-safe metrics collector
+     * @return a PathResult equal to the one of {@link DagLongestPath#longestPath}
+     */
+    public static PathResult longestPath(Graph g, int src, Metrics metrics) {
+        return longestPath(g, src, metrics, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the longest paths from a source node on the given fork-join pool.
+     *
+     * @param g       the graph to process
+     * @param src     the source node
+     * @param metrics optional thread-safe metrics collector
+     * @param pool    the pool running the tasks
+     * @return a PathResult equal to the one of {@link DagLongestPath#longestPath}
+     */
+    public static PathResult longestPath(Graph g, int src, Metrics metrics, ForkJoinPool pool) {
+        return compute(g, src, metrics, pool, grain(pool), true);
+    }
+
+    private static int grain(ForkJoinPool pool) {
+        // A single thread gains nothing from forking
+        return pool.getParallelism() == 1 ? Integer.MAX_VALUE : GRAIN;
+    }
+
+    /**
+     * Computes with an explicit slice size, so tests can exercise the parallel steps on small graphs.
+     */
+    static PathResult compute(Graph g, int src, Metrics metrics, ForkJoinPool pool, int grain, boolean longest) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        int n = g.nodeCount();
+        if (src < 0 || src >= n) {
+            long[] dist = new long[n];
+            Arrays.fill(dist, longest ? PathResult.NEG_INF : PathResult.INF);
+            return PathResult.unreached(src, dist);
+        }
+        LevelOrder levels = ParallelKahnSort.sort(g, null, pool);
+        if (!levels.isAcyclic()) {
+            return longest ? DagLongestPath.longestPath(g, src, metrics) : DagShortestPath.shortestPath(g, src, metrics);
+        }
+        Run run = new Run(g, src, metrics, Math.max(1, grain), longest, levels);
+        pool.invoke(run);
+        return PathResult.fromPredecessorArray(src, run.dist, run.pred);
+    }
+
+    /**
+     * The state shared by all tasks of one computation.
+     */
+    private static final class Run extends RecursiveAction {
+        final Graph g;
+        final int src;
+        final int[] off;
+        final int[] tgt;
+        final long[] dur;
+        final Metrics metrics;
+        final int grain;
+        final boolean longest;
+        final long unreached;
+        final int[] order;
+        final int[] levelStart;
+        final int srcLevel;
+
+        final long[] dist;
+        final int[] pred;
+        /** Position of each vertex in the DFS topological order, which decides ties. */
+        int[] rank;
+
+        Run(Graph g, int src, Metrics metrics, int grain, boolean longest, LevelOrder levels) {
+            this.g = g;
+            this.src = src;
+            this.off = g.offsets();
+            this.tgt = g.targets();
+            this.dur = g.durationArray();
+            this.metrics = metrics;
+            this.grain = grain;
+            this.longest = longest;
+            this.unreached = longest ? PathResult.NEG_INF : PathResult.INF;
+            this.order = levels.order();
+            this.levelStart = levels.levelOffsets();
+            this.srcLevel = levels.levelOf(src);
+            int n = g.nodeCount();
+            this.dist = new long[n];
+            this.pred = new int[n];
+        }
+
+        @Override
+        protected void compute() {
+            ForkJoinTask<?> ranking = ForkJoinTask.adapt(() -> {
+                int[] topo = DFSTopologicalSort.cachedOrder(g, null);
+                int[] r = new int[topo.length];
+                for (int i = 0; i < topo.length; i++) r[topo[i]] = i;
+                rank = r;
+            }).fork();
+
+            Arrays.fill(dist, unreached);
+            Arrays.fill(pred, -1);
+            dist[src] = dur[src];
+            // Vertices above the source's level cannot be reached from it
+            for (int k = srcLevel; k < levelStart.length - 1; k++) {
+                int from = levelStart[k];
+                int to = levelStart[k + 1];
+                if (to - from > grain) new Slice(this, from, to, false).invoke();
+                else relax(from, to);
+            }
+
+            ranking.join();
+            int from = levelStart[srcLevel];
+            int to = order.length;
+            if (to - from > grain) new Slice(this, from, to, true).invoke();
+            else choose(from, to);
+        }
+
+        /**
+         * Relaxes the out-edges of the vertices at order positions [from, to).
+         */
+        void relax(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int u = order[i];
+                long du = dist[u];
+                if (du == unreached) continue;
+                for (int j = off[u]; j < off[u + 1]; j++) {
+                    if (metrics != null && !longest) metrics.incRelaxation();
+                    int v = tgt[j];
+                    long cand = du + dur[v];
+                    long cur = (long) LONGS.getVolatile(dist, v);
+                    while (longest ? cand > cur : cand < cur) {
+                        long seen = (long) LONGS.compareAndExchange(dist, v, cur, cand);
+                        if (seen == cur) break;
+                        cur = seen;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Offers each vertex at order positions [from, to) as the predecessor of the successors whose final
+         * distance it reaches; the lowest DFS rank wins.
+         */
+        void choose(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int u = order[i];
+                long du = dist[u];
+                if (du == unreached) continue;
+                for (int j = off[u]; j < off[u + 1]; j++) {
+                    int v = tgt[j];
+                    if (du + dur[v] != dist[v]) continue;
+                    int cur = (int) INTS.getVolatile(pred, v);
+                    while (cur < 0 || rank[u] < rank[cur]) {
+                        int seen = (int) INTS.compareAndExchange(pred, v, cur, u);
+                        if (seen == cur) break;
+                        cur = seen;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Relaxes, or chooses predecessors for, one slice of the order.
+     */
+    private static final class Slice extends RecursiveAction {
+        private final Run run;
+        private final int from;
+        private final int to;
+        private final boolean choose;
+
+        Slice(Run run, int from, int to, boolean choose) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+            this.choose = choose;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > run.grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Slice(run, from, mid, choose), new Slice(run, mid, to, choose));
+                return;
+            }
+            if (choose) run.choose(from, to);
+            else run.relax(from, to);
+        }
+    }
+}
@@ -10,22 +10,63 @@ import java.util.*;
 public class PathResult {
     public static final long INF = Long.MAX_VALUE / 4;
     public static final long NEG_INF = Long.MIN_VALUE / 4;
+    private static final int[] NO_PRED = new int[0];
 
     private final int src;
     private final long[] dist;
-    private final Map<Integer, Integer> pred;
+    private final int[] pred;
+    private Map<Integer, Integer> predView;
+
+    private PathResult(int src, long[] dist, int[] pred) {
+        this.src = src;
+        this.dist = dist;
+        this.pred = pred;
+    }
 
     /**
-     * Constructs a PathResult with the given source, distances, and predecessors.
+     * Constructs a PathResult with the given source, distances, and predecessor map. Entries for nodes outside
+     * the distances array are dropped.
      *
      * @param src  the source node
      * @param dist the array of distances from the source
      * @param pred the map of predecessors for path reconstruction
      */
     public PathResult(int src, long[] dist, Map<Integer, Integer> pred) {
-        this.src = src;
-        this.dist = dist;
-        this.pred = pred == null ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(pred));
+        this(src, dist, toArray(dist.length, pred));
+    }
+
+    /**
+     * Creates a PathResult with the given source, distances, and predecessor array, which is kept, not copied.
+     *
+     * @param src  the source node
+     * @param dist the array of distances from the source
+     * @param pred the predecessor of each node, -1 for none; null if no node has one
+     * @return the PathResult
+     */
+    public static PathResult fromPredecessorArray(int src, long[] dist, int[] pred) {
+        return new PathResult(src, dist, pred);
+    }
+
+    /**
+     * Creates a PathResult in which no node has a predecessor, e.g. for a source outside the graph.
+     *
+     * @param src  the source node
+     * @param dist the array of distances from the source
+     * @return the PathResult
+     */
+    public static PathResult unreached(int src, long[] dist) {
+        return new PathResult(src, dist, (int[]) null);
+    }
+
+    private static int[] toArray(int n, Map<Integer, Integer> pred) {
+        if (pred == null || pred.isEmpty()) return null;
+        int[] out = new int[n];
+        Arrays.fill(out, -1);
+        for (Map.Entry<Integer, Integer> e : pred.entrySet()) {
+            int v = e.getKey();
+            if (v >= 0 && v < n && e.getValue() != null) out[v] = e.getValue();
+        }
+        return out;
     }
 
     /**
@@ -58,12 +99,42 @@ public class PathResult {
     }
 
     /**
-     * Returns the map of predecessors.
+     * Returns the predecessor of a specific node.
+     *
+     * @param v the node
+     * @return its predecessor on the path from the source, or -1 if it has none
+     */
+    public int predecessorOf(int v) {
+        if (pred == null || v < 0 || v >= pred.length) return -1;
+        return pred[v];
+    }
+
+    /**
+     * Returns a copy of the predecessors array.
+     *
+     * @return the predecessor of each node, -1 for none
+     */
+    public int[] predecessorArray() {
+        if (pred != null) return pred.clone();
+        int[] out = new int[dist.length];
+        Arrays.fill(out, -1);
+        return out;
+    }
+
+    /**
+     * Returns the predecessors as a map from node to predecessor. The map is built on first use.
      *
-     * @return the predecessors map
+     * @return the unmodifiable predecessors map
      */
     public Map<Integer, Integer> predecessors() {
-        return pred;
+        Map<Integer, Integer> view = predView;
+        if (view == null) {
+            Map<Integer, Integer> m = new HashMap<>();
+            if (pred != null) for (int v = 0; v < pred.length; v++) if (pred[v] >= 0) m.put(v, pred[v]);
+            view = Collections.unmodifiableMap(m);
+            predView = view;
+        }
+        return view;
     }
 
     /**
@@ -73,6 +144,6 @@ public class PathResult {
      * @return the list of nodes in the path, or empty list if no path
      */
     public List<Integer> reconstructPath(int dst) {
-        return PathReconstructor.reconstruct(pred, src, dst);
+        return PathReconstructor.reconstruct(pred == null ? NO_PRED : pred, src, dst);
     }
 }
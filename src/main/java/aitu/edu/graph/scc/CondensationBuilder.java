@@ -1,17 +1,19 @@
 package aitu.edu.graph.scc;
 
+import aitu.edu.graph.util.Graph;
+
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
 /**
- * Builds the condensation graph from a graph and its SCC result.
+ * Builds the condensation graph from a graph and its SCC result, with {@link CondensationEngine} doing the work.
  */
 public class CondensationBuilder {
 
     /**
-     * Builds the condensation graph from edges, node count, and SCC result.
+     * Builds the condensation graph from edges, node count, and SCC result. Edges with an end point outside
+     * [0, n) are ignored.
      *
      * @param n     the number of nodes
      * @param edges the list of edges
@@ -19,29 +21,47 @@ public class CondensationBuilder {
      * @return the Condensation object
      */
     public static Condensation build(int n, List<int[]> edges, SCCResult scc) {
-        int[] compIds = scc.getComponentIds();
-        int k = scc.componentCount();
-        List<Set<Integer>> sets = new ArrayList<>(k);
-        for (int i = 0; i < k; i++) sets.add(new HashSet<>());
+        // Counting sort of the valid edges by source into CSR arrays for the engine
+        int[] off = new int[n + 1];
+        for (int[] e : edges) if (valid(e, n)) off[e[0] + 1]++;
+        for (int u = 0; u < n; u++) off[u + 1] += off[u];
+        int[] fill = Arrays.copyOf(off, n);
+        int[] tgt = new int[off[n]];
+        for (int[] e : edges) if (valid(e, n)) tgt[fill[e[0]]++] = e[1];
+        CondensationCsr csr = CondensationEngine.build(n, off, tgt, null, scc.getComponentIds(),
+                scc.componentCount(), CondensationEngine.RowOrder.SORTED, false);
+        return toCondensation(csr);
+    }
 
-        // Collect inter-component edges
-        for (int[] e : edges) {
-            int u = e[0], v = e[1];
-            if (u < 0 || u >= n || v < 0 || v >= n) continue;
-            int cu = compIds[u], cv = compIds[v];
-            if (cu != cv) sets.get(cu).add(cv);
-        }
+    /**
+     * Builds the condensation graph of a graph.
+     *
+     * @param g   the graph
+     * @param scc the SCC result of the graph
+     * @return the Condensation object
+     */
+    public static Condensation build(Graph g, SCCResult scc) {
+        return toCondensation(CondensationEngine.build(g, scc));
+    }
 
-        // Build adjacency list for condensation
+    private static boolean valid(int[] e, int n) {
+        return e[0] >= 0 && e[0] < n && e[1] >= 0 && e[1] < n;
+    }
+
+    private static Condensation toCondensation(CondensationCsr csr) {
+        int k = csr.componentCount();
+        int[] off = csr.offsets();
+        int[] tgt = csr.targets();
         List<List<Integer>> adj = new ArrayList<>(k);
-        List<int[]> dagEdges = new ArrayList<>();
-        for (int i = 0; i < k; i++) {
-            List<Integer> outs = new ArrayList<>(sets.get(i));
-            outs.sort(Integer::compareTo);
+        List<int[]> dagEdges = new ArrayList<>(tgt.length);
+        for (int c = 0; c < k; c++) {
+            List<Integer> outs = new ArrayList<>(off[c + 1] - off[c]);
+            for (int i = off[c]; i < off[c + 1]; i++) {
+                outs.add(tgt[i]);
+                dagEdges.add(new int[]{c, tgt[i]});
+            }
             adj.add(outs);
-            for (int to : outs) dagEdges.add(new int[]{i, to});
         }
-
         return new Condensation(k, adj, dagEdges);
     }
 
@@ -0,0 +1,140 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A condensation graph in CSR form, built by {@link CondensationEngine}: the successors of component c are
+ * {@code targets()[offsets()[c]] .. targets()[offsets()[c + 1] - 1]}, each listed once.
+ * <p>
+ * When edge statistics were requested, every condensation edge also carries the number of graph edges it stands
+ * for and the smallest and largest weight among them, aligned with {@link #targets()}. The arrays are shared and
+ * must not be modified.
+ */
+public class CondensationCsr {
+    private final int componentCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] multiplicities;
+    private final long[] minWeights;
+    private final long[] maxWeights;
+
+    CondensationCsr(int componentCount, int[] offsets, int[] targets, int[] multiplicities, long[] minWeights,
+                    long[] maxWeights) {
+        this.componentCount = componentCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.multiplicities = multiplicities;
+        this.minWeights = minWeights;
+        this.maxWeights = maxWeights;
+    }
+
+    /**
+     * Returns the number of components.
+     *
+     * @return the component count
+     */
+    public int componentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Returns the number of distinct edges between components.
+     *
+     * @return the edge count
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the row offsets, of length {@code componentCount() + 1}.
+     *
+     * @return the shared offsets array
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the edge targets.
+     *
+     * @return the shared targets array
+     */
+    public int[] targets() {
+        return targets;
+    }
+
+    /**
+     * Returns whether multiplicities and weights were kept.
+     *
+     * @return true if edge statistics are available
+     */
+    public boolean hasEdgeStats() {
+        return multiplicities != null;
+    }
+
+    /**
+     * Returns how many graph edges each condensation edge stands for.
+     *
+     * @return the shared multiplicities array
+     * @throws IllegalStateException if edge statistics were not kept
+     */
+    public int[] multiplicities() {
+        requireStats();
+        return multiplicities;
+    }
+
+    /**
+     * Returns the smallest weight among the graph edges of each condensation edge.
+     *
+     * @return the shared minimum weights array
+     * @throws IllegalStateException if edge statistics were not kept
+     */
+    public long[] minWeights() {
+        requireStats();
+        return minWeights;
+    }
+
+    /**
+     * Returns the largest weight among the graph edges of each condensation edge.
+     *
+     * @return the shared maximum weights array
+     * @throws IllegalStateException if edge statistics were not kept
+     */
+    public long[] maxWeights() {
+        requireStats();
+        return maxWeights;
+    }
+
+    /**
+     * Returns the successors of every component as unmodifiable lists.
+     *
+     * @return the adjacency lists
+     */
+    public List<List<Integer>> toAdjacency() {
+        List<List<Integer>> adj = new ArrayList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            List<Integer> row = new ArrayList<>(offsets[c + 1] - offsets[c]);
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) row.add(targets[i]);
+            adj.add(Collections.unmodifiableList(row));
+        }
+        return Collections.unmodifiableList(adj);
+    }
+
+    /**
+     * Returns the condensation as a graph without durations, sharing the CSR arrays.
+     *
+     * @return the graph
+     */
+    public Graph toGraph() {
+        return Graph.fromCsr(componentCount, offsets, targets, new long[componentCount], null);
+    }
+
+    private void requireStats() {
+        if (multiplicities == null) throw new IllegalStateException("edge statistics were not kept");
+    }
+}
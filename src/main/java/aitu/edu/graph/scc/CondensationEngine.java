@@ -0,0 +1,142 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+
+import java.util.Arrays;
+
+/**
+ * Builds condensation graphs on primitive arrays.
+ * <p>
+ * Nodes are grouped by component with a counting sort, so each component's out-edges are scanned together.
+ * While a component is scanned, a marker array indexed by target component records which targets its row
+ * already holds, so duplicates are dropped in constant time without boxing or hashing; the marker is reset by
+ * switching to the next row id rather than clearing. The result is a {@link CondensationCsr}, and the whole
+ * build is O(n + m) plus the row sorts when sorted rows are requested.
+ * <p>
+ * An edge's weight, when edge statistics are kept, is the duration of its target node: the amount a path
+ * grows by when it takes the edge, as in the DAG path algorithms.
+ */
+public class CondensationEngine {
+
+    /**
+     * The order of the successors within each row.
+     */
+    public enum RowOrder {
+        /** Ascending component id, as {@link CondensationBuilder} lists them. */
+        SORTED,
+        /**
+         * The order in which the targets are first met when the graph's edges are scanned by ascending source
+         * and then in CSR order, as {@link aitu.edu.graph.topo.TaskOrderDeriver} lists them.
+         */
+        FIRST_APPEARANCE
+    }
+
+    /**
+     * Builds the condensation of a graph with sorted rows and no edge statistics.
+     *
+     * @param g   the graph
+     * @param scc the SCC result of the graph
+     * @return the condensation
+     */
+    public static CondensationCsr build(Graph g, SCCResult scc) {
+        return build(g, scc, RowOrder.SORTED, false);
+    }
+
+    /**
+     * Builds the condensation of a graph.
+     *
+     * @param g         the graph
+     * @param scc       the SCC result of the graph
+     * @param order     the order of each row
+     * @param edgeStats whether to keep multiplicities and min/max weights per condensation edge
+     * @return the condensation
+     */
+    public static CondensationCsr build(Graph g, SCCResult scc, RowOrder order, boolean edgeStats) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        if (scc == null) throw new IllegalArgumentException("scc is null");
+        if (order == null) throw new IllegalArgumentException("order is null");
+        return build(g.nodeCount(), g.offsets(), g.targets(), g.durationArray(), scc.getComponentIds(),
+                scc.componentCount(), order, edgeStats);
+    }
+
+    /**
+     * Builds the condensation of a graph given as CSR arrays. Nodes and targets beyond the component id array
+     * are ignored, as are weights when {@code dur} is null.
+     */
+    static CondensationCsr build(int n, int[] off, int[] tgt, long[] dur, int[] comp, int k, RowOrder order,
+                                 boolean edgeStats) {
+        int limit = Math.min(n, comp.length);
+
+        // Members of each component, in ascending node order
+        int[] memberStart = new int[k + 1];
+        for (int v = 0; v < limit; v++) memberStart[comp[v] + 1]++;
+        for (int c = 0; c < k; c++) memberStart[c + 1] += memberStart[c];
+        int[] fill = Arrays.copyOf(memberStart, k);
+        int[] members = new int[memberStart[k]];
+        for (int v = 0; v < limit; v++) members[fill[comp[v]]++] = v;
+
+        // seen[d] == c + 1 while row c holds d; the per-target statistics live in scratch arrays until the
+        // row is written out, so they follow the row through its sort
+        int[] seen = new int[k];
+        int[] rowOff = new int[k + 1];
+        int[] rowTgt = new int[Math.min(tgt.length, 16)];
+        int[] multScratch = edgeStats ? new int[k] : null;
+        long[] minScratch = edgeStats ? new long[k] : null;
+        long[] maxScratch = edgeStats ? new long[k] : null;
+        int[] mult = edgeStats ? new int[rowTgt.length] : null;
+        long[] min = edgeStats ? new long[rowTgt.length] : null;
+        long[] max = edgeStats ? new long[rowTgt.length] : null;
+        int len = 0;
+
+        for (int c = 0; c < k; c++) {
+            int rowStart = len;
+            for (int m = memberStart[c]; m < memberStart[c + 1]; m++) {
+                int v = members[m];
+                for (int i = off[v]; i < off[v + 1]; i++) {
+                    int w = tgt[i];
+                    if (w >= comp.length) continue;
+                    int d = comp[w];
+                    if (d == c) continue;
+                    long wt = dur == null ? 0 : dur[w];
+                    if (seen[d] != c + 1) {
+                        seen[d] = c + 1;
+                        if (len == rowTgt.length) {
+                            int cap = Math.max(16, Math.min(tgt.length, len + (len >> 1) + 1));
+                            rowTgt = Arrays.copyOf(rowTgt, cap);
+                            if (edgeStats) {
+                                mult = Arrays.copyOf(mult, cap);
+                                min = Arrays.copyOf(min, cap);
+                                max = Arrays.copyOf(max, cap);
+                            }
+                        }
+                        rowTgt[len++] = d;
+                        if (edgeStats) {
+                            multScratch[d] = 1;
+                            minScratch[d] = wt;
+                            maxScratch[d] = wt;
+                        }
+                    } else if (edgeStats) {
+                        multScratch[d]++;
+                        if (wt < minScratch[d]) minScratch[d] = wt;
+                        if (wt > maxScratch[d]) maxScratch[d] = wt;
+                    }
+                }
+            }
+            if (order == RowOrder.SORTED) Arrays.sort(rowTgt, rowStart, len);
+            if (edgeStats) {
+                for (int i = rowStart; i < len; i++) {
+                    int d = rowTgt[i];
+                    mult[i] = multScratch[d];
+                    min[i] = minScratch[d];
+                    max[i] = maxScratch[d];
+                }
+            }
+            rowOff[c + 1] = len;
+        }
+
+        return new CondensationCsr(k, rowOff, Arrays.copyOf(rowTgt, len),
+                edgeStats ? Arrays.copyOf(mult, len) : null,
+                edgeStats ? Arrays.copyOf(min, len) : null,
+                edgeStats ? Arrays.copyOf(max, len) : null);
+    }
+}
@@ -0,0 +1,522 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.topo.DynamicTopologicalOrder;
+import aitu.edu.graph.util.DynamicAdjacency;
+import aitu.edu.graph.util.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the strongly connected components of a graph, and its condensation, up to date under edge insertions
+ * and deletions.
+ * <p>
+ * Components live in slots, and the condensation is a {@link DynamicTopologicalOrder} over the slots with one
+ * edge per graph edge between two components, so its order is maintained by Pearce–Kelly as edges arrive:
+ * <ul>
+ *     <li>An edge inside a component, or one the condensation accepts, changes no component.</li>
+ *     <li>An edge the condensation rejects closes a cycle: the components on paths from the target's component
+ *     back to the source's, found by searches bounded to the order range between the two, merge into the
+ *     largest of them.</li>
+ *     <li>Deleting an edge between components only drops its condensation edge. Deleting one inside a component
+ *     reruns Tarjan on that component alone, and splits it if it fell apart.</li>
+ * </ul>
+ * A split of a component holding more than the recompute fraction of all nodes, or a batch of updates larger
+ * than that fraction of all edges, rebuilds everything from scratch instead.
+ * <p>
+ * Slot ids are stable between changes but not contiguous; {@link #toResult()} renumbers them in topological
+ * order, as the static algorithms do. This class is not thread-safe.
+ */
+public class DynamicSCC {
+    /** Default share of nodes (for splits) or edges (for batches) past which a full rebuild is used. */
+    public static final double DEFAULT_RECOMPUTE_FRACTION = 0.25;
+
+    private final DynamicAdjacency adj;
+    private final double recomputeFraction;
+    private int rebuilds;
+
+    private DynamicTopologicalOrder cond;
+    /** Component slot of each node. */
+    private int[] comp;
+    private int[][] members;
+    private int[] memberCount;
+    private int[] freeSlots;
+    private int freeCount;
+    private int live;
+
+    // Search scratch: slot marks for the forward and backward searches, node indexes for local Tarjan runs
+    private int[] markF = new int[0];
+    private int[] markB = new int[0];
+    private int epoch;
+    private int[] local = new int[0];
+
+    /**
+     * Creates a dynamic SCC structure over a copy of a graph's edges, with the default recompute fraction.
+     *
+     * @param g the initial graph
+     */
+    public DynamicSCC(Graph g) {
+        this(g, DEFAULT_RECOMPUTE_FRACTION);
+    }
+
+    /**
+     * Creates a dynamic SCC structure over a copy of a graph's edges.
+     *
+     * @param g                 the initial graph
+     * @param recomputeFraction the share of nodes or edges an update may touch before a full rebuild is used
+     */
+    public DynamicSCC(Graph g, double recomputeFraction) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        if (!(recomputeFraction > 0)) throw new IllegalArgumentException("recompute fraction must be positive");
+        this.adj = DynamicAdjacency.fromGraph(g);
+        this.recomputeFraction = recomputeFraction;
+        rebuild();
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the node count
+     */
+    public int nodeCount() {
+        return adj.nodeCount();
+    }
+
+    /**
+     * Returns the number of edges.
+     *
+     * @return the edge count
+     */
+    public int edgeCount() {
+        return adj.edgeCount();
+    }
+
+    /**
+     * Returns the number of components.
+     *
+     * @return the component count
+     */
+    public int componentCount() {
+        return live;
+    }
+
+    /**
+     * Returns the component slot of a node. Slots stay the same until a merge, split or rebuild touches them.
+     *
+     * @param v the node
+     * @return the slot of its component
+     */
+    public int componentOf(int v) {
+        check(v);
+        return comp[v];
+    }
+
+    /**
+     * Returns whether two nodes are in the same component.
+     *
+     * @param u a node
+     * @param v a node
+     * @return true if u and v reach each other
+     */
+    public boolean sameComponent(int u, int v) {
+        return componentOf(u) == componentOf(v);
+    }
+
+    /**
+     * Returns how many full rebuilds have run, including the initial one.
+     *
+     * @return the rebuild count
+     */
+    public int rebuildCount() {
+        return rebuilds;
+    }
+
+    /**
+     * Returns the current graph. It must not be modified directly.
+     *
+     * @return the adjacency
+     */
+    public DynamicAdjacency adjacency() {
+        return adj;
+    }
+
+    /**
+     * Adds a node without edges, as a component of its own.
+     *
+     * @return the id of the new node
+     */
+    public int addNode() {
+        int v = adj.addNode();
+        if (v >= comp.length) comp = Arrays.copyOf(comp, Math.max(v + 1, comp.length * 2));
+        if (v >= local.length) {
+            int old = local.length;
+            local = Arrays.copyOf(local, comp.length);
+            Arrays.fill(local, old, local.length, -1);
+        }
+        int c = newSlot();
+        comp[v] = c;
+        addMember(c, v);
+        live++;
+        return v;
+    }
+
+    /**
+     * Adds the edge u -> v.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return true if components merged
+     */
+    public boolean addEdge(int u, int v) {
+        check(u);
+        check(v);
+        adj.addEdge(u, v);
+        int cu = comp[u];
+        int cv = comp[v];
+        if (cu == cv || cond.addEdge(cu, cv)) return false;
+        merge(cu, cv);
+        return true;
+    }
+
+    /**
+     * Removes one edge u -> v.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return true if a component split; false if none did or there was no such edge
+     */
+    public boolean removeEdge(int u, int v) {
+        check(u);
+        check(v);
+        if (!adj.removeEdge(u, v)) return false;
+        int cu = comp[u];
+        int cv = comp[v];
+        if (cu != cv) {
+            cond.removeEdge(cu, cv);
+            return false;
+        }
+        if (memberCount[cu] > recomputeFraction * adj.nodeCount()) {
+            int before = live;
+            rebuild();
+            return live != before;
+        }
+        return split(cu);
+    }
+
+    /**
+     * Applies a batch of updates: the removals first, then the additions. A batch larger than the recompute
+     * fraction of the edges is applied to the graph directly and followed by one rebuild.
+     *
+     * @param additions edges to add, as {u, v} pairs
+     * @param removals  edges to remove, as {u, v} pairs; missing edges are ignored
+     */
+    public void applyBatch(int[][] additions, int[][] removals) {
+        int size = (additions == null ? 0 : additions.length) + (removals == null ? 0 : removals.length);
+        if (size <= recomputeFraction * Math.max(1, adj.edgeCount())) {
+            if (removals != null) for (int[] e : removals) removeEdge(e[0], e[1]);
+            if (additions != null) for (int[] e : additions) addEdge(e[0], e[1]);
+            return;
+        }
+        if (removals != null) for (int[] e : removals) adj.removeEdge(e[0], e[1]);
+        if (additions != null) for (int[] e : additions) adj.addEdge(e[0], e[1]);
+        rebuild();
+    }
+
+    /**
+     * Recomputes all components and the condensation from scratch, compacting the slots.
+     */
+    public void rebuild() {
+        Graph g = adj.toGraph();
+        SCCResult r = TarjanSCC.computeSCC(g);
+        int n = g.nodeCount();
+        int k = r.componentCount();
+        comp = Arrays.copyOf(r.getComponentIds(), Math.max(1, n));
+        members = new int[Math.max(1, k)][];
+        memberCount = new int[members.length];
+        List<List<Integer>> comps = r.getComponents();
+        for (int c = 0; c < k; c++) {
+            List<Integer> list = comps.get(c);
+            members[c] = new int[list.size()];
+            for (int i = 0; i < list.size(); i++) members[c][i] = list.get(i);
+            memberCount[c] = list.size();
+        }
+        freeSlots = new int[4];
+        freeCount = 0;
+        live = k;
+        // Ids are in topological order, so every condensation edge points forward and is added in O(1)
+        cond = new DynamicTopologicalOrder(k);
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+        for (int u = 0; u < n; u++) {
+            for (int i = off[u]; i < off[u + 1]; i++) {
+                if (comp[u] != comp[tgt[i]]) cond.addEdge(comp[u], comp[tgt[i]]);
+            }
+        }
+        markF = new int[members.length];
+        markB = new int[members.length];
+        epoch = 0;
+        local = new int[comp.length];
+        Arrays.fill(local, -1);
+        rebuilds++;
+    }
+
+    /**
+     * Returns the components with ids renumbered in topological order of the condensation, and members in
+     * ascending order.
+     *
+     * @return the SCCResult
+     */
+    public SCCResult toResult() {
+        int n = adj.nodeCount();
+        int[] id = topologicalIds();
+        int[] ids = new int[n];
+        List<List<Integer>> components = new ArrayList<>(live);
+        for (int i = 0; i < live; i++) components.add(null);
+        for (int c = 0; c < memberCount.length; c++) {
+            if (memberCount[c] == 0) continue;
+            int[] sorted = Arrays.copyOf(members[c], memberCount[c]);
+            Arrays.sort(sorted);
+            List<Integer> list = new ArrayList<>(sorted.length);
+            for (int v : sorted) {
+                list.add(v);
+                ids[v] = id[c];
+            }
+            components.set(id[c], list);
+        }
+        return new SCCResult(ids, components);
+    }
+
+    /**
+     * Returns the condensation with the component ids of {@link #toResult()}, each row deduplicated and sorted
+     * as {@link CondensationBuilder} does.
+     *
+     * @return the condensation
+     */
+    public CondensationBuilder.Condensation condensation() {
+        int[] id = topologicalIds();
+        DynamicAdjacency cadj = cond.adjacency();
+        List<List<Integer>> rows = new ArrayList<>(live);
+        for (int i = 0; i < live; i++) rows.add(null);
+        int[] seen = new int[live];
+        Arrays.fill(seen, -1);
+        for (int c = 0; c < memberCount.length; c++) {
+            if (memberCount[c] == 0) continue;
+            int[] out = cadj.successors(c);
+            int[] row = new int[cadj.outDegree(c)];
+            int len = 0;
+            for (int i = 0; i < row.length; i++) {
+                int d = id[out[i]];
+                if (seen[d] != c) {
+                    seen[d] = c;
+                    row[len++] = d;
+                }
+            }
+            Arrays.sort(row, 0, len);
+            List<Integer> list = new ArrayList<>(len);
+            for (int i = 0; i < len; i++) list.add(row[i]);
+            rows.set(id[c], list);
+        }
+        List<int[]> edges = new ArrayList<>();
+        for (int c = 0; c < live; c++) for (int d : rows.get(c)) edges.add(new int[]{c, d});
+        return new CondensationBuilder.Condensation(live, rows, edges);
+    }
+
+    /**
+     * Maps each live slot to its rank in the condensation's topological order.
+     */
+    private int[] topologicalIds() {
+        int[] order = cond.order();
+        int[] id = new int[memberCount.length];
+        int next = 0;
+        for (int c : order) if (memberCount[c] > 0) id[c] = next++;
+        return id;
+    }
+
+    private void check(int v) {
+        if (v < 0 || v >= adj.nodeCount()) throw new IllegalArgumentException("node out of range: " + v);
+    }
+
+    /**
+     * Merges the components on cycles through the rejected condensation edge cu -> cv: those reachable from cv
+     * and reaching cu. Positions bound both searches: such a component lies between cv and cu in the order.
+     */
+    private void merge(int cu, int cv) {
+        DynamicAdjacency cadj = cond.adjacency();
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(markF, 0);
+            Arrays.fill(markB, 0);
+            epoch = 1;
+        }
+        int lo = cond.position(cv);
+        int hi = cond.position(cu);
+        search(cv, cadj, true, lo, hi);
+        int[] cycle = search(cu, cadj, false, lo, hi);
+
+        int target = -1;
+        int count = 0;
+        for (int c : cycle) {
+            if (markF[c] != epoch) continue;
+            cycle[count++] = c;
+            if (target < 0 || memberCount[c] > memberCount[target]) target = c;
+        }
+
+        // Collect the condensation edges that leave the merged set, then drop every edge of the absorbed slots
+        int[] outs = new int[8];
+        int outLen = 0;
+        int[] ins = new int[8];
+        int inLen = 0;
+        for (int i = 0; i < count; i++) {
+            int c = cycle[i];
+            if (c == target) continue;
+            int[] row = cadj.successors(c);
+            for (int j = 0; j < cadj.outDegree(c); j++) {
+                if (!onCycle(row[j])) outs = push(outs, outLen++, row[j]);
+            }
+            row = cadj.predecessors(c);
+            for (int j = 0; j < cadj.inDegree(c); j++) {
+                if (!onCycle(row[j])) ins = push(ins, inLen++, row[j]);
+            }
+            cadj.removeAllEdges(c);
+            for (int j = 0; j < memberCount[c]; j++) {
+                int v = members[c][j];
+                comp[v] = target;
+                addMember(target, v);
+            }
+            memberCount[c] = 0;
+            members[c] = null;
+            freeSlots = push(freeSlots, freeCount++, c);
+            live--;
+        }
+        for (int i = 0; i < outLen; i++) addCondensationEdge(target, outs[i]);
+        for (int i = 0; i < inLen; i++) addCondensationEdge(ins[i], target);
+    }
+
+    private boolean onCycle(int c) {
+        return markF[c] == epoch && markB[c] == epoch;
+    }
+
+    /**
+     * Marks the slots reachable from start (forward) or reaching it (backward) among positions [lo, hi], and
+     * returns them.
+     */
+    private int[] search(int start, DynamicAdjacency cadj, boolean forward, int lo, int hi) {
+        int[] mark = forward ? markF : markB;
+        int[] found = new int[8];
+        int len = 0;
+        int[] stack = new int[8];
+        int sp = 0;
+        mark[start] = epoch;
+        stack[sp++] = start;
+        while (sp > 0) {
+            int c = stack[--sp];
+            found = push(found, len++, c);
+            int[] row = forward ? cadj.successors(c) : cadj.predecessors(c);
+            int deg = forward ? cadj.outDegree(c) : cadj.inDegree(c);
+            for (int j = 0; j < deg; j++) {
+                int d = row[j];
+                if (mark[d] == epoch) continue;
+                int p = cond.position(d);
+                if (p < lo || p > hi) continue;
+                mark[d] = epoch;
+                stack = push(stack, sp++, d);
+            }
+        }
+        return Arrays.copyOf(found, len);
+    }
+
+    /**
+     * Reruns Tarjan on the members of one component and splits it if it is no longer strongly connected.
+     */
+    private boolean split(int c) {
+        int size = memberCount[c];
+        int[] verts = Arrays.copyOf(members[c], size);
+        for (int i = 0; i < size; i++) local[verts[i]] = i;
+        int[] off = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int v = verts[i];
+            int[] row = adj.successors(v);
+            int k = 0;
+            for (int j = 0; j < adj.outDegree(v); j++) if (comp[row[j]] == c) k++;
+            off[i + 1] = off[i] + k;
+        }
+        int[] tgt = new int[off[size]];
+        for (int i = 0; i < size; i++) {
+            int v = verts[i];
+            int[] row = adj.successors(v);
+            int pos = off[i];
+            for (int j = 0; j < adj.outDegree(v); j++) if (comp[row[j]] == c) tgt[pos++] = local[row[j]];
+        }
+        SCCResult pieces = TarjanSCC.computeSCC(Graph.fromCsr(size, off, tgt, new long[size], null));
+        int k = pieces.componentCount();
+        if (k == 1) {
+            for (int v : verts) local[v] = -1;
+            return false;
+        }
+
+        // Piece 0 keeps the slot; the others get new ones. Every edge of the old slot is re-derived from the graph.
+        DynamicAdjacency cadj = cond.adjacency();
+        cadj.removeAllEdges(c);
+        int[] slotOf = new int[k];
+        slotOf[0] = c;
+        for (int p = 1; p < k; p++) slotOf[p] = newSlot();
+        int[] pieceIds = pieces.getComponentIds();
+        memberCount[c] = 0;
+        for (int i = 0; i < size; i++) {
+            int s = slotOf[pieceIds[i]];
+            comp[verts[i]] = s;
+            addMember(s, verts[i]);
+        }
+        live += k - 1;
+        // Pieces come in topological order, so adding their edges from the first piece on keeps reorders small
+        for (int p = 0; p < k; p++) {
+            for (int i = 0; i < size; i++) {
+                if (pieceIds[i] != p) continue;
+                int v = verts[i];
+                int[] row = adj.successors(v);
+                for (int j = 0; j < adj.outDegree(v); j++) {
+                    int w = row[j];
+                    if (comp[w] != comp[v]) addCondensationEdge(comp[v], comp[w]);
+                }
+                row = adj.predecessors(v);
+                for (int j = 0; j < adj.inDegree(v); j++) {
+                    int w = row[j];
+                    // Edges from other pieces were added as out-edges of their source
+                    if (local[w] < 0) addCondensationEdge(comp[w], comp[v]);
+                }
+            }
+        }
+        for (int v : verts) local[v] = -1;
+        return true;
+    }
+
+    private void addCondensationEdge(int from, int to) {
+        if (!cond.addEdge(from, to)) {
+            throw new IllegalStateException("condensation edge " + from + " -> " + to + " would close a cycle");
+        }
+    }
+
+    private int newSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        int c = cond.addNode();
+        if (c >= memberCount.length) {
+            int cap = Math.max(c + 1, memberCount.length * 2);
+            members = Arrays.copyOf(members, cap);
+            memberCount = Arrays.copyOf(memberCount, cap);
+            markF = Arrays.copyOf(markF, cap);
+            markB = Arrays.copyOf(markB, cap);
+        }
+        return c;
+    }
+
+    private void addMember(int c, int v) {
+        if (members[c] == null) members[c] = new int[4];
+        members[c] = push(members[c], memberCount[c]++, v);
+    }
+
+    private static int[] push(int[] a, int i, int x) {
+        if (i == a.length) a = Arrays.copyOf(a, Math.max(4, a.length * 2));
+        a[i] = x;
+        return a;
+    }
+}
@@ -0,0 +1,106 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.util.Arrays;
+
+/**
+ * Implements Gabow's path-based algorithm to find strongly connected components (SCCs).
+ * <p>
+ * Like Tarjan's algorithm it makes a single DFS pass without a reverse graph, but it tracks component
+ * boundaries with a second stack instead of low-link values. The DFS runs on an explicit stack and
+ * component ids are numbered in topological order of the condensation.
+ */
+public class GabowSCC {
+
+    /**
+     * Computes SCCs from a Graph object.
+     *
+     * @param g the graph
+     * @return the SCCResult containing component assignments and lists
+     */
+    public static SCCResult computeSCC(Graph g) {
+        return computeSCC(g, null);
+    }
+
+    /**
+     * Computes SCCs from a Graph object, with optional metrics.
+     *
+     * @param g       the graph
+     * @param metrics optional metrics collector
+     * @return the SCCResult containing component assignments and lists
+     */
+    public static SCCResult computeSCC(Graph g, Metrics metrics) {
+        int n = g.nodeCount();
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+
+        int[] pre = new int[n];
+        Arrays.fill(pre, -1);
+        int[] compIds = new int[n];
+        Arrays.fill(compIds, -1);
+
+        int[] callStack = new int[Math.max(1, n)];
+        int[] cursor = new int[Math.max(1, n)];
+        int[] sStack = new int[Math.max(1, n)]; // nodes not yet assigned to a component
+        int[] pStack = new int[Math.max(1, n)]; // roots of the open components on the current path
+        int[] members = new int[n];
+        int[] compStart = new int[n + 1];
+        int sTop = 0;
+        int pTop = 0;
+        int assigned = 0;
+        int counter = 0;
+        int compCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (pre[root] != -1) continue;
+            if (metrics != null) metrics.incDfsVisit();
+            pre[root] = counter++;
+            sStack[sTop++] = root;
+            pStack[pTop++] = root;
+            int sp = 0;
+            callStack[0] = root;
+            cursor[0] = off[root];
+
+            while (sp >= 0) {
+                int v = callStack[sp];
+                int i = cursor[sp];
+                if (i < off[v + 1]) {
+                    cursor[sp] = i + 1;
+                    if (metrics != null) metrics.incDfsEdge();
+                    int w = tgt[i];
+                    if (pre[w] == -1) {
+                        // Tree edge: descend
+                        if (metrics != null) metrics.incDfsVisit();
+                        pre[w] = counter++;
+                        sStack[sTop++] = w;
+                        pStack[pTop++] = w;
+                        callStack[++sp] = w;
+                        cursor[sp] = off[w];
+                    } else if (compIds[w] == -1) {
+                        // w is on the open path: collapse every boundary above it
+                        while (pre[pStack[pTop - 1]] > pre[w]) pTop--;
+                    }
+                    continue;
+                }
+
+                // v is finished: close its component if it is still a boundary
+                if (pStack[pTop - 1] == v) {
+                    pTop--;
+                    compStart[compCount] = assigned;
+                    int w;
+                    do {
+                        w = sStack[--sTop];
+                        compIds[w] = compCount;
+                        members[assigned++] = w;
+                    } while (w != v);
+                    compCount++;
+                }
+                sp--;
+            }
+        }
+        compStart[compCount] = assigned;
+        return TarjanSCC.toResult(compIds, members, compStart, compCount);
+    }
+}
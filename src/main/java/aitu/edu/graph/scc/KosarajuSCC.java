@@ -1,6 +1,7 @@
 package aitu.edu.graph.scc;
 
 import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.IterativeDfs;
 import aitu.edu.graph.util.Metrics;
 
 import java.util.ArrayList;
@@ -32,44 +33,34 @@ public class KosarajuSCC {
      * @return the SCCResult containing component assignments and lists
      */
     public static SCCResult computeSCC(int n, List<int[]> edges, Metrics metrics) {
-        // Build adjacency list and reverse adjacency list
-        List<List<Integer>> adj = new ArrayList<>(n);
-        List<List<Integer>> rev = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) {
-            adj.add(new ArrayList<>());
-            rev.add(new ArrayList<>());
-        }
+        // Build forward and reverse CSR with stable counting sorts (keeps edge-list order per row)
+        int[] off = new int[n + 1];
+        int[] roff = new int[n + 1];
+        int m = 0;
         for (int[] e : edges) {
             int u = e[0];
             int v = e[1];
             if (u < 0 || u >= n || v < 0 || v >= n) continue; // ignore invalid
-            adj.get(u).add(v);
-            rev.get(v).add(u);
+            off[u + 1]++;
+            roff[v + 1]++;
+            m++;
         }
-
-        // First DFS to get finishing order
-        boolean[] visited = new boolean[n];
-        List<Integer> order = new ArrayList<>(n);
         for (int i = 0; i < n; i++) {
-            if (!visited[i]) dfs1(i, adj, visited, order, metrics);
+            off[i + 1] += off[i];
+            roff[i + 1] += roff[i];
         }
-
-        // Second DFS on reverse graph in reverse finishing order
-        int[] compIds = new int[n];
-        Arrays.fill(compIds, -1);
-        List<List<Integer>> components = new ArrayList<>();
-
-        for (int i = order.size() - 1; i >= 0; i--) {
-            int v = order.get(i);
-            if (compIds[v] == -1) {
-                List<Integer> comp = new ArrayList<>();
-                int cid = components.size();
-                dfs2(v, rev, compIds, cid, comp, metrics);
-                components.add(comp);
-            }
+        int[] tgt = new int[m];
+        int[] rsrc = new int[m];
+        int[] fill = Arrays.copyOf(off, n);
+        int[] rfill = Arrays.copyOf(roff, n);
+        for (int[] e : edges) {
+            int u = e[0];
+            int v = e[1];
+            if (u < 0 || u >= n || v < 0 || v >= n) continue;
+            tgt[fill[u]++] = v;
+            rsrc[rfill[v]++] = u;
         }
-
-        return new SCCResult(compIds, components);
+        return compute(n, off, tgt, roff, rsrc, metrics);
     }
 
 
@@ -91,78 +82,50 @@ public class KosarajuSCC {
      * @return the SCCResult containing component assignments and lists
      */
     public static SCCResult computeSCC(Graph g, Metrics metrics) {
-        int n = g.nodeCount();
-        List<List<Integer>> adj = g.adjacency();
-        // Build reverse adjacency list
-        List<List<Integer>> rev = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) rev.add(new ArrayList<>());
-        for (int u = 0; u < n; u++) {
-            for (int v : adj.get(u)) {
-                rev.get(v).add(u);
-            }
-        }
+        return compute(g.nodeCount(), g.offsets(), g.targets(), g.reverseOffsets(), g.reverseSources(), metrics);
+    }
+
+    /**
+     * Runs both DFS passes over forward and reverse CSR arrays.
+     *
+     * @param n       the number of nodes
+     * @param off     forward CSR offsets
+     * @param tgt     forward CSR targets
+     * @param roff    reverse CSR offsets
+     * @param rsrc    reverse CSR sources
+     * @param metrics optional metrics
+     * @return the SCCResult
+     */
+    private static SCCResult compute(int n, int[] off, int[] tgt, int[] roff, int[] rsrc, Metrics metrics) {
+        IterativeDfs dfs = new IterativeDfs(n);
 
         // First DFS to get finishing order
         boolean[] visited = new boolean[n];
-        List<Integer> order = new ArrayList<>(n);
+        int[] order = new int[n];
+        int len = 0;
         for (int i = 0; i < n; i++) {
-            if (!visited[i]) dfs1(i, adj, visited, order, metrics);
+            if (!visited[i]) len = dfs.postOrder(i, off, tgt, visited, order, len, metrics);
         }
 
         // Second DFS on reverse graph in reverse finishing order
         int[] compIds = new int[n];
         Arrays.fill(compIds, -1);
         List<List<Integer>> components = new ArrayList<>();
+        int[] members = new int[n];
+        int assigned = 0;
 
-        for (int i = order.size() - 1; i >= 0; i--) {
-            int v = order.get(i);
+        for (int i = len - 1; i >= 0; i--) {
+            int v = order[i];
             if (compIds[v] == -1) {
-                List<Integer> comp = new ArrayList<>();
                 int cid = components.size();
-                dfs2(v, rev, compIds, cid, comp, metrics);
+                int end = dfs.preOrder(v, roff, rsrc, compIds, cid, members, assigned, metrics);
+                List<Integer> comp = new ArrayList<>(end - assigned);
+                for (int j = assigned; j < end; j++) comp.add(members[j]);
+                assigned = end;
                 components.add(comp);
             }
         }
 
         return new SCCResult(compIds, components);
     }
-
-    /**
-     * First DFS pass to compute finishing times.
-     *
-     * @param v       current node
-     * @param adj     adjacency list
-     * @param visited visited array
-     * @param order   list to store finishing order
-     * @param metrics optional metrics
-     */
-    private static void dfs1(int v, List<List<Integer>> adj, boolean[] visited, List<Integer> order, Metrics metrics) {
-        if (metrics != null) metrics.incDfsVisit();
-        visited[v] = true;
-        for (int to : adj.get(v)) {
-            if (metrics != null) metrics.incDfsEdge();
-            if (!visited[to]) dfs1(to, adj, visited, order, metrics);
-        }
-        order.add(v);
-    }
-
-    /**
-     * Second DFS pass on reverse graph to assign components.
-     *
-     * @param v       current node
-     * @param rev     reverse adjacency list
-     * @param compIds component ID array
-     * @param cid     current component ID
-     * @param comp    list to store component nodes
-     * @param metrics optional metrics
-     */
-    private static void dfs2(int v, List<List<Integer>> rev, int[] compIds, int cid, List<Integer> comp, Metrics metrics) {
-        if (metrics != null) metrics.incDfsVisit();
-        compIds[v] = cid;
-        comp.add(v);
-        for (int to : rev.get(v)) {
-            if (metrics != null) metrics.incDfsEdge();
-            if (compIds[to] == -1) dfs2(to, rev, compIds, cid, comp, metrics);
-        }
-    }
-}
\ No newline at end of file
+}
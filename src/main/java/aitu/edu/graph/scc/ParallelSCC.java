@@ -0,0 +1,531 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds strongly connected components on a fork-join pool with the forward-backward (FW-BW) algorithm.
+ * <p>
+ * First, vertices with no remaining predecessors or successors are trimmed away as singleton components, in
+ * parallel rounds. On the remaining core, a random pivot's forward and backward reachable sets are found by
+ * parallel breadth-first search; their intersection is the pivot's SCC, and the forward-only, backward-only and
+ * remaining vertices are three independent subproblems solved as parallel tasks. Subproblems below a size
+ * threshold, scaled so that each pool thread gets several, are finished with a sequential Tarjan pass.
+ * <p>
+ * Each subproblem owns a contiguous range of rank slots laid out in topological order (backward set, SCC,
+ * remainder, forward set), so component ids come out in topological order of the condensation, as with
+ * {@link KosarajuSCC}. The ids are also the same from run to run: each parallel trim round takes its slots in
+ * ascending vertex order, so the core's slot range, and with it every pivot, depends only on the graph.
+ * Metrics, if given, are updated from several threads and must be thread-safe.
+ */
+public class ParallelSCC {
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    /** Subproblems up to this many vertices are always solved sequentially. */
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    /** Target number of sequential leaves per pool thread. */
+    private static final int LEAVES_PER_THREAD = 4;
+    /** Frontier slices up to this many vertices are expanded by one task. */
+    private static final int FRONTIER_GRAIN = 1024;
+    private static final int TRIMMED = -1;
+    private static final int QUEUED = -2;
+    private static final int DONE = -3;
+
+    /**
+     * Computes SCCs on the common fork-join pool.
+     *
+     * @param g the graph
+     * @return the SCCResult containing component assignments and lists
+     */
+    public static SCCResult computeSCC(Graph g) {
+        return computeSCC(g, null);
+    }
+
+    /**
+     * Computes SCCs on the common fork-join pool, with optional metrics.
+     *
+     * @param g       the graph
+     * @param metrics optional thread-safe metrics collector
+     * @return the SCCResult containing component assignments and lists
+     */
+    public static SCCResult computeSCC(Graph g, Metrics metrics) {
+        return computeSCC(g, metrics, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes SCCs on the given fork-join pool, with optional metrics.
+     *
+     * @param g       the graph
+     * @param metrics optional thread-safe metrics collector
+     * @param pool    the pool running the tasks
+     * @return the SCCResult containing component assignments and lists
+     */
+    public static SCCResult computeSCC(Graph g, Metrics metrics, ForkJoinPool pool) {
+        // Every FW-BW level costs a forward and a backward pass over its subproblems, so stop splitting once
+        // there are enough leaves to keep the pool busy; a single thread gains nothing from splitting at all
+        int p = pool.getParallelism();
+        int threshold = p == 1 ? Integer.MAX_VALUE : Math.max(SEQUENTIAL_THRESHOLD, g.nodeCount() / (p * LEAVES_PER_THREAD));
+        return computeSCC(g, metrics, pool, threshold);
+    }
+
+    /**
+     * Computes SCCs with an explicit sequential threshold, so tests can exercise the parallel steps on small graphs.
+     */
+    static SCCResult computeSCC(Graph g, Metrics metrics, ForkJoinPool pool, int sequentialThreshold) {
+        Run run = new Run(g, metrics, sequentialThreshold);
+        pool.invoke(run);
+        return run.result;
+    }
+
+    /**
+     * The state shared by all tasks of one computation.
+     */
+    private static final class Run extends RecursiveAction {
+        final int n;
+        final int[] off;
+        final int[] tgt;
+        final int[] roff;
+        final int[] rsrc;
+        final Metrics metrics;
+        final int sequentialThreshold;
+
+        /**
+         * Subproblem color per vertex (0 for the core); QUEUED and TRIMMED during trimming, and the color of its
+         * SCC, or DONE in a sequential leaf, once its component is known.
+         */
+        final int[] color;
+        /** Rank slot of each vertex's component. */
+        final int[] slot;
+        final AtomicInteger nextColor = new AtomicInteger(1);
+
+        // Shared by the sequential leaves, which work on disjoint vertex sets
+        final int[] index;
+        final int[] low;
+
+        // Trimming state: remaining in- and out-degrees, and the next free slots at the front and back
+        int[] indeg;
+        int[] outdeg;
+        int lo;
+        int hi;
+
+        SCCResult result;
+
+        Run(Graph g, Metrics metrics, int sequentialThreshold) {
+            this.n = g.nodeCount();
+            this.off = g.offsets();
+            this.tgt = g.targets();
+            this.roff = g.reverseOffsets();
+            this.rsrc = g.reverseSources();
+            this.metrics = metrics;
+            this.sequentialThreshold = Math.max(1, sequentialThreshold);
+            this.color = new int[n];
+            this.slot = new int[n];
+            this.index = new int[n];
+            this.low = new int[n];
+        }
+
+        @Override
+        protected void compute() {
+            int[] coreRange = trim();
+            int[] core = new int[coreRange[1] - coreRange[0]];
+            int k = 0;
+            for (int v = 0; v < n; v++) if (color[v] == 0) core[k++] = v;
+            if (k > 0) new Subproblem(this, core, k, 0, coreRange[0]).invoke();
+            result = toResult();
+        }
+
+        /**
+         * Trims vertices without active predecessors (ranked from the front, in removal order) or without active
+         * successors (ranked from the back). Returns the slot range [lo, hi) left for the core.
+         * <p>
+         * The vertices to remove form a FIFO queue; every vertex enters it at most once. Wide stretches of the
+         * queue are removed as one parallel round, narrow ones (e.g. along a chain) one vertex at a time. A round
+         * is sorted and its slots are handed out before any of it is removed, and the vertices it appends are
+         * sorted afterwards, so the queue, and every slot, is the same whatever order the tasks ran in.
+         */
+        private int[] trim() {
+            indeg = new int[n];
+            outdeg = new int[n];
+            int[] queue = new int[n];
+            int tail = 0;
+            for (int v = 0; v < n; v++) {
+                indeg[v] = roff[v + 1] - roff[v];
+                outdeg[v] = off[v + 1] - off[v];
+                if (indeg[v] == 0 || outdeg[v] == 0) {
+                    color[v] = QUEUED;
+                    queue[tail++] = v;
+                }
+            }
+            lo = 0;
+            hi = n;
+            int head = 0;
+            while (head < tail) {
+                if (tail - head > FRONTIER_GRAIN) {
+                    Arrays.sort(queue, head, tail);
+                    // A vertex is queued once its in- or out-degree is 0; with the degrees read before the round
+                    // starts, a round vertex only has removed predecessors (or successors) in earlier rounds
+                    for (int i = head; i < tail; i++) {
+                        int v = queue[i];
+                        slot[v] = indeg[v] == 0 ? lo++ : --hi;
+                    }
+                    AtomicInteger end = new AtomicInteger(tail);
+                    new TrimSlice(this, queue, head, tail, end).invoke();
+                    head = tail;
+                    tail = end.get();
+                    Arrays.sort(queue, head, tail);
+                } else {
+                    int v = queue[head++];
+                    slot[v] = indeg[v] == 0 ? lo++ : --hi;
+                    tail = trimVertex(v, queue, tail);
+                }
+            }
+            indeg = outdeg = null;
+            return new int[]{lo, hi};
+        }
+
+        /**
+         * Removes one queued vertex, whose slot is already set, and appends the neighbors it leaves without
+         * predecessors or successors to out, which must have room for the vertex's degree.
+         *
+         * @return the new length of out
+         */
+        int trimVertex(int v, int[] out, int count) {
+            color[v] = TRIMMED;
+            if (metrics != null) metrics.incDfsVisit();
+            // Front slots belong to sources, which release their successors; back slots to sinks
+            boolean source = slot[v] < hi;
+            int[] adjOff = source ? off : roff;
+            int[] adj = source ? tgt : rsrc;
+            int[] deg = source ? indeg : outdeg;
+            for (int j = adjOff[v]; j < adjOff[v + 1]; j++) {
+                if (metrics != null) metrics.incDfsEdge();
+                int w = adj[j];
+                if ((int) INTS.getAndAdd(deg, w, -1) == 1 && INTS.compareAndSet(color, w, 0, QUEUED)) out[count++] = w;
+            }
+            return count;
+        }
+
+        /**
+         * Degree of v in the direction trimVertex would follow, an upper bound on what it appends.
+         */
+        int trimDegree(int v) {
+            return Math.max(off[v + 1] - off[v], roff[v + 1] - roff[v]);
+        }
+
+        /**
+         * Numbers the components by their rank slots and groups the members.
+         */
+        private SCCResult toResult() {
+            int[] idOfSlot = new int[n];
+            for (int v = 0; v < n; v++) idOfSlot[slot[v]] = 1;
+            int count = 0;
+            for (int s = 0; s < n; s++) idOfSlot[s] = idOfSlot[s] == 1 ? count++ : -1;
+
+            int[] compIds = new int[n];
+            int[] size = new int[count + 1];
+            for (int v = 0; v < n; v++) {
+                compIds[v] = idOfSlot[slot[v]];
+                size[compIds[v] + 1]++;
+            }
+            for (int c = 0; c < count; c++) size[c + 1] += size[c];
+            int[] members = new int[n];
+            int[] fill = size.clone();
+            for (int v = 0; v < n; v++) members[fill[compIds[v]]++] = v;
+
+            List<List<Integer>> components = new ArrayList<>(count);
+            for (int c = 0; c < count; c++) {
+                List<Integer> comp = new ArrayList<>(size[c + 1] - size[c]);
+                for (int j = size[c]; j < size[c + 1]; j++) comp.add(members[j]);
+                components.add(comp);
+            }
+            return new SCCResult(compIds, components);
+        }
+    }
+
+    /**
+     * Removes one slice of a trim round and appends the vertices it leaves without predecessors or successors to
+     * the queue.
+     */
+    private static final class TrimSlice extends RecursiveAction {
+        private final Run run;
+        private final int[] queue;
+        private final int from;
+        private final int to;
+        private final AtomicInteger end;
+
+        TrimSlice(Run run, int[] queue, int from, int to, AtomicInteger end) {
+            this.run = run;
+            this.queue = queue;
+            this.from = from;
+            this.to = to;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > FRONTIER_GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TrimSlice(run, queue, from, mid, end), new TrimSlice(run, queue, mid, to, end));
+                return;
+            }
+            int[] local = new int[16];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int v = queue[i];
+                int need = count + run.trimDegree(v);
+                if (need > local.length) local = Arrays.copyOf(local, Math.max(need, local.length * 2));
+                count = run.trimVertex(v, local, count);
+            }
+            if (count > 0) System.arraycopy(local, 0, queue, end.getAndAdd(count), count);
+        }
+    }
+
+    /**
+     * One FW-BW subproblem: the vertices of one color, which own the rank slots [base, base + len).
+     */
+    private static final class Subproblem extends RecursiveAction {
+        private final Run run;
+        private final int[] verts;
+        private final int len;
+        private final int color;
+        private final int base;
+
+        Subproblem(Run run, int[] verts, int len, int color, int base) {
+            this.run = run;
+            this.verts = verts;
+            this.len = len;
+            this.color = color;
+            this.base = base;
+        }
+
+        @Override
+        protected void compute() {
+            if (len <= run.sequentialThreshold) {
+                tarjan();
+                return;
+            }
+            int pivot = verts[pivotIndex()];
+            int fw = run.nextColor.getAndAdd(3);
+            int scc = fw + 1;
+            int bw = fw + 2;
+
+            // Forward closure of the pivot, then the backward closure split into SCC and backward-only vertices
+            run.color[pivot] = fw;
+            reach(pivot, run.off, run.tgt, color, fw, -1, -1);
+            run.color[pivot] = scc;
+            reach(pivot, run.roff, run.rsrc, fw, scc, color, bw);
+
+            int nb = 0;
+            int nf = 0;
+            int ns = 0;
+            for (int i = 0; i < len; i++) {
+                int c = run.color[verts[i]];
+                if (c == scc) ns++;
+                else if (c == bw) nb++;
+                else if (c == fw) nf++;
+            }
+            int nr = len - nb - nf - ns;
+            int[] bwVerts = new int[nb];
+            int[] remVerts = new int[nr];
+            int[] fwVerts = new int[nf];
+            nb = nr = nf = 0;
+            // Topological layout of the slots: backward set, the pivot's SCC, the rest, forward set
+            int sccSlot = base + bwVerts.length;
+            for (int i = 0; i < len; i++) {
+                int v = verts[i];
+                int c = run.color[v];
+                if (c == scc) run.slot[v] = sccSlot;
+                else if (c == bw) bwVerts[nb++] = v;
+                else if (c == fw) fwVerts[nf++] = v;
+                else remVerts[nr++] = v;
+            }
+            List<Subproblem> parts = new ArrayList<>(3);
+            if (nb > 0) parts.add(new Subproblem(run, bwVerts, nb, bw, base));
+            if (nr > 0) parts.add(new Subproblem(run, remVerts, nr, color, base + nb + ns));
+            if (nf > 0) parts.add(new Subproblem(run, fwVerts, nf, fw, base + nb + ns + nr));
+            invokeAll(parts);
+        }
+
+        /**
+         * Picks the pivot position pseudo-randomly from the subproblem's slot range. A fixed position (e.g. the
+         * lowest vertex) degrades to quadratic time on chains of SCCs, since each step would only peel off one
+         * component; a random pivot splits them in expected halves. Seeding from the slot range rather than the
+         * color, which subproblems draw in scheduling order, keeps the result independent of thread scheduling.
+         */
+        private int pivotIndex() {
+            long h = (base * 0x9E3779B97F4A7C15L) ^ (len * 0xC2B2AE3D27D4EB4FL);
+            h ^= h >>> 29;
+            h *= 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 32;
+            return (int) Long.remainderUnsigned(h, len);
+        }
+
+        /**
+         * Breadth-first search from start over the given CSR arrays. A neighbor of color fromA is recolored toA,
+         * one of color fromB is recolored toB, and each recolored vertex is queued. Wide stretches of the queue are
+         * expanded as one parallel level, narrow ones one vertex at a time.
+         */
+        private void reach(int start, int[] adjOff, int[] adj, int fromA, int toA, int fromB, int toB) {
+            int[] queue = new int[len];
+            queue[0] = start;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                if (tail - head > FRONTIER_GRAIN) {
+                    AtomicInteger end = new AtomicInteger(tail);
+                    new Expand(run, adjOff, adj, queue, head, tail, end, fromA, toA, fromB, toB).invoke();
+                    head = tail;
+                    tail = end.get();
+                } else {
+                    tail = expand(run, adjOff, adj, queue[head++], queue, tail, fromA, toA, fromB, toB);
+                }
+            }
+        }
+
+        /**
+         * Sequential iterative Tarjan over the vertices of this subproblem. The k-th component found (reverse
+         * topological order) takes slot base + len - 1 - k.
+         */
+        private void tarjan() {
+            int[] off = run.off;
+            int[] tgt = run.tgt;
+            int[] index = run.index;
+            int[] low = run.low;
+            for (int i = 0; i < len; i++) index[verts[i]] = -1;
+            int[] callStack = new int[len];
+            int[] cursor = new int[len];
+            int[] sccStack = new int[len];
+            int sccTop = 0;
+            int counter = 0;
+            int found = 0;
+
+            for (int r = 0; r < len; r++) {
+                int root = verts[r];
+                if (index[root] != -1) continue;
+                if (run.metrics != null) run.metrics.incDfsVisit();
+                index[root] = low[root] = counter++;
+                sccStack[sccTop++] = root;
+                int sp = 0;
+                callStack[0] = root;
+                cursor[0] = off[root];
+
+                while (sp >= 0) {
+                    int v = callStack[sp];
+                    int i = cursor[sp];
+                    if (i < off[v + 1]) {
+                        cursor[sp] = i + 1;
+                        int w = tgt[i];
+                        if (run.color[w] != color) continue;
+                        if (run.metrics != null) run.metrics.incDfsEdge();
+                        if (index[w] == -1) {
+                            if (run.metrics != null) run.metrics.incDfsVisit();
+                            index[w] = low[w] = counter++;
+                            sccStack[sccTop++] = w;
+                            callStack[++sp] = w;
+                            cursor[sp] = off[w];
+                        } else if (index[w] < low[v]) {
+                            // Same color and already indexed: still on the SCC stack
+                            low[v] = index[w];
+                        }
+                        continue;
+                    }
+
+                    if (low[v] == index[v]) {
+                        int s = base + len - 1 - found++;
+                        int w;
+                        do {
+                            w = sccStack[--sccTop];
+                            run.color[w] = DONE;
+                            run.slot[w] = s;
+                        } while (w != v);
+                    }
+                    sp--;
+                    if (sp >= 0) {
+                        int parent = callStack[sp];
+                        if (low[v] < low[parent]) low[parent] = low[v];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Recolors the matching neighbors of v (see {@link Subproblem#reach}) and appends them to out, which must have
+     * room for v's degree.
+     *
+     * @return the new length of out
+     */
+    private static int expand(Run run, int[] adjOff, int[] adj, int v, int[] out, int count,
+                              int fromA, int toA, int fromB, int toB) {
+        for (int j = adjOff[v]; j < adjOff[v + 1]; j++) {
+            if (run.metrics != null) run.metrics.incDfsEdge();
+            int w = adj[j];
+            int c = (int) INTS.getOpaque(run.color, w);
+            boolean claimed = (c == fromA && INTS.compareAndSet(run.color, w, fromA, toA))
+                    || (fromB >= 0 && c == fromB && INTS.compareAndSet(run.color, w, fromB, toB));
+            if (!claimed) continue;
+            if (run.metrics != null) run.metrics.incDfsVisit();
+            out[count++] = w;
+        }
+        return count;
+    }
+
+    /**
+     * Expands one slice of a breadth-first level and appends the vertices it claims to the queue.
+     */
+    private static final class Expand extends RecursiveAction {
+        private final Run run;
+        private final int[] adjOff;
+        private final int[] adj;
+        private final int[] queue;
+        private final int from;
+        private final int to;
+        private final AtomicInteger end;
+        private final int fromA;
+        private final int toA;
+        private final int fromB;
+        private final int toB;
+
+        Expand(Run run, int[] adjOff, int[] adj, int[] queue, int from, int to, AtomicInteger end,
+               int fromA, int toA, int fromB, int toB) {
+            this.run = run;
+            this.adjOff = adjOff;
+            this.adj = adj;
+            this.queue = queue;
+            this.from = from;
+            this.to = to;
+            this.end = end;
+            this.fromA = fromA;
+            this.toA = toA;
+            this.fromB = fromB;
+            this.toB = toB;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > FRONTIER_GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Expand(run, adjOff, adj, queue, from, mid, end, fromA, toA, fromB, toB),
+                        new Expand(run, adjOff, adj, queue, mid, to, end, fromA, toA, fromB, toB));
+                return;
+            }
+            int[] local = new int[16];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int v = queue[i];
+                int need = count + adjOff[v + 1] - adjOff[v];
+                if (need > local.length) local = Arrays.copyOf(local, Math.max(need, local.length * 2));
+                count = expand(run, adjOff, adj, v, local, count, fromA, toA, fromB, toB);
+            }
+            if (count > 0) System.arraycopy(local, 0, queue, end.getAndAdd(count), count);
+        }
+    }
+}
@@ -46,4 +46,14 @@ public class SCCResult {
     public int componentCount() {
         return components.size();
     }
+
+    /**
+     * Estimates the memory held by this result in bytes: the id array, the component lists and their boxed
+     * elements.
+     *
+     * @return the estimated size
+     */
+    public long estimatedBytes() {
+        return 16L + 4L * componentIds.length + 40L * components.size() + 20L * componentIds.length;
+    }
 }
@@ -0,0 +1,33 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.AnalysisCache;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+/**
+ * Common interface for strongly connected components (SCC) algorithms.
+ */
+public interface SccAlgorithm {
+    /**
+     * Computes the SCCs of a graph.
+     *
+     * @param g       the graph
+     * @param metrics optional metrics collector
+     * @return the SCCResult containing component assignments and lists
+     */
+    SCCResult compute(Graph g, Metrics metrics);
+
+    /**
+     * Returns the SCCs of a graph from its analysis cache, computing them with this algorithm on first use.
+     * The result is shared and must not be modified.
+     *
+     * @param g       the graph
+     * @param metrics optional metrics collector, credited with the counts of the computation
+     * @return the SCCResult containing component assignments and lists
+     */
+    default SCCResult computeCached(Graph g, Metrics metrics) {
+        AnalysisCache.Key<SCCResult> key = new AnalysisCache.Key<>("scc:" + getClass().getName() + "#" + this,
+                this::compute, SCCResult::estimatedBytes);
+        return g.analysis().get(key, metrics);
+    }
+}
@@ -0,0 +1,72 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.util.Locale;
+
+/**
+ * The available SCC algorithms, selectable by name.
+ */
+public enum SccEngine implements SccAlgorithm {
+    /**
+     * Kosaraju's two-pass algorithm (uses the reverse graph).
+     */
+    KOSARAJU {
+        @Override
+        public SCCResult compute(Graph g, Metrics metrics) {
+            return KosarajuSCC.computeSCC(g, metrics);
+        }
+    },
+    /**
+     * Tarjan's single-pass low-link algorithm.
+     */
+    TARJAN {
+        @Override
+        public SCCResult compute(Graph g, Metrics metrics) {
+            return TarjanSCC.computeSCC(g, metrics);
+        }
+    },
+    /**
+     * Gabow's single-pass path-based algorithm.
+     */
+    GABOW {
+        @Override
+        public SCCResult compute(Graph g, Metrics metrics) {
+            return GabowSCC.computeSCC(g, metrics);
+        }
+    },
+    /**
+     * Forward-backward decomposition with trimming on the common fork-join pool.
+     */
+    PARALLEL {
+        @Override
+        public SCCResult compute(Graph g, Metrics metrics) {
+            return ParallelSCC.computeSCC(g, metrics);
+        }
+    };
+
+    /**
+     * Looks up an engine by its case-insensitive name.
+     *
+     * @param name the engine name, e.g. "tarjan"
+     * @return the engine
+     * @throws IllegalArgumentException if no engine has that name
+     */
+    public static SccEngine fromName(String name) {
+        if (name == null) throw new IllegalArgumentException("engine name is null");
+        for (SccEngine e : values()) {
+            if (e.name().equalsIgnoreCase(name.trim())) return e;
+        }
+        throw new IllegalArgumentException("unknown SCC engine: " + name);
+    }
+
+    /**
+     * Returns the lower-case engine name used in reports.
+     *
+     * @return the report name
+     */
+    public String reportName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
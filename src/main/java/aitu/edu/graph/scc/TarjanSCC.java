@@ -0,0 +1,129 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implements Tarjan's single-pass algorithm to find strongly connected components (SCCs).
+ * <p>
+ * Unlike Kosaraju, it needs no reverse graph. The DFS runs on an explicit stack, so deep graphs do not
+ * overflow the thread stack. Component ids are numbered in topological order of the condensation, as with
+ * {@link KosarajuSCC}.
+ */
+public class TarjanSCC {
+
+    /**
+     * Computes SCCs from a Graph object.
+     *
+     * @param g the graph
+     * @return the SCCResult containing component assignments and lists
+     */
+    public static SCCResult computeSCC(Graph g) {
+        return computeSCC(g, null);
+    }
+
+    /**
+     * Computes SCCs from a Graph object, with optional metrics.
+     *
+     * @param g       the graph
+     * @param metrics optional metrics collector
+     * @return the SCCResult containing component assignments and lists
+     */
+    public static SCCResult computeSCC(Graph g, Metrics metrics) {
+        int n = g.nodeCount();
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+
+        int[] index = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(index, -1);
+        int[] compIds = new int[n];
+        Arrays.fill(compIds, -1);
+
+        int[] callStack = new int[Math.max(1, n)];
+        int[] cursor = new int[Math.max(1, n)];
+        int[] sccStack = new int[Math.max(1, n)];
+        int[] members = new int[n]; // nodes grouped by component, in completion order
+        int[] compStart = new int[n + 1];
+        int sccTop = 0;
+        int assigned = 0;
+        int counter = 0;
+        int compCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) continue;
+            if (metrics != null) metrics.incDfsVisit();
+            index[root] = low[root] = counter++;
+            sccStack[sccTop++] = root;
+            int sp = 0;
+            callStack[0] = root;
+            cursor[0] = off[root];
+
+            while (sp >= 0) {
+                int v = callStack[sp];
+                int i = cursor[sp];
+                if (i < off[v + 1]) {
+                    cursor[sp] = i + 1;
+                    if (metrics != null) metrics.incDfsEdge();
+                    int w = tgt[i];
+                    if (index[w] == -1) {
+                        // Tree edge: descend
+                        if (metrics != null) metrics.incDfsVisit();
+                        index[w] = low[w] = counter++;
+                        sccStack[sccTop++] = w;
+                        callStack[++sp] = w;
+                        cursor[sp] = off[w];
+                    } else if (compIds[w] == -1 && index[w] < low[v]) {
+                        // w is still on the SCC stack
+                        low[v] = index[w];
+                    }
+                    continue;
+                }
+
+                // v is finished: pop its component if it is a root
+                if (low[v] == index[v]) {
+                    compStart[compCount] = assigned;
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        compIds[w] = compCount;
+                        members[assigned++] = w;
+                    } while (w != v);
+                    compCount++;
+                }
+                sp--;
+                if (sp >= 0) {
+                    int parent = callStack[sp];
+                    if (low[v] < low[parent]) low[parent] = low[v];
+                }
+            }
+        }
+        compStart[compCount] = assigned;
+        return toResult(compIds, members, compStart, compCount);
+    }
+
+    /**
+     * Builds an SCCResult from components discovered in reverse topological order, renumbering them so
+     * that ids follow the topological order of the condensation.
+     *
+     * @param compIds   component id per node, in discovery numbering; rewritten in place
+     * @param members   nodes grouped by component
+     * @param compStart start of each component's group in members, with a trailing end entry
+     * @param compCount the number of components
+     * @return the SCCResult
+     */
+    static SCCResult toResult(int[] compIds, int[] members, int[] compStart, int compCount) {
+        for (int v = 0; v < compIds.length; v++) compIds[v] = compCount - 1 - compIds[v];
+        List<List<Integer>> components = new ArrayList<>(compCount);
+        for (int c = compCount - 1; c >= 0; c--) {
+            List<Integer> comp = new ArrayList<>(compStart[c + 1] - compStart[c]);
+            for (int j = compStart[c]; j < compStart[c + 1]; j++) comp.add(members[j]);
+            components.add(comp);
+        }
+        return new SCCResult(compIds, components);
+    }
+}
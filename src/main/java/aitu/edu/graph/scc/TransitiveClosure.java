@@ -0,0 +1,318 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.topo.LevelOrder;
+import aitu.edu.graph.topo.ParallelKahnSort;
+import aitu.edu.graph.util.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The transitive closure of a DAG, typically a condensation, as one bitset row per node, answering {@link
+ * #reaches(int, int)} in constant time.
+ * <p>
+ * Bits are indexed by topological rank rather than node id. A node only reaches nodes ranked after it, and what
+ * it reaches tends to cluster in rank, so each row only stores the words between its first and last non-zero
+ * word; rows are packed into one {@code long[]}. Rows are built in reverse topological order: a node's row is
+ * the word-by-word OR of its successors' rows plus the successors themselves. The parallel version walks the
+ * levels of {@link ParallelKahnSort} from the last, building each level's rows in parallel slices; successors
+ * always lie on later levels, so every row only reads finished ones.
+ * <p>
+ * Reachability is strict: a node reaches another if a path of at least one edge leads there, so in a DAG no
+ * node reaches itself.
+ */
+public class TransitiveClosure {
+    /** Vertex slices up to this many vertices are handled by one task. */
+    private static final int GRAIN = 1024;
+    /** Largest number of words the packed rows may take. */
+    static final long MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private final int n;
+    /** Topological rank of each node, and the node at each rank. */
+    private final int[] rank;
+    private final int[] order;
+    /** First and last stored word of each node's row; lo > hi for an empty row. */
+    private final int[] lo;
+    private final int[] hi;
+    private final int[] base;
+    private final long[] words;
+
+    private TransitiveClosure(int n, int[] rank, int[] order, int[] lo, int[] hi, int[] base, long[] words) {
+        this.n = n;
+        this.rank = rank;
+        this.order = order;
+        this.lo = lo;
+        this.hi = hi;
+        this.base = base;
+        this.words = words;
+    }
+
+    /**
+     * Computes the closure of a DAG, building the rows on the calling thread.
+     *
+     * @param g the graph, which must be acyclic
+     * @return the closure
+     * @throws IllegalArgumentException if the graph is null or has a cycle, or the rows would not fit in an array
+     */
+    public static TransitiveClosure of(Graph g) {
+        return compute(g, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Computes the closure of a condensation, building the rows on the calling thread.
+     *
+     * @param c the condensation
+     * @return the closure, over component ids
+     */
+    public static TransitiveClosure of(CondensationCsr c) {
+        if (c == null) throw new IllegalArgumentException("condensation is null");
+        return of(c.toGraph());
+    }
+
+    /**
+     * Computes the closure of a DAG level by level on the common fork-join pool.
+     *
+     * @param g the graph, which must be acyclic
+     * @return the closure
+     * @throws IllegalArgumentException if the graph is null or has a cycle, or the rows would not fit in an array
+     */
+    public static TransitiveClosure ofParallel(Graph g) {
+        return ofParallel(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the closure of a DAG level by level on the given fork-join pool.
+     *
+     * @param g    the graph, which must be acyclic
+     * @param pool the pool running the tasks
+     * @return the closure
+     * @throws IllegalArgumentException if the graph is null or has a cycle, or the rows would not fit in an array
+     */
+    public static TransitiveClosure ofParallel(Graph g, ForkJoinPool pool) {
+        // A single thread gains nothing from forking
+        return compute(g, pool, pool.getParallelism() == 1 ? Integer.MAX_VALUE : GRAIN);
+    }
+
+    /**
+     * Computes with an explicit slice size, so tests can exercise the parallel steps on small graphs. Without a
+     * pool the rows are built on the calling thread.
+     */
+    static TransitiveClosure compute(Graph g, ForkJoinPool pool, int grain) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        LevelOrder levels = ParallelKahnSort.sort(g, null, pool == null ? ForkJoinPool.commonPool() : pool);
+        if (!levels.isAcyclic()) {
+            throw new IllegalArgumentException("graph has a cycle through " + levels.blockedVertices().length + " nodes");
+        }
+        Run run = new Run(g, levels, Math.max(1, grain));
+        if (pool == null) run.compute();
+        else pool.invoke(run);
+        return new TransitiveClosure(g.nodeCount(), run.rank, run.order, run.lo, run.hi, run.base, run.words);
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the node count
+     */
+    public int nodeCount() {
+        return n;
+    }
+
+    /**
+     * Returns whether a path of at least one edge leads from u to v.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return true if u reaches v
+     */
+    public boolean reaches(int u, int v) {
+        check(u);
+        check(v);
+        int r = rank[v];
+        int w = r >>> 6;
+        if (w < lo[u] || w > hi[u]) return false;
+        return (words[base[u] + w - lo[u]] & (1L << r)) != 0;
+    }
+
+    /**
+     * Returns the number of nodes a node reaches.
+     *
+     * @param u the node
+     * @return the size of its closure row
+     */
+    public int reachableCount(int u) {
+        check(u);
+        int count = 0;
+        for (int w = lo[u]; w <= hi[u]; w++) count += Long.bitCount(words[base[u] + w - lo[u]]);
+        return count;
+    }
+
+    /**
+     * Returns the nodes a node reaches.
+     *
+     * @param u the node
+     * @return the reached nodes in ascending order
+     */
+    public int[] reachable(int u) {
+        int[] out = new int[reachableCount(u)];
+        int k = 0;
+        for (int w = lo[u]; w <= hi[u]; w++) {
+            long bits = words[base[u] + w - lo[u]];
+            while (bits != 0) {
+                out[k++] = order[(w << 6) + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+            }
+        }
+        Arrays.sort(out);
+        return out;
+    }
+
+    /**
+     * Estimates the memory held by the closure.
+     *
+     * @return the estimated size in bytes
+     */
+    public long memoryBytes() {
+        return 8L * words.length + 5 * (16L + 4L * n);
+    }
+
+    /**
+     * ORs the row of u into a dense bitset indexed by rank.
+     *
+     * @return the last word index touched, or -1 if the row is empty
+     */
+    int orRowInto(long[] dense, int u) {
+        for (int w = lo[u]; w <= hi[u]; w++) dense[w] |= words[base[u] + w - lo[u]];
+        return hi[u];
+    }
+
+    /**
+     * Returns the topological rank of a node, which indexes its bit.
+     */
+    int rankOf(int v) {
+        return rank[v];
+    }
+
+    private void check(int v) {
+        if (v < 0 || v >= n) throw new IllegalArgumentException("node out of range: " + v);
+    }
+
+    /**
+     * The state shared by all tasks of one computation.
+     */
+    private static final class Run extends RecursiveAction {
+        final int[] off;
+        final int[] tgt;
+        final int grain;
+        final int[] order;
+        final int[] levelStart;
+        final int[] rank;
+        final int[] lo;
+        final int[] hi;
+        int[] base;
+        long[] words;
+
+        Run(Graph g, LevelOrder levels, int grain) {
+            this.off = g.offsets();
+            this.tgt = g.targets();
+            this.grain = grain;
+            this.order = levels.order();
+            this.levelStart = levels.levelOffsets();
+            int n = order.length;
+            this.rank = new int[n];
+            for (int i = 0; i < n; i++) rank[order[i]] = i;
+            this.lo = new int[n];
+            this.hi = new int[n];
+        }
+
+        @Override
+        protected void compute() {
+            // First the row ranges, so the packed array can be allocated once, then the rows themselves
+            int depth = levelStart.length - 1;
+            for (int k = depth - 1; k >= 0; k--) pass(levelStart[k], levelStart[k + 1], false);
+            int n = order.length;
+            base = new int[n];
+            long total = 0;
+            for (int v = 0; v < n; v++) {
+                base[v] = (int) total;
+                total += Math.max(0, hi[v] - lo[v] + 1);
+                if (total > MAX_WORDS) {
+                    throw new IllegalArgumentException("closure of " + n + " nodes needs more than " + MAX_WORDS + " words");
+                }
+            }
+            words = new long[(int) total];
+            for (int k = depth - 1; k >= 0; k--) pass(levelStart[k], levelStart[k + 1], true);
+        }
+
+        private void pass(int from, int to, boolean fill) {
+            if (to - from > grain) new Slice(this, from, to, fill).invoke();
+            else if (fill) fill(from, to);
+            else ranges(from, to);
+        }
+
+        /**
+         * Sets the row ranges of the vertices at order positions [from, to).
+         */
+        void ranges(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int v = order[i];
+                int first = Integer.MAX_VALUE;
+                int last = -1;
+                for (int j = off[v]; j < off[v + 1]; j++) {
+                    int w = tgt[j];
+                    int word = rank[w] >>> 6;
+                    first = Math.min(first, Math.min(word, lo[w]));
+                    last = Math.max(last, Math.max(word, hi[w]));
+                }
+                lo[v] = first;
+                hi[v] = last;
+            }
+        }
+
+        /**
+         * Builds the rows of the vertices at order positions [from, to).
+         */
+        void fill(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int v = order[i];
+                int at = base[v] - lo[v];
+                for (int j = off[v]; j < off[v + 1]; j++) {
+                    int w = tgt[j];
+                    int r = rank[w];
+                    words[at + (r >>> 6)] |= 1L << r;
+                    int src = base[w] - lo[w];
+                    for (int x = lo[w]; x <= hi[w]; x++) words[at + x] |= words[src + x];
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one pass over one slice of a level.
+     */
+    private static final class Slice extends RecursiveAction {
+        private final Run run;
+        private final int from;
+        private final int to;
+        private final boolean fill;
+
+        Slice(Run run, int from, int to, boolean fill) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+            this.fill = fill;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > run.grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Slice(run, from, mid, fill), new Slice(run, mid, to, fill));
+                return;
+            }
+            if (fill) run.fill(from, to);
+            else run.ranges(from, to);
+        }
+    }
+}
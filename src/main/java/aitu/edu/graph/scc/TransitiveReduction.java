@@ -0,0 +1,124 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Computes the transitive reduction of a DAG, typically a condensation: the fewest edges with the same
+ * reachability, which in a DAG is unique.
+ * <p>
+ * An edge u -> v is redundant exactly when v is reachable from another successor of u. Such a successor is ranked
+ * before v in topological order, so each node's successors are visited by ascending rank while the closure rows
+ * of the ones already visited are ORed into a scratch bitset; a successor whose bit is already set is dropped.
+ * Parallel edges keep their first copy. The surviving edges keep their original relative order.
+ */
+public class TransitiveReduction {
+
+    /**
+     * Reduces a DAG, computing its closure first.
+     *
+     * @param g the graph, which must be acyclic
+     * @return a graph with the same nodes and durations and only the non-redundant edges
+     * @throws IllegalArgumentException if the graph is null or has a cycle
+     */
+    public static Graph reduce(Graph g) {
+        return reduce(g, TransitiveClosure.of(g));
+    }
+
+    /**
+     * Reduces a DAG with an already computed closure.
+     *
+     * @param g       the graph, which must be acyclic
+     * @param closure the closure of the graph
+     * @return a graph with the same nodes and durations and only the non-redundant edges
+     */
+    public static Graph reduce(Graph g, TransitiveClosure closure) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        int n = g.nodeCount();
+        int[] off = g.offsets();
+        boolean[] keep = keptEdges(n, off, g.targets(), closure);
+        int[] newOff = new int[n + 1];
+        int[] newTgt = compact(n, off, g.targets(), keep, newOff);
+        BitSet hasDuration = new BitSet(n);
+        for (int v = 0; v < n; v++) if (g.durationOf(v).isPresent()) hasDuration.set(v);
+        return Graph.fromCsr(n, newOff, newTgt, g.durationArray().clone(), hasDuration);
+    }
+
+    /**
+     * Reduces a condensation. Multiplicities and weights, if kept, stay with the surviving edges.
+     *
+     * @param c the condensation
+     * @return the reduced condensation
+     */
+    public static CondensationCsr reduce(CondensationCsr c) {
+        if (c == null) throw new IllegalArgumentException("condensation is null");
+        int k = c.componentCount();
+        int[] off = c.offsets();
+        int[] tgt = c.targets();
+        boolean[] keep = keptEdges(k, off, tgt, TransitiveClosure.of(c));
+        int[] newOff = new int[k + 1];
+        int[] newTgt = compact(k, off, tgt, keep, newOff);
+        if (!c.hasEdgeStats()) return new CondensationCsr(k, newOff, newTgt, null, null, null);
+        int[] mult = new int[newTgt.length];
+        long[] min = new long[newTgt.length];
+        long[] max = new long[newTgt.length];
+        for (int i = 0, j = 0; i < tgt.length; i++) {
+            if (!keep[i]) continue;
+            mult[j] = c.multiplicities()[i];
+            min[j] = c.minWeights()[i];
+            max[j] = c.maxWeights()[i];
+            j++;
+        }
+        return new CondensationCsr(k, newOff, newTgt, mult, min, max);
+    }
+
+    private static boolean[] keptEdges(int n, int[] off, int[] tgt, TransitiveClosure closure) {
+        if (closure == null) throw new IllegalArgumentException("closure is null");
+        if (closure.nodeCount() != n) throw new IllegalArgumentException("closure is for another graph");
+        boolean[] keep = new boolean[tgt.length];
+        long[] covered = new long[(n + 63) >>> 6];
+        long[] keyed = new long[16];
+        for (int u = 0; u < n; u++) {
+            int deg = off[u + 1] - off[u];
+            if (deg == 0) continue;
+            if (deg == 1) {
+                keep[off[u]] = true;
+                continue;
+            }
+            // Sort the successors by rank, remembering their edge index
+            if (keyed.length < deg) keyed = new long[Math.max(deg, keyed.length * 2)];
+            for (int i = 0; i < deg; i++) {
+                keyed[i] = ((long) closure.rankOf(tgt[off[u] + i]) << 32) | i;
+            }
+            Arrays.sort(keyed, 0, deg);
+            int last = -1;
+            for (int i = 0; i < deg; i++) {
+                int edge = off[u] + (int) keyed[i];
+                int v = tgt[edge];
+                int r = closure.rankOf(v);
+                long bit = 1L << r;
+                if ((covered[r >>> 6] & bit) != 0) continue;
+                keep[edge] = true;
+                covered[r >>> 6] |= bit;
+                last = Math.max(last, Math.max(r >>> 6, closure.orRowInto(covered, v)));
+            }
+            // Successors are ranked after u, so only words from u's own rank on were touched
+            Arrays.fill(covered, closure.rankOf(u) >>> 6, last + 1, 0L);
+        }
+        return keep;
+    }
+
+    private static int[] compact(int n, int[] off, int[] tgt, boolean[] keep, int[] newOff) {
+        int kept = 0;
+        for (boolean b : keep) if (b) kept++;
+        int[] newTgt = new int[kept];
+        int j = 0;
+        for (int u = 0; u < n; u++) {
+            for (int i = off[u]; i < off[u + 1]; i++) if (keep[i]) newTgt[j++] = tgt[i];
+            newOff[u + 1] = j;
+        }
+        return newTgt;
+    }
+}
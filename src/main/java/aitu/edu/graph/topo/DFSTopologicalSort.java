@@ -1,15 +1,20 @@
 package aitu.edu.graph.topo;
 
+import aitu.edu.graph.util.AnalysisCache;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.IterativeDfs;
 import aitu.edu.graph.util.Metrics;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Performs topological sorting using depth-first search (DFS).
  */
 public class DFSTopologicalSort {
+    private static final AnalysisCache.Key<int[]> ORDER = new AnalysisCache.Key<>("dfs-topological-order",
+            DFSTopologicalSort::topologicalOrderArray, AnalysisCache.Key::intArrayBytes);
+
     /**
      * Computes the topological order of the graph.
      *
@@ -19,37 +24,73 @@ public class DFSTopologicalSort {
      */
     public static List<Integer> topologicalOrder(List<List<Integer>> adj, Metrics metrics) {
         int n = adj == null ? 0 : adj.size();
-        boolean[] visited = new boolean[n];
-        List<Integer> order = new ArrayList<>(n);
-        // Perform DFS from each unvisited node
+        // Flatten the adjacency list into CSR arrays for the iterative DFS
+        int[] off = new int[n + 1];
         for (int i = 0; i < n; i++) {
-            if (!visited[i]) dfs(i, adj, visited, order, metrics);
+            List<Integer> nbrs = adj.get(i);
+            off[i + 1] = off[i] + (nbrs == null ? 0 : nbrs.size());
         }
-        // Reverse to get topological order
-        Collections.reverse(order);
-        return order;
+        int[] tgt = new int[off[n]];
+        for (int i = 0; i < n; i++) {
+            List<Integer> nbrs = adj.get(i);
+            if (nbrs == null) continue;
+            int pos = off[i];
+            for (int to : nbrs) tgt[pos++] = to;
+        }
+
+        int[] order = order(n, off, tgt, metrics);
+        List<Integer> out = new ArrayList<>(n);
+        for (int v : order) out.add(v);
+        return out;
     }
 
     /**
-     * DFS helper to visit nodes and record post-order.
+     * Computes the topological order of a graph directly on its CSR arrays.
      *
-     * @param v       current node
-     * @param adj     adjacency list
-     * @param visited visited array
-     * @param order   list to store post-order
+     * @param g       the graph
+     * @param metrics optional metrics collector
+     * @return the nodes in topological order
+     */
+    public static int[] topologicalOrderArray(Graph g, Metrics metrics) {
+        return order(g.nodeCount(), g.offsets(), g.targets(), metrics);
+    }
+
+    /**
+     * Returns the topological order of a graph from its analysis cache, computing it on first use. The array is
+     * shared and must not be modified.
+     *
+     * @param g       the graph
+     * @param metrics optional metrics collector, credited with the counts of the DFS
+     * @return the nodes in topological order
+     */
+    public static int[] cachedOrder(Graph g, Metrics metrics) {
+        return g.analysis().get(ORDER, metrics);
+    }
+
+    /**
+     * Runs the DFS from each unvisited node and returns the reversed post-order.
+     *
+     * @param n       the number of nodes
+     * @param off     CSR offsets
+     * @param tgt     CSR targets
      * @param metrics optional metrics
+     * @return the nodes in topological order
      */
-    private static void dfs(int v, List<List<Integer>> adj, boolean[] visited, List<Integer> order, Metrics metrics) {
-        if (metrics != null) metrics.incDfsVisit();
-        visited[v] = true;
-        List<Integer> nbrs = adj.get(v);
-        if (nbrs != null) {
-            for (int to : nbrs) {
-                if (metrics != null) metrics.incDfsEdge();
-                if (!visited[to]) dfs(to, adj, visited, order, metrics);
-            }
+    private static int[] order(int n, int[] off, int[] tgt, Metrics metrics) {
+        IterativeDfs dfs = new IterativeDfs(n);
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        int len = 0;
+        // Perform DFS from each unvisited node
+        for (int i = 0; i < n; i++) {
+            if (!visited[i]) len = dfs.postOrder(i, off, tgt, visited, order, len, metrics);
         }
-        // Record in post-order
-        order.add(v);
+        // Reverse post-order in place to get topological order
+        for (int i = 0, j = len - 1; i < j; i++, j--) {
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return order;
     }
 }
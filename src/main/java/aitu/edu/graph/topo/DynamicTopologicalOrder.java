@@ -0,0 +1,285 @@
+package aitu.edu.graph.topo;
+
+import aitu.edu.graph.util.DynamicAdjacency;
+import aitu.edu.graph.util.Graph;
+
+import java.util.Arrays;
+
+/**
+ * A DAG that keeps a topological order up to date while edges are inserted, with the Pearce–Kelly algorithm.
+ * <p>
+ * Every node has a position in the order. An edge u -> v that already points forward (u before v) needs no
+ * work. Otherwise only the nodes positioned between v and u can be affected: a forward search from v and a
+ * backward search from u, both confined to that range, find the nodes that must move. If the forward search
+ * reaches u the edge would close a cycle, and it is rejected without changing anything. Otherwise the backward
+ * set is placed before the forward set, reusing the positions they held, so each insertion costs time in the size
+ * of the affected region rather than of the graph.
+ * <p>
+ * Removing an edge never invalidates the order. This class is not thread-safe.
+ */
+public class DynamicTopologicalOrder {
+    private final DynamicAdjacency adj;
+    /** Position of each node in the order. */
+    private int[] pos;
+    /** Node at each position. */
+    private int[] node;
+
+    // Search state, reused across insertions; a node is marked when mark[v] == epoch
+    private int[] mark;
+    private int epoch;
+    private int[] stack = new int[16];
+    private int[] forward = new int[16];
+    private int[] backward = new int[16];
+    private int forwardLen;
+    private int backwardLen;
+
+    /**
+     * Creates an empty DAG with the given number of nodes, ordered by id.
+     *
+     * @param n the number of nodes
+     */
+    public DynamicTopologicalOrder(int n) {
+        this(new DynamicAdjacency(n), identity(n));
+    }
+
+    /**
+     * Creates a dynamic DAG from a graph.
+     *
+     * @param g the graph, which must be acyclic
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public DynamicTopologicalOrder(Graph g) {
+        this(DynamicAdjacency.fromGraph(g), initialOrder(g));
+    }
+
+    private DynamicTopologicalOrder(DynamicAdjacency adj, int[] order) {
+        this.adj = adj;
+        int n = adj.nodeCount();
+        this.node = order;
+        this.pos = new int[n];
+        for (int i = 0; i < n; i++) pos[order[i]] = i;
+        this.mark = new int[n];
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[Math.max(0, n)];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        return order;
+    }
+
+    private static int[] initialOrder(Graph g) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        LevelOrder levels = ParallelKahnSort.sort(g);
+        if (!levels.isAcyclic()) {
+            throw new IllegalArgumentException("graph has a cycle through " + levels.blockedVertices().length + " nodes");
+        }
+        return levels.order();
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the node count
+     */
+    public int nodeCount() {
+        return adj.nodeCount();
+    }
+
+    /**
+     * Returns the number of edges.
+     *
+     * @return the edge count
+     */
+    public int edgeCount() {
+        return adj.edgeCount();
+    }
+
+    /**
+     * Returns the underlying graph. Edges may be removed from it directly, which keeps the order valid, but must
+     * only be added through {@link #addEdge(int, int)}.
+     *
+     * @return the adjacency
+     */
+    public DynamicAdjacency adjacency() {
+        return adj;
+    }
+
+    /**
+     * Adds a node without edges at the end of the order.
+     *
+     * @return the id of the new node
+     */
+    public int addNode() {
+        int v = adj.addNode();
+        int n = adj.nodeCount();
+        if (n > node.length) {
+            int cap = Math.max(n, node.length + (node.length >> 1) + 1);
+            node = Arrays.copyOf(node, cap);
+            pos = Arrays.copyOf(pos, cap);
+            mark = Arrays.copyOf(mark, cap);
+        }
+        node[v] = v;
+        pos[v] = v;
+        mark[v] = 0;
+        return v;
+    }
+
+    /**
+     * Adds the edge u -> v unless it would create a cycle, reordering the affected nodes if needed.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return true if the edge was added, false if it was rejected because v reaches u
+     */
+    public boolean addEdge(int u, int v) {
+        check(u);
+        check(v);
+        if (u == v) return false;
+        int lb = pos[v];
+        int ub = pos[u];
+        if (lb > ub) {
+            adj.addEdge(u, v);
+            return true;
+        }
+        nextEpoch();
+        if (!searchForward(v, u, ub)) return false;
+        searchBackward(u, lb);
+        reorder();
+        adj.addEdge(u, v);
+        return true;
+    }
+
+    /**
+     * Removes one edge u -> v. The current order stays valid.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return false if there was no such edge
+     */
+    public boolean removeEdge(int u, int v) {
+        return adj.removeEdge(u, v);
+    }
+
+    /**
+     * Returns the current topological order.
+     *
+     * @return a copy of the order
+     */
+    public int[] order() {
+        return Arrays.copyOf(node, adj.nodeCount());
+    }
+
+    /**
+     * Returns the position of a node in the current order.
+     *
+     * @param v the node
+     * @return its position
+     */
+    public int position(int v) {
+        check(v);
+        return pos[v];
+    }
+
+    /**
+     * Returns whether u comes before v in the current order. Every edge points from an earlier to a later node.
+     *
+     * @param u a node
+     * @param v a node
+     * @return true if u is ordered before v
+     */
+    public boolean precedes(int u, int v) {
+        return position(u) < position(v);
+    }
+
+    private void check(int v) {
+        if (v < 0 || v >= adj.nodeCount()) throw new IllegalArgumentException("node out of range: " + v);
+    }
+
+    private void nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Collects the nodes reachable from v among those at positions up to ub. Returns false, leaving nothing
+     * changed, if the target is reached.
+     */
+    private boolean searchForward(int v, int target, int ub) {
+        forwardLen = 0;
+        int sp = 0;
+        mark[v] = epoch;
+        stack = push(stack, sp++, v);
+        while (sp > 0) {
+            int x = stack[--sp];
+            forward = push(forward, forwardLen++, x);
+            int[] row = adj.successors(x);
+            for (int i = adj.outDegree(x) - 1; i >= 0; i--) {
+                int y = row[i];
+                if (y == target) return false;
+                if (mark[y] != epoch && pos[y] < ub) {
+                    mark[y] = epoch;
+                    stack = push(stack, sp++, y);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the nodes that reach u among those at positions from lb on. The forward set cannot be met: a
+     * node in both would put u on a path from v, which the forward search has ruled out.
+     */
+    private void searchBackward(int u, int lb) {
+        backwardLen = 0;
+        int sp = 0;
+        mark[u] = epoch;
+        stack = push(stack, sp++, u);
+        while (sp > 0) {
+            int x = stack[--sp];
+            backward = push(backward, backwardLen++, x);
+            int[] row = adj.predecessors(x);
+            for (int i = adj.inDegree(x) - 1; i >= 0; i--) {
+                int y = row[i];
+                if (mark[y] != epoch && pos[y] > lb) {
+                    mark[y] = epoch;
+                    stack = push(stack, sp++, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the backward set before the forward set, each keeping its internal order, into the positions the
+     * two sets occupied.
+     */
+    private void reorder() {
+        sortByPosition(backward, backwardLen);
+        sortByPosition(forward, forwardLen);
+        int total = backwardLen + forwardLen;
+        int[] slots = new int[total];
+        for (int i = 0; i < backwardLen; i++) slots[i] = pos[backward[i]];
+        for (int i = 0; i < forwardLen; i++) slots[backwardLen + i] = pos[forward[i]];
+        Arrays.sort(slots);
+        for (int i = 0; i < total; i++) {
+            int x = i < backwardLen ? backward[i] : forward[i - backwardLen];
+            pos[x] = slots[i];
+            node[slots[i]] = x;
+        }
+    }
+
+    private void sortByPosition(int[] set, int len) {
+        // Sort packed (position, node) pairs; positions are unique
+        long[] keyed = new long[len];
+        for (int i = 0; i < len; i++) keyed[i] = ((long) pos[set[i]] << 32) | set[i];
+        Arrays.sort(keyed);
+        for (int i = 0; i < len; i++) set[i] = (int) keyed[i];
+    }
+
+    private static int[] push(int[] a, int i, int x) {
+        if (i == a.length) a = Arrays.copyOf(a, a.length * 2);
+        a[i] = x;
+        return a;
+    }
+}
@@ -0,0 +1,113 @@
+package aitu.edu.graph.topo;
+
+import java.util.Arrays;
+
+/**
+ * The result of a level-synchronous topological sort: the order, the level of each vertex, and whether the
+ * graph turned out to be acyclic.
+ * <p>
+ * Level 0 holds the vertices without predecessors; every other vertex is one level below its deepest
+ * predecessor. The order lists the levels one after another, each in ascending vertex order. On a cyclic graph
+ * the vertices on a cycle, and all vertices reachable from one, are never released; they are reported by
+ * {@link #blockedVertices()} and {@link #order()} refuses to return a partial order.
+ */
+public class LevelOrder {
+    private final int[] order;
+    private final int sorted;
+    private final int[] level;
+    private final int[] levelStart;
+
+    /**
+     * @param order      the released vertices in order, followed by unused slots
+     * @param sorted     how many vertices were released
+     * @param level      the level of each vertex, -1 for blocked vertices
+     * @param levelStart the position in the order where each level starts, plus the end of the last one
+     */
+    LevelOrder(int[] order, int sorted, int[] level, int[] levelStart) {
+        this.order = order;
+        this.sorted = sorted;
+        this.level = level;
+        this.levelStart = levelStart;
+    }
+
+    /**
+     * Returns whether every vertex was sorted, i.e. the graph has no cycle.
+     *
+     * @return true if the graph is acyclic
+     */
+    public boolean isAcyclic() {
+        return sorted == level.length;
+    }
+
+    /**
+     * Returns the topological order.
+     *
+     * @return the vertices in topological order
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public int[] order() {
+        if (!isAcyclic()) {
+            throw new IllegalStateException("graph has a cycle; " + (level.length - sorted) + " vertices cannot be ordered");
+        }
+        return order.clone();
+    }
+
+    /**
+     * Returns the vertices that could be ordered, which is all of them on an acyclic graph.
+     *
+     * @return the released vertices in topological order
+     */
+    public int[] sortedPrefix() {
+        return Arrays.copyOf(order, sorted);
+    }
+
+    /**
+     * Returns the vertices that lie on a cycle or are reachable from one.
+     *
+     * @return the blocked vertices in ascending order, empty if the graph is acyclic
+     */
+    public int[] blockedVertices() {
+        int[] out = new int[level.length - sorted];
+        int k = 0;
+        for (int v = 0; v < level.length && k < out.length; v++) if (level[v] < 0) out[k++] = v;
+        return out;
+    }
+
+    /**
+     * Returns the level of every vertex.
+     *
+     * @return the level per vertex, -1 for blocked vertices
+     */
+    public int[] levels() {
+        return level.clone();
+    }
+
+    /**
+     * Returns the level of one vertex.
+     *
+     * @param v the vertex
+     * @return its level, or -1 if it is blocked by a cycle
+     */
+    public int levelOf(int v) {
+        return level[v];
+    }
+
+    /**
+     * Returns the number of levels, i.e. the number of vertices on a longest path among the sorted vertices.
+     *
+     * @return the level count
+     */
+    public int levelCount() {
+        return levelStart.length - 1;
+    }
+
+    /**
+     * Returns where each level starts in the order: level k occupies positions
+     * [{@code offsets[k]}, {@code offsets[k + 1]}).
+     *
+     * @return the level offsets, {@link #levelCount()} + 1 entries
+     */
+    public int[] levelOffsets() {
+        return levelStart.clone();
+    }
+}
@@ -0,0 +1,314 @@
+package aitu.edu.graph.topo;
+
+import aitu.edu.graph.scc.SCCResult;
+import aitu.edu.graph.scc.SccEngine;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.util.Arrays;
+
+/**
+ * Schedules the tasks of a graph on a fixed number of identical workers with list scheduling.
+ * <p>
+ * Task durations are the node durations, and a task may start once all its predecessors have finished. The
+ * scheduler never leaves a worker idle while a task is ready: whenever workers are free it hands them the ready
+ * tasks in {@link PriorityRule} order, lowest worker id first, and otherwise advances to the next completion.
+ * Ready tasks, running tasks and idle workers are kept in binary heaps, so a schedule of n tasks and m edges
+ * costs O((n + m) log n).
+ * <p>
+ * A cyclic graph is scheduled through its SCC condensation: each component is one unit on one worker, running
+ * its members back to back in ascending id order, and edges inside a component are ignored. Self-loops are
+ * ignored as well. Metrics, if given, count one relaxation per edge between units when its source finishes,
+ * plus the SCC work for a cyclic graph.
+ */
+public class ListScheduler {
+
+    /**
+     * Schedules the tasks of a graph.
+     *
+     * @param g       the graph to schedule
+     * @param workers the number of workers
+     * @param rule    the priority rule for ready tasks
+     * @return the schedule
+     */
+    public static TaskSchedule schedule(Graph g, int workers, PriorityRule rule) {
+        return schedule(g, workers, rule, null);
+    }
+
+    /**
+     * Schedules the tasks of a graph.
+     *
+     * @param g       the graph to schedule
+     * @param workers the number of workers
+     * @param rule    the priority rule for ready tasks
+     * @param metrics optional metrics collector
+     * @return the schedule
+     * @throws IllegalArgumentException if the graph or rule is null, there are no workers or a duration is
+     *                                  negative
+     */
+    public static TaskSchedule schedule(Graph g, int workers, PriorityRule rule, Metrics metrics) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        if (rule == null) throw new IllegalArgumentException("rule is null");
+        if (workers < 1) throw new IllegalArgumentException("need at least one worker: " + workers);
+        int n = g.nodeCount();
+        long[] dur = g.durationArray();
+        for (int v = 0; v < n; v++) {
+            if (dur[v] < 0) throw new IllegalArgumentException("negative duration of node " + v + ": " + dur[v]);
+        }
+
+        // Try the nodes themselves first; only a cycle makes the SCCs worth computing
+        int[] identity = new int[n];
+        for (int v = 0; v < n; v++) identity[v] = v;
+        Units units = new Units(g, identity, n);
+        int[] topo = units.topologicalOrder();
+        if (topo == null) {
+            SCCResult scc = SccEngine.TARJAN.computeCached(g, metrics);
+            units = new Units(g, scc.getComponentIds(), scc.componentCount());
+            topo = units.topologicalOrder();
+        }
+        return run(units, topo, workers, rule, metrics);
+    }
+
+    private static TaskSchedule run(Units u, int[] topo, int workers, PriorityRule rule, Metrics metrics) {
+        int k = u.count;
+        long[] key1 = new long[k];
+        long[] key2 = new long[k];
+        priorities(u, topo, rule, key1, key2);
+
+        long[] start = new long[k];
+        long[] finish = new long[k];
+        int[] worker = new int[k];
+        int[] waiting = u.inDegrees();
+        IntHeap ready = new IntHeap(k, (a, b) -> key1[a] != key1[b] ? key1[a] < key1[b]
+                : key2[a] != key2[b] ? key2[a] < key2[b] : a < b);
+        IntHeap running = new IntHeap(k, (a, b) -> finish[a] != finish[b] ? finish[a] < finish[b] : a < b);
+        // More workers than units can never be busy at once
+        int usable = Math.min(workers, Math.max(1, k));
+        IntHeap idle = new IntHeap(usable, (a, b) -> a < b);
+        for (int w = 0; w < usable; w++) idle.add(w);
+        for (int c = 0; c < k; c++) if (waiting[c] == 0) ready.add(c);
+
+        long now = 0;
+        long busy = 0;
+        int done = 0;
+        while (done < k) {
+            while (!ready.isEmpty() && !idle.isEmpty()) {
+                int c = ready.poll();
+                start[c] = now;
+                finish[c] = now + u.dur[c];
+                worker[c] = idle.poll();
+                busy += u.dur[c];
+                running.add(c);
+            }
+            // Advance to the next completion and retire everything finishing then
+            now = finish[running.peek()];
+            while (!running.isEmpty() && finish[running.peek()] == now) {
+                int c = running.poll();
+                idle.add(worker[c]);
+                done++;
+                for (int i = u.memberStart[c]; i < u.memberStart[c + 1]; i++) {
+                    int v = u.members[i];
+                    for (int j = u.off[v]; j < u.off[v + 1]; j++) {
+                        int d = u.unit[u.tgt[j]];
+                        if (d == c) continue;
+                        if (metrics != null) metrics.incRelaxation();
+                        if (--waiting[d] == 0) ready.add(d);
+                    }
+                }
+            }
+        }
+
+        // Spread each unit's time over its members
+        int n = u.unit.length;
+        long[] taskStart = new long[n];
+        long[] taskFinish = new long[n];
+        int[] taskWorker = new int[n];
+        long[] nodeDur = u.nodeDur;
+        for (int c = 0; c < k; c++) {
+            long t = start[c];
+            for (int i = u.memberStart[c]; i < u.memberStart[c + 1]; i++) {
+                int v = u.members[i];
+                taskStart[v] = t;
+                t += nodeDur[v];
+                taskFinish[v] = t;
+                taskWorker[v] = worker[c];
+            }
+        }
+        return new TaskSchedule(workers, taskStart, taskFinish, taskWorker, now, busy);
+    }
+
+    /**
+     * Fills the sort keys of the rule from the longest paths to and from each unit; smaller keys go first.
+     */
+    private static void priorities(Units u, int[] topo, PriorityRule rule, long[] key1, long[] key2) {
+        int k = u.count;
+        // bottom: longest path from a unit to a sink, including the unit; top: longest path before the unit
+        long[] bottom = new long[k];
+        long[] top = new long[k];
+        for (int i = k - 1; i >= 0; i--) {
+            int c = topo[i];
+            long best = 0;
+            for (int m = u.memberStart[c]; m < u.memberStart[c + 1]; m++) {
+                int v = u.members[m];
+                for (int j = u.off[v]; j < u.off[v + 1]; j++) {
+                    int d = u.unit[u.tgt[j]];
+                    if (d != c) best = Math.max(best, bottom[d]);
+                }
+            }
+            bottom[c] = u.dur[c] + best;
+        }
+        long length = 0;
+        if (rule == PriorityRule.CRITICAL_PATH_FIRST) {
+            for (int c : topo) {
+                long f = top[c] + u.dur[c];
+                for (int m = u.memberStart[c]; m < u.memberStart[c + 1]; m++) {
+                    int v = u.members[m];
+                    for (int j = u.off[v]; j < u.off[v + 1]; j++) {
+                        int d = u.unit[u.tgt[j]];
+                        if (d != c && f > top[d]) top[d] = f;
+                    }
+                }
+                length = Math.max(length, top[c] + bottom[c]);
+            }
+        }
+        for (int c = 0; c < k; c++) {
+            switch (rule) {
+                case HLFET:
+                    key1[c] = -bottom[c];
+                    break;
+                case LONGEST_REMAINING_PATH:
+                    key1[c] = -(bottom[c] - u.dur[c]);
+                    key2[c] = -u.dur[c];
+                    break;
+                default:
+                    key1[c] = length - top[c] - bottom[c];
+                    key2[c] = top[c];
+            }
+        }
+    }
+
+    /**
+     * The units being scheduled: single nodes, or SCCs of a cyclic graph, with their members and durations.
+     */
+    private static final class Units {
+        final int[] off;
+        final int[] tgt;
+        final long[] nodeDur;
+        final int[] unit;
+        final int count;
+        final int[] memberStart;
+        final int[] members;
+        final long[] dur;
+
+        Units(Graph g, int[] unit, int count) {
+            this.off = g.offsets();
+            this.tgt = g.targets();
+            this.nodeDur = g.durationArray();
+            this.unit = unit;
+            this.count = count;
+            int n = unit.length;
+            // Counting sort of the nodes by unit keeps members in ascending id order
+            memberStart = new int[count + 1];
+            for (int v = 0; v < n; v++) memberStart[unit[v] + 1]++;
+            for (int c = 0; c < count; c++) memberStart[c + 1] += memberStart[c];
+            int[] fill = Arrays.copyOf(memberStart, count);
+            members = new int[n];
+            dur = new long[count];
+            for (int v = 0; v < n; v++) {
+                members[fill[unit[v]]++] = v;
+                dur[unit[v]] += nodeDur[v];
+            }
+        }
+
+        /**
+         * Counts the edges entering each unit from another one.
+         */
+        int[] inDegrees() {
+            int[] in = new int[count];
+            for (int v = 0; v < unit.length; v++) {
+                for (int j = off[v]; j < off[v + 1]; j++) if (unit[tgt[j]] != unit[v]) in[unit[tgt[j]]]++;
+            }
+            return in;
+        }
+
+        /**
+         * Orders the units with Kahn's algorithm.
+         *
+         * @return the order, or null if the units still form a cycle
+         */
+        int[] topologicalOrder() {
+            int[] in = inDegrees();
+            int[] order = new int[count];
+            int head = 0;
+            int tail = 0;
+            for (int c = 0; c < count; c++) if (in[c] == 0) order[tail++] = c;
+            while (head < tail) {
+                int c = order[head++];
+                for (int m = memberStart[c]; m < memberStart[c + 1]; m++) {
+                    int v = members[m];
+                    for (int j = off[v]; j < off[v + 1]; j++) {
+                        int d = unit[tgt[j]];
+                        if (d != c && --in[d] == 0) order[tail++] = d;
+                    }
+                }
+            }
+            return tail == count ? order : null;
+        }
+    }
+
+    /**
+     * Tells whether a goes before b in a heap.
+     */
+    private interface Order {
+        boolean before(int a, int b);
+    }
+
+    /**
+     * A binary min-heap of ints under an {@link Order}.
+     */
+    private static final class IntHeap {
+        private final int[] heap;
+        private final Order order;
+        private int size;
+
+        IntHeap(int capacity, Order order) {
+            this.heap = new int[Math.max(1, capacity)];
+            this.order = order;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int peek() {
+            return heap[0];
+        }
+
+        void add(int x) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >> 1;
+                if (!order.before(x, heap[parent])) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = x;
+        }
+
+        int poll() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int c = 2 * i + 1;
+                if (c >= size) break;
+                if (c + 1 < size && order.before(heap[c + 1], heap[c])) c++;
+                if (!order.before(heap[c], last)) break;
+                heap[i] = heap[c];
+                i = c;
+            }
+            if (size > 0) heap[i] = last;
+            return top;
+        }
+    }
+}
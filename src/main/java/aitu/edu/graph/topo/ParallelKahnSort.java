@@ -0,0 +1,225 @@
+package aitu.edu.graph.topo;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Topological sort on a fork-join pool with Kahn's algorithm, one level at a time.
+ * <p>
+ * In-degrees are counted in parallel over slices of the source vertices. The vertices of in-degree zero form
+ * level 0; each level is then released as one batch: its out-edges are scanned in parallel slices, each edge
+ * atomically decrements its target's in-degree, and the targets that reach zero form the next level. Each level
+ * is sorted before it is released, so the result does not depend on thread timing.
+ * <p>
+ * Unlike {@link DFSTopologicalSort}, a cycle does not go unnoticed: its vertices never reach in-degree zero and
+ * the result reports them as blocked. Metrics, if given, are updated from several threads and must be
+ * thread-safe.
+ */
+public class ParallelKahnSort {
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    /** Vertex slices up to this many vertices are handled by one task. */
+    private static final int GRAIN = 1024;
+
+    /**
+     * Sorts on the common fork-join pool.
+     *
+     * @param g the graph
+     * @return the order and levels
+     */
+    public static LevelOrder sort(Graph g) {
+        return sort(g, null);
+    }
+
+    /**
+     * Sorts on the common fork-join pool, with optional metrics.
+     *
+     * @param g       the graph
+     * @param metrics optional thread-safe metrics collector
+     * @return the order and levels
+     */
+    public static LevelOrder sort(Graph g, Metrics metrics) {
+        return sort(g, metrics, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts on the given fork-join pool, with optional metrics.
+     *
+     * @param g       the graph
+     * @param metrics optional thread-safe metrics collector
+     * @param pool    the pool running the tasks
+     * @return the order and levels
+     */
+    public static LevelOrder sort(Graph g, Metrics metrics, ForkJoinPool pool) {
+        // A single thread gains nothing from forking
+        return sort(g, metrics, pool, pool.getParallelism() == 1 ? Integer.MAX_VALUE : GRAIN);
+    }
+
+    /**
+     * Sorts with an explicit slice size, so tests can exercise the parallel steps on small graphs.
+     */
+    static LevelOrder sort(Graph g, Metrics metrics, ForkJoinPool pool, int grain) {
+        Run run = new Run(g, metrics, Math.max(1, grain));
+        pool.invoke(run);
+        return run.result;
+    }
+
+    /**
+     * The state shared by all tasks of one sort.
+     */
+    private static final class Run extends RecursiveAction {
+        final int n;
+        final int[] off;
+        final int[] tgt;
+        final Metrics metrics;
+        final int grain;
+
+        final int[] indeg;
+        final int[] level;
+        /** The released vertices, level by level; the current level is the range being scanned. */
+        final int[] order;
+
+        LevelOrder result;
+
+        Run(Graph g, Metrics metrics, int grain) {
+            this.n = g.nodeCount();
+            this.off = g.offsets();
+            this.tgt = g.targets();
+            this.metrics = metrics;
+            this.grain = grain;
+            this.indeg = new int[n];
+            this.level = new int[n];
+            this.order = new int[n];
+        }
+
+        @Override
+        protected void compute() {
+            if (n > grain) new Count(this, 0, n).invoke();
+            else count(0, n);
+
+            int tail = 0;
+            for (int v = 0; v < n; v++) {
+                if (indeg[v] == 0) order[tail++] = v;
+                else level[v] = -1;
+            }
+            int head = 0;
+            int depth = 0;
+            int[] starts = new int[16];
+            while (head < tail) {
+                if (depth + 1 >= starts.length) starts = Arrays.copyOf(starts, starts.length * 2);
+                starts[depth] = head;
+                int end;
+                if (tail - head > grain) {
+                    AtomicInteger next = new AtomicInteger(tail);
+                    new Release(this, head, tail, next, depth + 1).invoke();
+                    end = next.get();
+                } else {
+                    end = tail;
+                    for (int i = head; i < tail; i++) end = release(order[i], order, end, depth + 1);
+                }
+                Arrays.parallelSort(order, tail, end);
+                head = tail;
+                tail = end;
+                depth++;
+            }
+            starts[depth] = tail;
+            result = new LevelOrder(order, tail, level, Arrays.copyOf(starts, depth + 1));
+        }
+
+        /**
+         * Adds the out-edges of the sources in [from, to) to the in-degrees of their targets.
+         */
+        void count(int from, int to) {
+            boolean shared = to - from < n;
+            for (int j = off[from]; j < off[to]; j++) {
+                if (shared) INTS.getAndAdd(indeg, tgt[j], 1);
+                else indeg[tgt[j]]++;
+            }
+        }
+
+        /**
+         * Releases one vertex: decrements the in-degree of each successor and appends those that reach zero to
+         * out, at the given level. Returns the new count.
+         */
+        int release(int v, int[] out, int count, int nextLevel) {
+            if (metrics != null) metrics.incDfsVisit();
+            for (int j = off[v]; j < off[v + 1]; j++) {
+                if (metrics != null) metrics.incDfsEdge();
+                int w = tgt[j];
+                if ((int) INTS.getAndAdd(indeg, w, -1) == 1) {
+                    level[w] = nextLevel;
+                    out[count++] = w;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Counts the in-degree contributions of one slice of source vertices.
+     */
+    private static final class Count extends RecursiveAction {
+        private final Run run;
+        private final int from;
+        private final int to;
+
+        Count(Run run, int from, int to) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > run.grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Count(run, from, mid), new Count(run, mid, to));
+                return;
+            }
+            run.count(from, to);
+        }
+    }
+
+    /**
+     * Releases one slice of a level and appends the vertices it frees to the next level.
+     */
+    private static final class Release extends RecursiveAction {
+        private final Run run;
+        private final int from;
+        private final int to;
+        private final AtomicInteger end;
+        private final int nextLevel;
+
+        Release(Run run, int from, int to, AtomicInteger end, int nextLevel) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+            this.end = end;
+            this.nextLevel = nextLevel;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > run.grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Release(run, from, mid, end, nextLevel), new Release(run, mid, to, end, nextLevel));
+                return;
+            }
+            int[] local = new int[16];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int v = run.order[i];
+                int need = count + run.off[v + 1] - run.off[v];
+                if (need > local.length) local = Arrays.copyOf(local, Math.max(need, local.length * 2));
+                count = run.release(v, local, count, nextLevel);
+            }
+            if (count > 0) System.arraycopy(local, 0, run.order, end.getAndAdd(count), count);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package aitu.edu.graph.topo;
+
+/**
+ * The rules {@link ListScheduler} can use to pick the next ready task. All of them are static: priorities are
+ * computed from the durations once, before scheduling starts, and ties go to the lower id.
+ */
+public enum PriorityRule {
+    /**
+     * Highest level first with estimated times: the task with the longest path to a sink, counting its own
+     * duration, goes first.
+     */
+    HLFET,
+    /**
+     * Longest remaining path: the task with the longest path to a sink after it finishes goes first, so tasks
+     * that gate long chains beat tasks that are merely long; ties go to the longer task.
+     */
+    LONGEST_REMAINING_PATH,
+    /**
+     * Critical path first: tasks with the least total slack go first, so every critical task precedes any task
+     * with slack; ties go to the task that can start earliest.
+     */
+    CRITICAL_PATH_FIRST
+}
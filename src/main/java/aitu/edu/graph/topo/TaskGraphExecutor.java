@@ -0,0 +1,209 @@
+package aitu.edu.graph.topo;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.Metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the tasks of a DAG on a fork-join pool, each as soon as all its predecessors have finished.
+ * <p>
+ * Every node keeps a counter of unfinished predecessors. The tasks without predecessors are submitted first;
+ * a finishing task decrements the counters of its successors and submits those that reach zero from its own
+ * worker thread, where the pool's work stealing spreads them out. So as many tasks run at once as the graph and
+ * the pool allow, rather than one at a time in a topological order.
+ * <p>
+ * Tasks are given per node id; nodes without a task only pass on the dependency. If a task throws, no further
+ * tasks are started, the ones already running are waited for, and the first failure is rethrown; a task the pool
+ * rejects (e.g. while shutting down) counts as failed with the {@link RejectedExecutionException}. Metrics, if
+ * given, count a visit per task and an edge per released dependency, receive each task's running time through
+ * {@link Metrics#recordTask}, are updated from several threads and must be thread-safe.
+ */
+public class TaskGraphExecutor {
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * Runs the tasks on the common fork-join pool.
+     *
+     * @param g       the dependency graph, which must be acyclic
+     * @param tasks   the task of each node id
+     * @param metrics optional thread-safe metrics collector
+     * @throws ExecutionException   if a task threw; the first failure is the cause
+     * @throws InterruptedException if interrupted while waiting; no further tasks are started
+     */
+    public static void runAll(Graph g, Map<Integer, ? extends Runnable> tasks, Metrics metrics)
+            throws ExecutionException, InterruptedException {
+        runAll(g, tasks, metrics, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the tasks on the given fork-join pool.
+     *
+     * @param g       the dependency graph, which must be acyclic
+     * @param tasks   the task of each node id
+     * @param metrics optional thread-safe metrics collector
+     * @param pool    the pool running the tasks
+     * @throws ExecutionException   if a task threw; the first failure is the cause
+     * @throws InterruptedException if interrupted while waiting; no further tasks are started
+     */
+    public static void runAll(Graph g, Map<Integer, ? extends Runnable> tasks, Metrics metrics, ForkJoinPool pool)
+            throws ExecutionException, InterruptedException {
+        if (tasks == null) throw new IllegalArgumentException("tasks is null");
+        Map<Integer, Callable<Object>> callables = new HashMap<>();
+        for (Map.Entry<Integer, ? extends Runnable> e : tasks.entrySet()) {
+            Runnable r = e.getValue();
+            callables.put(e.getKey(), r == null ? null : () -> {
+                r.run();
+                return null;
+            });
+        }
+        callAll(g, callables, metrics, pool);
+    }
+
+    /**
+     * Calls the tasks on the given fork-join pool and collects their results.
+     *
+     * @param g       the dependency graph, which must be acyclic
+     * @param tasks   the task of each node id
+     * @param metrics optional thread-safe metrics collector
+     * @param pool    the pool running the tasks
+     * @param <T>     the result type
+     * @return the result of each task that returned a non-null value, by node id
+     * @throws IllegalArgumentException if the graph has a cycle or a task id is not a node
+     * @throws ExecutionException       if a task threw; the first failure is the cause
+     * @throws InterruptedException     if interrupted while waiting; no further tasks are started
+     */
+    public static <T> Map<Integer, T> callAll(Graph g, Map<Integer, ? extends Callable<? extends T>> tasks,
+                                             Metrics metrics, ForkJoinPool pool)
+            throws ExecutionException, InterruptedException {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        if (tasks == null) throw new IllegalArgumentException("tasks is null");
+        if (pool == null) throw new IllegalArgumentException("pool is null");
+        int n = g.nodeCount();
+        @SuppressWarnings("unchecked")
+        Callable<? extends T>[] byNode = (Callable<? extends T>[]) new Callable<?>[n];
+        for (Map.Entry<Integer, ? extends Callable<? extends T>> e : tasks.entrySet()) {
+            Integer v = e.getKey();
+            if (v == null || v < 0 || v >= n) throw new IllegalArgumentException("task id is not a node: " + v);
+            byNode[v] = e.getValue();
+        }
+        LevelOrder levels = ParallelKahnSort.sort(g, null, pool);
+        if (!levels.isAcyclic()) {
+            throw new IllegalArgumentException("graph has a cycle through " + levels.blockedVertices().length + " nodes");
+        }
+
+        Run<T> run = new Run<>(g, byNode, metrics, pool);
+        run.start();
+        try {
+            run.done.get();
+        } catch (InterruptedException e) {
+            run.fail(e);
+            throw e;
+        }
+        Throwable failure = run.failure.get();
+        if (failure != null) throw new ExecutionException("task " + run.failedTask + " failed", failure);
+
+        Map<Integer, T> results = new HashMap<>();
+        for (int v = 0; v < n; v++) if (run.results[v] != null) results.put(v, run.results[v]);
+        return results;
+    }
+
+    /**
+     * The state of one execution.
+     */
+    private static final class Run<T> {
+        final int[] off;
+        final int[] tgt;
+        final Callable<? extends T>[] tasks;
+        final Metrics metrics;
+        final ForkJoinPool pool;
+        final int[] inDegrees;
+        /** Unfinished predecessors of each node. */
+        final int[] waiting;
+        final T[] results;
+        /** Tasks submitted and not yet finished; the execution is done when it drops to 0. */
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        volatile int failedTask = -1;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Run(Graph g, Callable<? extends T>[] tasks, Metrics metrics, ForkJoinPool pool) {
+            this.off = g.offsets();
+            this.tgt = g.targets();
+            this.tasks = tasks;
+            this.metrics = metrics;
+            this.pool = pool;
+            this.inDegrees = g.analysis().inDegrees();
+            this.waiting = inDegrees.clone();
+            @SuppressWarnings("unchecked")
+            T[] r = (T[]) new Object[tasks.length];
+            this.results = r;
+        }
+
+        void start() {
+            // Holding one count while submitting keeps the execution from completing before all roots are out.
+            // Roots come from the unchanging in-degrees, since running tasks already count waiting down.
+            pending.incrementAndGet();
+            for (int v = 0; v < inDegrees.length; v++) if (inDegrees[v] == 0) submit(v);
+            finishOne();
+        }
+
+        void submit(int v) {
+            pending.incrementAndGet();
+            try {
+                pool.execute(() -> execute(v));
+            } catch (RejectedExecutionException e) {
+                // E.g. the pool is shutting down; the task will never run, so give its count back
+                if (failure.compareAndSet(null, e)) failedTask = v;
+                finishOne();
+            }
+        }
+
+        void execute(int v) {
+            try {
+                if (failure.get() != null) return;
+                if (metrics != null) metrics.incDfsVisit();
+                Callable<? extends T> task = tasks[v];
+                if (task != null) {
+                    long t0 = System.nanoTime();
+                    boolean ok = false;
+                    try {
+                        results[v] = task.call();
+                        ok = true;
+                    } catch (Throwable t) {
+                        if (failure.compareAndSet(null, t)) failedTask = v;
+                        else if (failure.get() != t) failure.get().addSuppressed(t);
+                        return;
+                    } finally {
+                        if (metrics != null) metrics.recordTask(v, System.nanoTime() - t0, ok);
+                    }
+                }
+                for (int i = off[v]; i < off[v + 1]; i++) {
+                    if (metrics != null) metrics.incDfsEdge();
+                    int w = tgt[i];
+                    if ((int) INTS.getAndAdd(waiting, w, -1) == 1) submit(w);
+                }
+            } finally {
+                finishOne();
+            }
+        }
+
+        void fail(Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+
+        void finishOne() {
+            if (pending.decrementAndGet() == 0) done.complete(null);
+        }
+    }
+}
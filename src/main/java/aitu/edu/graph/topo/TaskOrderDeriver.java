@@ -1,5 +1,6 @@
 package aitu.edu.graph.topo;
 
+import aitu.edu.graph.scc.CondensationEngine;
 import aitu.edu.graph.scc.SCCResult;
 import aitu.edu.graph.util.Graph;
 
@@ -12,35 +13,15 @@ public class TaskOrderDeriver {
 
 
     /**
-     * Builds the condensation adjacency list from a graph and its SCC result.
+     * Builds the condensation adjacency list from a graph and its SCC result. Each row lists a component's
+     * successors in the order they are first met when scanning the edges by ascending source.
      *
      * @param g   the graph
      * @param scc the SCC result
      * @return the condensation adjacency list
      */
     public static List<List<Integer>> buildCondensation(Graph g, SCCResult scc) {
-        int compCount = scc.componentCount();
-        List<Set<Integer>> temp = new ArrayList<>(compCount);
-        for (int i = 0; i < compCount; i++) temp.add(new LinkedHashSet<>());
-
-        // Collect edges between components
-        int[] compIds = scc.getComponentIds();
-        for (int[] e : g.edges()) {
-            int u = e[0];
-            int v = e[1];
-            if (u < 0 || v < 0 || u >= compIds.length || v >= compIds.length) continue;
-            int cu = compIds[u];
-            int cv = compIds[v];
-            if (cu != cv) temp.get(cu).add(cv);
-        }
-
-        // Convert sets to lists
-        List<List<Integer>> adj = new ArrayList<>(compCount);
-        for (int i = 0; i < compCount; i++) {
-            List<Integer> nbrs = new ArrayList<>(temp.get(i));
-            adj.add(Collections.unmodifiableList(nbrs));
-        }
-        return Collections.unmodifiableList(adj);
+        return CondensationEngine.build(g, scc, CondensationEngine.RowOrder.FIRST_APPEARANCE, false).toAdjacency();
     }
 
     /**
@@ -0,0 +1,106 @@
+package aitu.edu.graph.topo;
+
+/**
+ * The result of {@link ListScheduler}: a start time and a worker for every task.
+ */
+public class TaskSchedule {
+    private final int workers;
+    private final long[] start;
+    private final long[] finish;
+    private final int[] worker;
+    private final long makespan;
+    private final long busy;
+
+    TaskSchedule(int workers, long[] start, long[] finish, int[] worker, long makespan, long busy) {
+        this.workers = workers;
+        this.start = start;
+        this.finish = finish;
+        this.worker = worker;
+        this.makespan = makespan;
+        this.busy = busy;
+    }
+
+    /**
+     * Returns the number of workers.
+     *
+     * @return the worker count
+     */
+    public int workerCount() {
+        return workers;
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return the task count
+     */
+    public int taskCount() {
+        return start.length;
+    }
+
+    /**
+     * Returns when a task starts.
+     *
+     * @param v the task
+     * @return its start time
+     */
+    public long startOf(int v) {
+        return start[v];
+    }
+
+    /**
+     * Returns when a task finishes.
+     *
+     * @param v the task
+     * @return its finish time
+     */
+    public long finishOf(int v) {
+        return finish[v];
+    }
+
+    /**
+     * Returns the worker a task runs on.
+     *
+     * @param v the task
+     * @return the worker, between 0 and {@link #workerCount()} - 1
+     */
+    public int workerOf(int v) {
+        return worker[v];
+    }
+
+    /**
+     * Returns the start times of all tasks.
+     *
+     * @return a copy of the start times
+     */
+    public long[] startTimes() {
+        return start.clone();
+    }
+
+    /**
+     * Returns the workers of all tasks.
+     *
+     * @return a copy of the worker assignment
+     */
+    public int[] workers() {
+        return worker.clone();
+    }
+
+    /**
+     * Returns the time the last task finishes.
+     *
+     * @return the makespan, 0 if there are no tasks
+     */
+    public long makespan() {
+        return makespan;
+    }
+
+    /**
+     * Returns the share of worker time spent running tasks, over the makespan.
+     *
+     * @return the utilization between 0 and 1, or 0 if the makespan is 0
+     */
+    public double utilization() {
+        return makespan == 0 ? 0.0 : (double) busy / ((double) workers * makespan);
+    }
+}
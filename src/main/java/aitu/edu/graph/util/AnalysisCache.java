@@ -0,0 +1,232 @@
+package aitu.edu.graph.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Memoized analysis results for one {@link Graph}, obtained with {@link Graph#analysis()}.
+ * <p>
+ * Since a graph never changes, anything derived from it can be computed once and shared. Each result is stored
+ * under a {@link Key}, which names it and knows how to compute it and estimate its size; algorithms outside this
+ * package define their own keys (e.g. the topological order in {@code DFSTopologicalSort}). Every key has its own
+ * holder, so different results are computed concurrently while concurrent requests for the same one wait for a
+ * single computation.
+ * <p>
+ * A computation runs with a recording metrics collector, and its counts are added to the metrics of the caller
+ * that triggered it, so counts only report work actually done. A request served from the cache is instead
+ * credited with the computation's operations and time through {@link Metrics#addCachedOperations} and
+ * {@link Metrics#addCachedNanos}, which show what the cache saved. Results are shared and must not be modified. {@link #memoryBytes()} estimates what the cache holds, and {@link #clear()}
+ * drops it.
+ */
+public final class AnalysisCache {
+    private final Graph g;
+    private final ConcurrentHashMap<Key<?>, Holder<?>> holders = new ConcurrentHashMap<>();
+
+    private static final Key<int[]> OUT_DEGREES = new Key<>("out-degrees", (g, m) -> degrees(g.offsets()), Key::intArrayBytes);
+    private static final Key<int[]> IN_DEGREES = new Key<>("in-degrees", (g, m) -> degrees(g.reverseOffsets()), Key::intArrayBytes);
+    private static final Key<int[]> EDGE_SOURCES = new Key<>("edge-sources", (g, m) -> sources(g), Key::intArrayBytes);
+
+    AnalysisCache(Graph g) {
+        this.g = g;
+    }
+
+    /**
+     * Identifies one kind of cached result. Keys are equal when their names are, so a key may be created per
+     * request; the computation and size estimate of the first request for a name are the ones used.
+     *
+     * @param <T> the result type
+     */
+    public static final class Key<T> {
+        private final String name;
+        private final BiFunction<Graph, Metrics, T> compute;
+        private final ToLongFunction<? super T> sizeOf;
+
+        /**
+         * Creates a key.
+         *
+         * @param name    the unique name of the result
+         * @param compute computes the result for a graph, counting its work on the given metrics
+         * @param sizeOf  estimates the size of a result in bytes
+         */
+        public Key(String name, BiFunction<Graph, Metrics, T> compute, ToLongFunction<? super T> sizeOf) {
+            this.name = Objects.requireNonNull(name, "name");
+            this.compute = Objects.requireNonNull(compute, "compute");
+            this.sizeOf = Objects.requireNonNull(sizeOf, "sizeOf");
+        }
+
+        /**
+         * Estimates the size of an int array in bytes.
+         *
+         * @param a the array
+         * @return the estimated size
+         */
+        public static long intArrayBytes(int[] a) {
+            return 16L + 4L * a.length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key<?>) o).name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Returns the result for a key, computing it on first use.
+     *
+     * @param key     the key
+     * @param metrics optional metrics collector, credited with the counts of the computation if this request ran
+     *                it, or with its cached operations and time otherwise
+     * @param <T>     the result type
+     * @return the shared result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key<T> key, Metrics metrics) {
+        Holder<T> h = (Holder<T>) holders.computeIfAbsent(key, k -> new Holder<>(key));
+        return h.get(g, metrics);
+    }
+
+    /**
+     * Returns whether the result for a key has been computed and not cleared.
+     *
+     * @param key the key
+     * @return true if the result is cached
+     */
+    public boolean contains(Key<?> key) {
+        Holder<?> h = holders.get(key);
+        return h != null && h.value != null;
+    }
+
+    /**
+     * Returns the out-degree of every node.
+     *
+     * @return the shared out-degree array
+     */
+    public int[] outDegrees() {
+        return get(OUT_DEGREES, null);
+    }
+
+    /**
+     * Returns the in-degree of every node.
+     *
+     * @return the shared in-degree array
+     */
+    public int[] inDegrees() {
+        return get(IN_DEGREES, null);
+    }
+
+    /**
+     * Returns the source of every edge, aligned with {@link Graph#targets()}: edge i goes from
+     * {@code edgeSources()[i]} to {@code targets()[i]}.
+     *
+     * @return the shared edge source array
+     */
+    public int[] edgeSources() {
+        return get(EDGE_SOURCES, null);
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        int k = 0;
+        for (Holder<?> h : holders.values()) if (h.value != null) k++;
+        return k;
+    }
+
+    /**
+     * Estimates the memory held by the cached results, including the graph's reverse CSR once it is built.
+     *
+     * @return the estimated size in bytes
+     */
+    public long memoryBytes() {
+        long bytes = g.reverseBytes();
+        for (Holder<?> h : holders.values()) if (h.value != null) bytes += h.bytes;
+        return bytes;
+    }
+
+    /**
+     * Drops all cached results. The reverse CSR, which belongs to the graph, is kept.
+     */
+    public void clear() {
+        holders.clear();
+    }
+
+    private static int[] degrees(int[] off) {
+        int[] deg = new int[off.length - 1];
+        for (int v = 0; v < deg.length; v++) deg[v] = off[v + 1] - off[v];
+        return deg;
+    }
+
+    private static int[] sources(Graph g) {
+        int[] off = g.offsets();
+        int[] src = new int[g.edgeCount()];
+        for (int u = 0; u + 1 < off.length; u++) Arrays.fill(src, off[u], off[u + 1], u);
+        return src;
+    }
+
+    /**
+     * Holds one result and the counts recorded while computing it.
+     */
+    private static final class Holder<T> {
+        private final Key<T> key;
+        private volatile T value;
+        private long visits;
+        private long edges;
+        private long relaxations;
+        private long nanos;
+        private long bytes;
+
+        Holder(Key<T> key) {
+            this.key = key;
+        }
+
+        T get(Graph g, Metrics metrics) {
+            T v = value;
+            boolean computed = false;
+            if (v == null) {
+                synchronized (this) {
+                    v = value;
+                    if (v == null) {
+                        StripedMetrics recorder = new StripedMetrics();
+                        long start = System.nanoTime();
+                        v = Objects.requireNonNull(key.compute.apply(g, recorder), key.name);
+                        nanos = System.nanoTime() - start;
+                        computed = true;
+                        visits = recorder.getDfsVisits();
+                        edges = recorder.getDfsEdges();
+                        relaxations = recorder.getRelaxations();
+                        bytes = key.sizeOf.applyAsLong(v);
+                        value = v;
+                    }
+                }
+            }
+            if (metrics != null) {
+                // The counts were written before the volatile write of value and are never changed afterwards
+                if (computed) {
+                    metrics.addDfsVisits(visits);
+                    metrics.addDfsEdges(edges);
+                    metrics.addRelaxations(relaxations);
+                } else {
+                    metrics.addCachedOperations(visits + edges + relaxations);
+                    metrics.addCachedNanos(nanos);
+                }
+            }
+            return v;
+        }
+    }
+}
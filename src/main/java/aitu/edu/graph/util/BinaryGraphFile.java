@@ -0,0 +1,178 @@
+package aitu.edu.graph.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Memory-mapped reader for the binary graph container format written by {@link BinaryGraphWriter}.
+ * <p>
+ * Layout (all values little-endian):
+ * <ul>
+ *   <li>header, 32 bytes: magic {@code "DAAG"}, version, graph count, reserved int, index position, reserved long</li>
+ *   <li>one section per graph, 8-byte aligned: id, n, m, reserved int; CSR offsets ({@code n+1} ints);
+ *       CSR targets ({@code m} ints), padded to 8 bytes; durations ({@code n} longs); duration presence bits
+ *       ({@code ceil(n/64)} longs)</li>
+ *   <li>index: the section position of each graph ({@code count} longs)</li>
+ * </ul>
+ * A graph is loaded by mapping its section with {@link FileChannel#map} and bulk-copying the arrays, so nothing
+ * is parsed. Large arrays are mapped in chunks to stay under the 2GB limit of a single mapping.
+ */
+public class BinaryGraphFile implements Closeable {
+    /** File magic, "DAAG" read as a little-endian int. */
+    static final int MAGIC = 0x47414144;
+    /** Current format version. */
+    static final int VERSION = 1;
+    /** Size of the file header in bytes. */
+    static final int HEADER_BYTES = 32;
+
+    private static final int SECTION_HEADER_BYTES = 16;
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private final FileChannel ch;
+    private final long[] sections;
+    /** Where the sections end and the index begins. */
+    private final long indexPos;
+
+    private BinaryGraphFile(FileChannel ch, long[] sections, long indexPos) {
+        this.ch = ch;
+        this.sections = sections;
+        this.indexPos = indexPos;
+    }
+
+    /**
+     * Opens a binary graph file and reads its index.
+     *
+     * @param path the file
+     * @return the opened file
+     * @throws IOException if the file cannot be read or is not a binary graph file
+     */
+    public static BinaryGraphFile open(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (ch.size() < HEADER_BYTES) throw new IOException("not a binary graph file: " + path);
+            MappedByteBuffer header = map(ch, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC) throw new IOException("not a binary graph file: " + path);
+            int version = header.getInt(4);
+            if (version != VERSION) throw new IOException("unsupported binary graph version " + version + ": " + path);
+            int count = header.getInt(8);
+            long indexPos = header.getLong(16);
+            if (count < 0 || indexPos < HEADER_BYTES || indexPos + (long) count * Long.BYTES > ch.size()) {
+                throw new IOException("corrupt binary graph header: " + path);
+            }
+            long[] sections = new long[count];
+            readLongs(ch, indexPos, sections, count);
+            return new BinaryGraphFile(ch, sections, indexPos);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of graphs in the file.
+     *
+     * @return the graph count
+     */
+    public int graphCount() {
+        return sections.length;
+    }
+
+    /**
+     * Returns the id stored with a graph.
+     *
+     * @param index the graph index
+     * @return the graph id
+     * @throws IOException if reading fails
+     */
+    public int graphId(int index) throws IOException {
+        return map(ch, section(index), SECTION_HEADER_BYTES).getInt(0);
+    }
+
+    /**
+     * Loads a graph.
+     *
+     * @param index the graph index
+     * @return the graph
+     * @throws IOException if reading fails or the section is corrupt
+     */
+    public Graph graph(int index) throws IOException {
+        long at = section(index);
+        MappedByteBuffer head = map(ch, at, SECTION_HEADER_BYTES);
+        int n = head.getInt(4);
+        int m = head.getInt(8);
+        // n + 1 offsets must fit in an array
+        if (n < 0 || n == Integer.MAX_VALUE || m < 0) throw new IOException("corrupt graph section " + index);
+        long targetsAt = at + SECTION_HEADER_BYTES + (n + 1L) * Integer.BYTES;
+        long durationsAt = targetsAt + (long) m * Integer.BYTES;
+        if ((durationsAt & 7) != 0) durationsAt += Integer.BYTES;
+        long presenceAt = durationsAt + (long) n * Long.BYTES;
+        int words = (n + 63) >>> 6;
+        // Checked before allocating, so a corrupt count cannot ask for more memory than the section holds
+        long end = index + 1 < sections.length ? sections[index + 1] : indexPos;
+        if (presenceAt + (long) words * Long.BYTES > end) throw new IOException("truncated graph section " + index);
+
+        int[] off = new int[n + 1];
+        int[] tgt = new int[m];
+        long[] dur = new long[n];
+        long[] presence = new long[words];
+        readInts(ch, at + SECTION_HEADER_BYTES, off, n + 1);
+        readInts(ch, targetsAt, tgt, m);
+        readLongs(ch, durationsAt, dur, n);
+        readLongs(ch, presenceAt, presence, words);
+        // The algorithms index straight into these arrays, so a bad offset or target must not get past here
+        if (off[0] != 0 || off[n] != m) throw new IOException("corrupt graph section " + index);
+        for (int v = 0; v < n; v++) {
+            if (off[v] > off[v + 1]) throw new IOException("corrupt graph section " + index);
+        }
+        for (int i = 0; i < m; i++) {
+            if (tgt[i] < 0 || tgt[i] >= n) throw new IOException("corrupt graph section " + index);
+        }
+        try {
+            return Graph.fromCsr(n, off, tgt, dur, BitSet.valueOf(presence));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt graph section " + index, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        ch.close();
+    }
+
+    private long section(int index) {
+        if (index < 0 || index >= sections.length) {
+            throw new IndexOutOfBoundsException("graph index " + index + " out of range [0, " + sections.length + ")");
+        }
+        return sections[index];
+    }
+
+    private static MappedByteBuffer map(FileChannel ch, long at, long bytes) throws IOException {
+        MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_ONLY, at, bytes);
+        b.order(ByteOrder.LITTLE_ENDIAN);
+        return b;
+    }
+
+    private static void readInts(FileChannel ch, long at, int[] dst, int len) throws IOException {
+        int done = 0;
+        while (done < len) {
+            int chunk = (int) Math.min(len - done, MAX_CHUNK_BYTES / Integer.BYTES);
+            map(ch, at + (long) done * Integer.BYTES, (long) chunk * Integer.BYTES).asIntBuffer().get(dst, done, chunk);
+            done += chunk;
+        }
+    }
+
+    private static void readLongs(FileChannel ch, long at, long[] dst, int len) throws IOException {
+        int done = 0;
+        while (done < len) {
+            int chunk = (int) Math.min(len - done, MAX_CHUNK_BYTES / Long.BYTES);
+            map(ch, at + (long) done * Long.BYTES, (long) chunk * Long.BYTES).asLongBuffer().get(dst, done, chunk);
+            done += chunk;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package aitu.edu.graph.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes graphs into the binary container format read by {@link BinaryGraphFile}.
+ * <p>
+ * Graphs are appended one at a time, so a JSON input can be converted without holding more than one graph in
+ * memory. The index of section positions is written and the header completed on {@link #close()}.
+ */
+public class BinaryGraphWriter implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel ch;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private long pos;
+    private long[] sections = new long[16];
+    private int count = 0;
+    private boolean closed;
+
+    /**
+     * Creates (or truncates) a binary graph file and reserves its header.
+     *
+     * @param path the output file
+     * @throws IOException if the file cannot be created
+     */
+    public BinaryGraphWriter(Path path) throws IOException {
+        ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        pos = BinaryGraphFile.HEADER_BYTES;
+        ch.position(pos);
+    }
+
+    /**
+     * Converts a JSON input file (a single graph or a "graphs" array) into a binary graph file.
+     *
+     * @param json the JSON input file
+     * @param out  the binary output file
+     * @return the number of graphs written
+     * @throws IOException if reading or writing fails
+     */
+    public static int convertJson(File json, Path out) throws IOException {
+        try (GraphStreamReader reader = new GraphStreamReader(json);
+             BinaryGraphWriter writer = new BinaryGraphWriter(out)) {
+            while (reader.hasNext()) {
+                GraphRecord rec = reader.next();
+                writer.add(rec.getId(), rec.graph());
+            }
+            return writer.graphCount();
+        }
+    }
+
+    /**
+     * Appends a graph.
+     *
+     * @param id the graph id stored with it
+     * @param g  the graph
+     * @return the index of the graph in the file
+     * @throws IOException if writing fails
+     */
+    public int add(int id, Graph g) throws IOException {
+        if (closed) throw new IllegalStateException("writer is closed");
+        int n = g.nodeCount();
+        int m = g.edgeCount();
+        if (count == sections.length) sections = Arrays.copyOf(sections, count * 2);
+        sections[count] = pos;
+
+        putInt(id);
+        putInt(n);
+        putInt(m);
+        putInt(0);
+        for (int x : g.offsets()) putInt(x);
+        int[] tgt = g.targets();
+        for (int i = 0; i < m; i++) putInt(tgt[i]);
+        if (((n + 1 + m) & 1) != 0) putInt(0);
+        long[] dur = g.durationArray();
+        for (int v = 0; v < n; v++) putLong(dur[v]);
+        long word = 0;
+        for (int v = 0; v < n; v++) {
+            if (g.durationOf(v).isPresent()) word |= 1L << (v & 63);
+            if ((v & 63) == 63) {
+                putLong(word);
+                word = 0;
+            }
+        }
+        if ((n & 63) != 0) putLong(word);
+        return count++;
+    }
+
+    /**
+     * Returns the number of graphs written so far.
+     *
+     * @return the graph count
+     */
+    public int graphCount() {
+        return count;
+    }
+
+    /**
+     * Writes the section index and the header, then closes the file.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            long indexPos = pos;
+            for (int i = 0; i < count; i++) putLong(sections[i]);
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(BinaryGraphFile.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(BinaryGraphFile.MAGIC).putInt(BinaryGraphFile.VERSION).putInt(count).putInt(0)
+                    .putLong(indexPos).putLong(0L).flip();
+            long at = 0;
+            while (header.hasRemaining()) at += ch.write(header, at);
+        } finally {
+            ch.close();
+        }
+    }
+
+    private void putInt(int x) throws IOException {
+        if (buf.remaining() < Integer.BYTES) flush();
+        buf.putInt(x);
+        pos += Integer.BYTES;
+    }
+
+    private void putLong(long x) throws IOException {
+        if (buf.remaining() < Long.BYTES) flush();
+        buf.putLong(x);
+        pos += Long.BYTES;
+    }
+
+    private void flush() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+}
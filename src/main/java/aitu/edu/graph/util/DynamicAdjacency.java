@@ -0,0 +1,254 @@
+package aitu.edu.graph.util;
+
+import java.util.Arrays;
+
+/**
+ * A mutable directed multigraph for structures that are updated edge by edge, such as the dynamic topological
+ * order and SCC engines.
+ * <p>
+ * Each node keeps a growable array of its successors and one of its predecessors, so edges can be inserted in
+ * amortized constant time and removed in time proportional to the degrees of their end points. Row order is not
+ * preserved by removals. {@link #toGraph()} takes an immutable snapshot when a static algorithm has to run.
+ * This class is not thread-safe.
+ */
+public class DynamicAdjacency {
+    private static final int[] EMPTY = new int[0];
+
+    private int n;
+    private int m;
+    private int[][] out = new int[0][];
+    private int[] outLen = new int[0];
+    private int[][] in = new int[0][];
+    private int[] inLen = new int[0];
+
+    /**
+     * Creates an empty graph with the given number of nodes.
+     *
+     * @param n the number of nodes
+     */
+    public DynamicAdjacency(int n) {
+        if (n < 0) throw new IllegalArgumentException("negative node count");
+        ensureNodes(n);
+    }
+
+    /**
+     * Creates a mutable copy of a graph's edges.
+     *
+     * @param g the graph
+     * @return the copy
+     */
+    public static DynamicAdjacency fromGraph(Graph g) {
+        if (g == null) throw new IllegalArgumentException("graph is null");
+        DynamicAdjacency d = new DynamicAdjacency(g.nodeCount());
+        int[] off = g.offsets();
+        int[] tgt = g.targets();
+        int[] indeg = g.analysis().inDegrees();
+        for (int v = 0; v < d.n; v++) {
+            d.out[v] = Arrays.copyOfRange(tgt, off[v], off[v + 1]);
+            d.outLen[v] = d.out[v].length;
+            d.in[v] = indeg[v] == 0 ? EMPTY : new int[indeg[v]];
+        }
+        for (int u = 0; u < d.n; u++) {
+            for (int i = off[u]; i < off[u + 1]; i++) d.in[tgt[i]][d.inLen[tgt[i]]++] = u;
+        }
+        d.m = tgt.length;
+        return d;
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the node count
+     */
+    public int nodeCount() {
+        return n;
+    }
+
+    /**
+     * Returns the number of edges, counting parallel edges separately.
+     *
+     * @return the edge count
+     */
+    public int edgeCount() {
+        return m;
+    }
+
+    /**
+     * Adds a node without edges.
+     *
+     * @return the id of the new node
+     */
+    public int addNode() {
+        ensureNodes(n + 1);
+        return n - 1;
+    }
+
+    /**
+     * Grows the graph to at least the given number of nodes.
+     *
+     * @param count the required node count
+     */
+    public void ensureNodes(int count) {
+        if (count <= n) return;
+        if (count > out.length) {
+            int cap = Math.max(count, out.length + (out.length >> 1) + 1);
+            out = Arrays.copyOf(out, cap);
+            in = Arrays.copyOf(in, cap);
+            outLen = Arrays.copyOf(outLen, cap);
+            inLen = Arrays.copyOf(inLen, cap);
+        }
+        for (int v = n; v < count; v++) {
+            out[v] = EMPTY;
+            in[v] = EMPTY;
+        }
+        n = count;
+    }
+
+    /**
+     * Adds the edge u -> v. Parallel edges are kept.
+     *
+     * @param u the source node
+     * @param v the target node
+     */
+    public void addEdge(int u, int v) {
+        check(u);
+        check(v);
+        out[u] = append(out[u], outLen[u]++, v);
+        in[v] = append(in[v], inLen[v]++, u);
+        m++;
+    }
+
+    /**
+     * Removes one edge u -> v.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return false if there was no such edge
+     */
+    public boolean removeEdge(int u, int v) {
+        check(u);
+        check(v);
+        if (!remove(out[u], outLen, u, v)) return false;
+        remove(in[v], inLen, v, u);
+        m--;
+        return true;
+    }
+
+    /**
+     * Removes every edge into or out of a node.
+     *
+     * @param v the node
+     */
+    public void removeAllEdges(int v) {
+        check(v);
+        for (int i = 0; i < outLen[v]; i++) {
+            int w = out[v][i];
+            if (w != v) remove(in[w], inLen, w, v);
+        }
+        m -= outLen[v];
+        outLen[v] = 0;
+        for (int i = 0; i < inLen[v]; i++) {
+            int w = in[v][i];
+            if (w == v) continue; // self loop, already counted and cleared above
+            remove(out[w], outLen, w, v);
+            m--;
+        }
+        inLen[v] = 0;
+    }
+
+    /**
+     * Returns whether there is at least one edge u -> v.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return true if the edge exists
+     */
+    public boolean hasEdge(int u, int v) {
+        check(u);
+        check(v);
+        // Scan the shorter of the two rows
+        if (outLen[u] <= inLen[v]) return indexOf(out[u], outLen[u], v) >= 0;
+        return indexOf(in[v], inLen[v], u) >= 0;
+    }
+
+    /**
+     * Returns the out-degree of a node.
+     *
+     * @param v the node
+     * @return the number of outgoing edges
+     */
+    public int outDegree(int v) {
+        check(v);
+        return outLen[v];
+    }
+
+    /**
+     * Returns the in-degree of a node.
+     *
+     * @param v the node
+     * @return the number of incoming edges
+     */
+    public int inDegree(int v) {
+        check(v);
+        return inLen[v];
+    }
+
+    /**
+     * Returns the successor row of a node: its first {@link #outDegree(int)} entries are the successors. The array
+     * is shared, must not be modified and is only valid until the next update.
+     *
+     * @param v the node
+     * @return the successor row
+     */
+    public int[] successors(int v) {
+        check(v);
+        return out[v];
+    }
+
+    /**
+     * Returns the predecessor row of a node: its first {@link #inDegree(int)} entries are the predecessors. The
+     * array is shared, must not be modified and is only valid until the next update.
+     *
+     * @param v the node
+     * @return the predecessor row
+     */
+    public int[] predecessors(int v) {
+        check(v);
+        return in[v];
+    }
+
+    /**
+     * Takes an immutable snapshot of the current edges, without durations.
+     *
+     * @return the graph
+     */
+    public Graph toGraph() {
+        int[] off = new int[n + 1];
+        for (int v = 0; v < n; v++) off[v + 1] = off[v] + outLen[v];
+        int[] tgt = new int[m];
+        for (int v = 0; v < n; v++) System.arraycopy(out[v], 0, tgt, off[v], outLen[v]);
+        return Graph.fromCsr(n, off, tgt, new long[n], null);
+    }
+
+    private void check(int v) {
+        if (v < 0 || v >= n) throw new IllegalArgumentException("node out of range: " + v);
+    }
+
+    private static int[] append(int[] row, int len, int x) {
+        if (len == row.length) row = Arrays.copyOf(row, Math.max(4, len * 2));
+        row[len] = x;
+        return row;
+    }
+
+    private static int indexOf(int[] row, int len, int x) {
+        for (int i = 0; i < len; i++) if (row[i] == x) return i;
+        return -1;
+    }
+
+    private static boolean remove(int[] row, int[] lens, int owner, int x) {
+        int i = indexOf(row, lens[owner], x);
+        if (i < 0) return false;
+        row[i] = row[--lens[owner]];
+        return true;
+    }
+}
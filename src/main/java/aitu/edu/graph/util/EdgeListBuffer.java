@@ -0,0 +1,169 @@
+package aitu.edu.graph.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Collects the parts of a graph description (nodes, edges with optional weights, durations, weight model)
+ * into growable primitive arrays and turns them into a CSR {@link Graph}.
+ * <p>
+ * This is the one place the graph rules of the JSON inputs live; {@link GraphBuilder} and
+ * {@link GraphStreamReader} both feed it. The node count covers the "nodes" array, the top-level "n", every
+ * edge endpoint and every duration key; edges keep their input order per source node; and with weight model
+ * "node", nodes without an explicit duration take the maximum weight of their outgoing edges. The parts may
+ * arrive in any order.
+ */
+public class EdgeListBuffer {
+    private int n = 0;
+    private int m = 0;
+    private int[] src = new int[16];
+    private int[] dst = new int[16];
+    private long[] weight = new long[16];
+    private final BitSet hasWeight = new BitSet();
+
+    private int durCount = 0;
+    private int[] durNode = new int[8];
+    private long[] durValue = new long[8];
+
+    private String weightModel;
+
+    /**
+     * Constructs an empty EdgeListBuffer.
+     */
+    public EdgeListBuffer() {}
+
+    /**
+     * Ensures the graph has at least n nodes.
+     *
+     * @param n the minimum number of nodes
+     * @return this buffer
+     */
+    public EdgeListBuffer ensureN(int n) {
+        if (n > this.n) this.n = n;
+        return this;
+    }
+
+    /**
+     * Adds an unweighted edge from u to v.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return this buffer
+     */
+    public EdgeListBuffer addEdge(int u, int v) {
+        return addEdge(u, v, 0L, false);
+    }
+
+    /**
+     * Adds an edge from u to v with a weight.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @param w the edge weight
+     * @return this buffer
+     */
+    public EdgeListBuffer addEdge(int u, int v, long w) {
+        return addEdge(u, v, w, true);
+    }
+
+    private EdgeListBuffer addEdge(int u, int v, long w, boolean weighted) {
+        if (u < 0 || v < 0) throw new IllegalArgumentException("negative node id in edge " + u + "->" + v);
+        if (m == src.length) {
+            int cap = Math.max(16, src.length + (src.length >> 1));
+            src = Arrays.copyOf(src, cap);
+            dst = Arrays.copyOf(dst, cap);
+            weight = Arrays.copyOf(weight, cap);
+        }
+        src[m] = u;
+        dst[m] = v;
+        weight[m] = w;
+        if (weighted) hasWeight.set(m);
+        m++;
+        ensureN(Math.max(u, v) + 1);
+        return this;
+    }
+
+    /**
+     * Sets the duration of a node; a later call for the same node wins. Negative node ids are ignored.
+     *
+     * @param node     the node
+     * @param duration the duration
+     * @return this buffer
+     */
+    public EdgeListBuffer setDuration(int node, long duration) {
+        if (node < 0) return this;
+        if (durCount == durNode.length) {
+            durNode = Arrays.copyOf(durNode, durCount * 2);
+            durValue = Arrays.copyOf(durValue, durCount * 2);
+        }
+        durNode[durCount] = node;
+        durValue[durCount] = duration;
+        durCount++;
+        ensureN(node + 1);
+        return this;
+    }
+
+    /**
+     * Sets the weight model; "node" makes edge weights the fallback durations of their source nodes.
+     *
+     * @param weightModel the weight model, or null
+     * @return this buffer
+     */
+    public EdgeListBuffer weightModel(String weightModel) {
+        this.weightModel = weightModel;
+        return this;
+    }
+
+    /**
+     * Returns the current node count.
+     *
+     * @return the node count
+     */
+    public int nodeCount() {
+        return n;
+    }
+
+    /**
+     * Returns the number of edges added so far.
+     *
+     * @return the edge count
+     */
+    public int edgeCount() {
+        return m;
+    }
+
+    /**
+     * Builds the Graph: counts out-degrees, prefix-sums them into CSR offsets and places the edges with a
+     * stable counting sort, then resolves durations.
+     *
+     * @return the constructed Graph
+     */
+    public Graph build() {
+        int[] off = new int[n + 1];
+        for (int i = 0; i < m; i++) off[src[i] + 1]++;
+        for (int i = 0; i < n; i++) off[i + 1] += off[i];
+        int[] fill = Arrays.copyOf(off, n);
+        int[] tgt = new int[m];
+        for (int i = 0; i < m; i++) tgt[fill[src[i]]++] = dst[i];
+
+        long[] dur = new long[n];
+        BitSet hasDur = new BitSet(n);
+        for (int i = 0; i < durCount; i++) {
+            dur[durNode[i]] = durValue[i];
+            hasDur.set(durNode[i]);
+        }
+
+        // If weight_model==node, nodes without explicit durations take the max outgoing edge weight
+        if ("node".equalsIgnoreCase(weightModel) && !hasWeight.isEmpty()) {
+            BitSet inferred = new BitSet(n);
+            for (int i = hasWeight.nextSetBit(0); i >= 0 && i < m; i = hasWeight.nextSetBit(i + 1)) {
+                int u = src[i];
+                if (hasDur.get(u)) continue;
+                if (!inferred.get(u) || weight[i] > dur[u]) dur[u] = weight[i];
+                inferred.set(u);
+            }
+            hasDur.or(inferred);
+        }
+        return Graph.fromCsr(n, off, tgt, dur, hasDur);
+    }
+}
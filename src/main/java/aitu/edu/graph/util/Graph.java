@@ -4,11 +4,24 @@ import java.util.*;
 
 /**
  * Represents an immutable directed graph with nodes and edges, including node durations.
+ * <p>
+ * Adjacency is stored in compressed sparse row (CSR) form: the successors of node {@code v} are
+ * {@code targets()[offsets()[v]] .. targets()[offsets()[v + 1] - 1]}, in insertion order. Durations are kept
+ * in a primitive array (0 for nodes without a duration) plus a presence bit set.
  */
 public final class Graph {
     private final int n;
-    private final List<List<Integer>> adj;
-    private final Map<Integer, Long> durations;
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] durations;
+    private final BitSet hasDuration;
+
+    // Lazily built views and derived structures
+    private volatile int[] revOffsets;
+    private volatile int[] revSources;
+    private volatile List<List<Integer>> adjView;
+    private volatile Map<Integer, Long> durationsView;
+    private volatile AnalysisCache analysis;
 
     /**
      * Constructs a Graph with the given number of nodes, adjacency list, and durations.
@@ -19,20 +32,64 @@ public final class Graph {
      */
     public Graph(int n, List<List<Integer>> adj, Map<Integer, Long> durations) {
         this.n = n;
-        // Defensive copy of adjacency list
-        List<List<Integer>> copy = new ArrayList<>(n);
+        // Count edges, then copy rows into the CSR arrays
+        this.offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            List<Integer> row = (i < adj.size()) ? adj.get(i) : null;
+            offsets[i + 1] = offsets[i] + (row == null ? 0 : row.size());
+        }
+        this.targets = new int[offsets[n]];
         for (int i = 0; i < n; i++) {
-            List<Integer> row = (i < adj.size() && adj.get(i) != null)
-                    ? Collections.unmodifiableList(new ArrayList<>(adj.get(i)))
-                    : Collections.emptyList();
-            copy.add(row);
+            List<Integer> row = (i < adj.size()) ? adj.get(i) : null;
+            if (row == null) continue;
+            int pos = offsets[i];
+            for (int v : row) targets[pos++] = v;
+        }
+
+        // Copy durations into the primitive array
+        this.durations = new long[n];
+        this.hasDuration = new BitSet(n);
+        if (durations != null) {
+            for (Map.Entry<Integer, Long> e : durations.entrySet()) {
+                Integer k = e.getKey();
+                if (k == null || e.getValue() == null || k < 0 || k >= n) continue; // no such node
+                this.durations[k] = e.getValue();
+                hasDuration.set(k);
+            }
         }
-        this.adj = Collections.unmodifiableList(copy);
+    }
 
-        // Defensive copy of durations
-        Map<Integer, Long> dcopy = new HashMap<>();
-        if (durations != null) dcopy.putAll(durations);
-        this.durations = Collections.unmodifiableMap(dcopy);
+    private Graph(int n, int[] offsets, int[] targets, long[] durations, BitSet hasDuration) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.durations = durations;
+        this.hasDuration = hasDuration;
+    }
+
+    /**
+     * Creates a Graph directly from CSR arrays. The arrays are taken over without copying and must not be
+     * modified afterwards.
+     *
+     * @param n           the number of nodes
+     * @param offsets     the row offsets, of length {@code n + 1}
+     * @param targets     the edge targets, of length {@code offsets[n]}
+     * @param durations   the node durations, of length {@code n} (0 where not set)
+     * @param hasDuration the set of nodes whose duration is explicitly set, or null for none
+     * @return the Graph
+     */
+    public static Graph fromCsr(int n, int[] offsets, int[] targets, long[] durations, BitSet hasDuration) {
+        if (n < 0) throw new IllegalArgumentException("negative node count");
+        if (offsets == null || offsets.length != n + 1 || offsets[0] != 0) {
+            throw new IllegalArgumentException("offsets must have length n + 1 and start at 0");
+        }
+        if (targets == null || targets.length != offsets[n]) {
+            throw new IllegalArgumentException("targets length does not match offsets[n]");
+        }
+        if (durations == null || durations.length != n) {
+            throw new IllegalArgumentException("durations must have length n");
+        }
+        return new Graph(n, offsets, targets, durations, hasDuration == null ? new BitSet(n) : hasDuration);
     }
 
     /**
@@ -45,12 +102,131 @@ public final class Graph {
     }
 
     /**
-     * Returns the adjacency list of the graph.
+     * Returns the number of edges in the graph.
+     *
+     * @return the edge count
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the CSR row offsets (length {@code n + 1}). The array is shared and must not be modified.
+     *
+     * @return the offsets array
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the CSR edge targets (length {@link #edgeCount()}). The array is shared and must not be modified.
+     *
+     * @return the targets array
+     */
+    public int[] targets() {
+        return targets;
+    }
+
+    /**
+     * Returns the node durations, with 0 for nodes without a duration. The array is shared and must not be modified.
+     *
+     * @return the durations array
+     */
+    public long[] durationArray() {
+        return durations;
+    }
+
+    /**
+     * Returns the row offsets of the reverse graph, building the reverse CSR on first use.
+     * The array is shared and must not be modified.
+     *
+     * @return the reverse offsets array
+     */
+    public int[] reverseOffsets() {
+        ensureReverse();
+        return revOffsets;
+    }
+
+    /**
+     * Returns the edge sources of the reverse graph: the predecessors of {@code v} are
+     * {@code reverseSources()[reverseOffsets()[v]] .. reverseSources()[reverseOffsets()[v + 1] - 1]},
+     * ordered by ascending source. The array is shared and must not be modified.
+     *
+     * @return the reverse sources array
+     */
+    public int[] reverseSources() {
+        ensureReverse();
+        return revSources;
+    }
+
+    private void ensureReverse() {
+        if (revSources != null) return;
+        synchronized (this) {
+            if (revSources != null) return;
+            int[] roff = new int[n + 1];
+            for (int t : targets) roff[t + 1]++;
+            for (int i = 0; i < n; i++) roff[i + 1] += roff[i];
+            int[] fill = Arrays.copyOf(roff, n);
+            int[] rsrc = new int[targets.length];
+            // Stable counting sort: sources of each row end up in ascending order
+            for (int u = 0; u < n; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) rsrc[fill[targets[i]]++] = u;
+            }
+            revOffsets = roff;
+            revSources = rsrc;
+        }
+    }
+
+    /**
+     * Returns the size of the reverse CSR in bytes, or 0 if it has not been built.
+     */
+    long reverseBytes() {
+        int[] rsrc = revSources;
+        return rsrc == null ? 0 : 32L + 4L * (n + 1) + 4L * rsrc.length;
+    }
+
+    /**
+     * Returns the memoized analysis results of this graph, such as its topological order or SCCs.
+     *
+     * @return the analysis cache
+     */
+    public AnalysisCache analysis() {
+        AnalysisCache c = analysis;
+        if (c == null) {
+            synchronized (this) {
+                c = analysis;
+                if (c == null) {
+                    c = new AnalysisCache(this);
+                    analysis = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Returns the adjacency list of the graph as read-only views over the CSR arrays.
      *
      * @return the adjacency list
      */
     public List<List<Integer>> adjacency() {
-        return adj;
+        List<List<Integer>> view = adjView;
+        if (view == null) {
+            view = new AbstractList<>() {
+                @Override
+                public List<Integer> get(int v) {
+                    return neighbors(v);
+                }
+
+                @Override
+                public int size() {
+                    return n;
+                }
+            };
+            adjView = view;
+        }
+        return view;
     }
 
     /**
@@ -60,7 +236,8 @@ public final class Graph {
      * @return the list of neighbors
      */
     public List<Integer> neighbors(int v) {
-        return (v >= 0 && v < n) ? adj.get(v) : Collections.emptyList();
+        if (v < 0 || v >= n || offsets[v] == offsets[v + 1]) return Collections.emptyList();
+        return new RowView(offsets[v], offsets[v + 1]);
     }
 
     /**
@@ -70,8 +247,8 @@ public final class Graph {
      * @return the duration, or empty if not set
      */
     public OptionalLong durationOf(int v) {
-        Long d = durations.get(v);
-        return d == null ? OptionalLong.empty() : OptionalLong.of(d);
+        if (v < 0 || v >= n || !hasDuration.get(v)) return OptionalLong.empty();
+        return OptionalLong.of(durations[v]);
     }
 
     /**
@@ -80,19 +257,51 @@ public final class Graph {
      * @return the durations map
      */
     public Map<Integer, Long> durations() {
-        return durations;
+        Map<Integer, Long> view = durationsView;
+        if (view == null) {
+            Map<Integer, Long> m = new HashMap<>();
+            for (int v = hasDuration.nextSetBit(0); v >= 0; v = hasDuration.nextSetBit(v + 1)) m.put(v, durations[v]);
+            view = Collections.unmodifiableMap(m);
+            durationsView = view;
+        }
+        return view;
     }
 
     /**
-     * Returns a list of all edges as int[2] arrays.
+     * Returns a new list of all edges as int[2] arrays. Prefer {@link #edgeCount()} or the CSR arrays where
+     * they suffice; this allocates a pair per edge on every call.
      *
      * @return the list of edges
      */
     public List<int[]> edges() {
-        List<int[]> es = new ArrayList<>();
+        List<int[]> es = new ArrayList<>(targets.length);
         for (int u = 0; u < n; u++) {
-            for (int v : adj.get(u)) es.add(new int[]{u, v});
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) es.add(new int[]{u, targets[i]});
         }
         return es;
     }
+
+    /**
+     * Read-only list view over a slice of the targets array.
+     */
+    private final class RowView extends AbstractList<Integer> implements RandomAccess {
+        private final int from;
+        private final int to;
+
+        RowView(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= to - from) throw new IndexOutOfBoundsException("Index: " + index);
+            return targets[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
 }
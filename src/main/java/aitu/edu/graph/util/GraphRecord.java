@@ -0,0 +1,153 @@
+package aitu.edu.graph.util;
+
+/**
+ * One graph read from an input file, together with the descriptive fields the reports use.
+ */
+public class GraphRecord {
+    private final int index;
+    private final String idText;
+    private final int id;
+    private final int errorId;
+    private final String density;
+    private final String variant;
+    private final boolean hasSource;
+    private final int source;
+    private final String weightModel;
+    private final boolean dag;
+    private final Graph graph;
+    private final RuntimeException buildError;
+
+    /**
+     * Constructs a GraphRecord.
+     *
+     * @param index       the position of the graph in its file
+     * @param idText      the "id" field as text, or null if absent
+     * @param id          the "id" field as a number, or -1 if absent
+     * @param errorId     the "id" field as failure entries report it: -1 if absent or not a number
+     * @param density     the "density" field, or null if absent
+     * @param variant     the "variant" field, or null if absent
+     * @param hasSource   whether a "source" field was present
+     * @param source      the "source" field, or -1 if absent
+     * @param weightModel the "weight_model" field, or null if absent
+     * @param dag         whether metadata.is_dag is true
+     * @param graph       the graph, or null if it could not be built
+     * @param buildError  the error that prevented building the graph, or null
+     */
+    public GraphRecord(int index, String idText, int id, int errorId, String density, String variant, boolean hasSource, int source,
+                       String weightModel, boolean dag, Graph graph, RuntimeException buildError) {
+        this.index = index;
+        this.idText = idText;
+        this.id = id;
+        this.errorId = errorId;
+        this.density = density;
+        this.variant = variant;
+        this.hasSource = hasSource;
+        this.source = source;
+        this.weightModel = weightModel;
+        this.dag = dag;
+        this.graph = graph;
+        this.buildError = buildError;
+    }
+
+    /**
+     * Returns the position of the graph in its file.
+     *
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the "id" field as text.
+     *
+     * @return the id text, or null if absent
+     */
+    public String getIdText() {
+        return idText;
+    }
+
+    /**
+     * Returns the "id" field as a number.
+     *
+     * @return the id, or -1 if absent
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the "id" field as a number for a failure entry. Unlike {@link #getId()}, an id that is not a number
+     * (e.g. text or an object) reads as -1 rather than 0.
+     *
+     * @return the id, or -1 if absent or not a number
+     */
+    public int getErrorId() {
+        return errorId;
+    }
+
+    /**
+     * Returns the "density" field.
+     *
+     * @return the density, or null if absent
+     */
+    public String getDensity() {
+        return density;
+    }
+
+    /**
+     * Returns the "variant" field.
+     *
+     * @return the variant, or null if absent
+     */
+    public String getVariant() {
+        return variant;
+    }
+
+    /**
+     * Returns whether a "source" field was present.
+     *
+     * @return true if the source is set
+     */
+    public boolean hasSource() {
+        return hasSource;
+    }
+
+    /**
+     * Returns the "source" field.
+     *
+     * @return the source node, or -1 if absent
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the "weight_model" field.
+     *
+     * @return the weight model, or null if absent
+     */
+    public String getWeightModel() {
+        return weightModel;
+    }
+
+    /**
+     * Returns whether the input marks the graph as a DAG (metadata.is_dag).
+     *
+     * @return true if marked as a DAG
+     */
+    public boolean isDag() {
+        return dag;
+    }
+
+    /**
+     * Returns the graph.
+     *
+     * @return the graph
+     * @throws RuntimeException the build error if the graph description was invalid
+     */
+    public Graph graph() {
+        if (buildError != null) throw buildError;
+        return graph;
+    }
+}
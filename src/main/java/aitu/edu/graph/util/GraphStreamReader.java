@@ -0,0 +1,426 @@
+package aitu.edu.graph.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads graphs from a JSON input file one at a time with Jackson's streaming {@link JsonParser}.
+ * <p>
+ * The file is either a single graph object or an object with a "graphs" array. Each graph is built straight
+ * from the tokens into an {@link EdgeListBuffer} and handed out before the next one is read, so memory use is
+ * bounded by the largest graph instead of the file size. The graph fields follow the same rules as
+ * {@link GraphBuilder#fromJson}. A graph whose description is invalid (e.g. a negative node id) is still
+ * returned; its {@link GraphRecord#graph()} throws the build error.
+ */
+public class GraphStreamReader implements Iterator<GraphRecord>, Closeable {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private boolean arrayMode;
+    private boolean done;
+    private GraphRecord pending;
+    private int index;
+
+    /**
+     * Opens a reader over a JSON file.
+     *
+     * @param file the input file
+     * @throws IOException if the file cannot be opened or its top level cannot be parsed
+     */
+    public GraphStreamReader(File file) throws IOException {
+        this(FACTORY.createParser(file));
+    }
+
+    /**
+     * Opens a reader over a JSON stream.
+     *
+     * @param in the input stream, closed together with this reader
+     * @throws IOException if the top level cannot be parsed
+     */
+    public GraphStreamReader(InputStream in) throws IOException {
+        this(FACTORY.createParser(in));
+    }
+
+    private GraphStreamReader(JsonParser parser) throws IOException {
+        this.parser = parser;
+        try {
+            readTopLevel();
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the top-level object as a single graph, ignoring any "graphs" array, like {@link GraphBuilder#fromFile}.
+     *
+     * @param file the input file
+     * @return the graph record
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public static GraphRecord readSingle(File file) throws IOException {
+        try (JsonParser p = FACTORY.createParser(file)) {
+            return readSingleFields(p).toRecord(0);
+        }
+    }
+
+    /**
+     * Reads the single graph described by the parser's next value into an edge buffer, ignoring any "graphs"
+     * array. The buffer has its node count and weight model applied, ready to be built.
+     *
+     * @param p the parser, before the graph object
+     * @return the edge buffer
+     * @throws IOException if parsing fails
+     * @throws IllegalArgumentException if the graph description is invalid
+     */
+    static EdgeListBuffer readBuffer(JsonParser p) throws IOException {
+        return readSingleFields(p).buffer();
+    }
+
+    /**
+     * Reads the top-level graph of a file into an edge buffer, ignoring any "graphs" array.
+     *
+     * @param file the input file
+     * @return the edge buffer
+     * @throws IOException if the file cannot be read or parsed
+     * @throws IllegalArgumentException if the graph description is invalid
+     */
+    static EdgeListBuffer readBuffer(File file) throws IOException {
+        try (JsonParser p = FACTORY.createParser(file)) {
+            return readBuffer(p);
+        }
+    }
+
+    private static GraphFields readSingleFields(JsonParser p) throws IOException {
+        GraphFields fields = new GraphFields();
+        if (p.nextToken() == JsonToken.START_OBJECT) {
+            readGraphObject(p, fields, false);
+        } else {
+            p.skipChildren();
+        }
+        return fields;
+    }
+
+    /**
+     * Scans top-level fields until the "graphs" array starts, or reads the whole top level as one graph.
+     */
+    private void readTopLevel() throws IOException {
+        GraphFields single = new GraphFields();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            // Not an object: treated as a single graph without any fields
+            parser.skipChildren();
+            pending = single.toRecord(0);
+            return;
+        }
+        if (readGraphObject(parser, single, true)) {
+            arrayMode = true;
+        } else {
+            pending = single.toRecord(0);
+        }
+    }
+
+    /**
+     * Returns whether the file holds a "graphs" array rather than a single graph object.
+     *
+     * @return true for a "graphs" array
+     */
+    public boolean hasGraphsArray() {
+        return arrayMode;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending != null) return true;
+        if (done || !arrayMode) return false;
+        try {
+            JsonToken t = parser.nextToken();
+            if (t == null || t == JsonToken.END_ARRAY) {
+                done = true;
+                return false;
+            }
+            GraphFields fields = new GraphFields();
+            if (t == JsonToken.START_OBJECT) {
+                readGraphObject(parser, fields, false);
+            } else {
+                parser.skipChildren();
+            }
+            pending = fields.toRecord(index);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public GraphRecord next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        GraphRecord r = pending;
+        pending = null;
+        index++;
+        if (!arrayMode) done = true;
+        return r;
+    }
+
+    /**
+     * Returns the remaining graphs as a sequential stream; closing the stream closes this reader.
+     *
+     * @return the stream of graph records
+     */
+    public Stream<GraphRecord> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * Reads the fields of a graph object; the parser must be on its START_OBJECT token.
+     *
+     * @param p        the parser
+     * @param fields   the collected fields
+     * @param topLevel whether a "graphs" array should stop reading
+     * @return true if reading stopped at the start of a "graphs" array
+     */
+    private static boolean readGraphObject(JsonParser p, GraphFields fields, boolean topLevel) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.getCurrentName();
+            JsonToken t = p.nextToken();
+            switch (name) {
+                case "graphs":
+                    if (topLevel && t == JsonToken.START_ARRAY) return true;
+                    p.skipChildren();
+                    break;
+                case "id":
+                    fields.idText = readText(p);
+                    fields.id = readInt(p);
+                    fields.errorId = p.getValueAsInt(-1);
+                    break;
+                case "n":
+                    if (t == JsonToken.VALUE_NUMBER_INT && p.getNumberType() == JsonParser.NumberType.INT) {
+                        fields.nField = p.getIntValue();
+                    }
+                    p.skipChildren();
+                    break;
+                case "nodes":
+                    readNodes(p, fields);
+                    break;
+                case "edges":
+                    readEdges(p, fields);
+                    break;
+                case "durations":
+                    readDurations(p, fields);
+                    break;
+                case "weight_model":
+                    fields.weightModel = readText(p);
+                    break;
+                case "density":
+                    fields.density = readText(p);
+                    break;
+                case "variant":
+                    fields.variant = readText(p);
+                    break;
+                case "source":
+                    fields.hasSource = true;
+                    fields.source = readInt(p);
+                    break;
+                case "metadata":
+                    readMetadata(p, fields);
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+        return false;
+    }
+
+    private static void readNodes(JsonParser p, GraphFields fields) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        int max = -1;
+        while (p.nextToken() != JsonToken.END_ARRAY) max = Math.max(max, readInt(p));
+        fields.nodesN = Math.max(fields.nodesN, max + 1);
+    }
+
+    private static void readEdges(JsonParser p, GraphFields fields) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t == JsonToken.START_ARRAY) {
+                // [u, v, ...]
+                int count = 0;
+                int u = 0;
+                int v = 0;
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    int x = readInt(p);
+                    if (count == 0) u = x;
+                    else if (count == 1) v = x;
+                    count++;
+                }
+                if (count >= 2) fields.addEdge(u, v, 0L, false);
+            } else if (t == JsonToken.START_OBJECT) {
+                // {"u":..,"v":..,"w":..}
+                boolean hasU = false;
+                boolean hasV = false;
+                boolean hasW = false;
+                int u = 0;
+                int v = 0;
+                long w = 0;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.getCurrentName();
+                    p.nextToken();
+                    switch (name) {
+                        case "u":
+                            hasU = true;
+                            u = readInt(p);
+                            break;
+                        case "v":
+                            hasV = true;
+                            v = readInt(p);
+                            break;
+                        case "w":
+                            hasW = true;
+                            w = readLong(p);
+                            break;
+                        default:
+                            p.skipChildren();
+                    }
+                }
+                if (hasU && hasV) fields.addEdge(u, v, w, hasW);
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private static void readDurations(JsonParser p, GraphFields fields) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String key = p.getCurrentName();
+            p.nextToken();
+            long val = readLong(p);
+            try {
+                int node = Integer.parseInt(key);
+                fields.buffer.setDuration(node, val);
+            } catch (NumberFormatException ex) {
+                // ignore non-integer keys
+            }
+        }
+    }
+
+    private static void readMetadata(JsonParser p, GraphFields fields) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.getCurrentName();
+            p.nextToken();
+            if ("is_dag".equals(name) && !p.currentToken().isStructStart()) {
+                fields.dag = p.getValueAsBoolean();
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private static int readInt(JsonParser p) throws IOException {
+        if (p.currentToken().isStructStart()) {
+            p.skipChildren();
+            return 0;
+        }
+        return p.getValueAsInt(0);
+    }
+
+    private static long readLong(JsonParser p) throws IOException {
+        if (p.currentToken().isStructStart()) {
+            p.skipChildren();
+            return 0L;
+        }
+        return p.getValueAsLong(0L);
+    }
+
+    private static String readText(JsonParser p) throws IOException {
+        if (p.currentToken().isStructStart()) {
+            p.skipChildren();
+            return "";
+        }
+        if (p.currentToken() == JsonToken.VALUE_NULL) return "null";
+        return p.getValueAsString("");
+    }
+
+    /**
+     * Fields of one graph collected while its tokens are read.
+     */
+    private static final class GraphFields {
+        final EdgeListBuffer buffer = new EdgeListBuffer();
+        RuntimeException error;
+        String idText;
+        int id = -1;
+        int errorId = -1;
+        String density;
+        String variant;
+        boolean hasSource;
+        int source = -1;
+        String weightModel;
+        boolean dag;
+        int nodesN = 0;
+        int nField = 0;
+
+        void addEdge(int u, int v, long w, boolean weighted) {
+            if (error != null) return;
+            try {
+                if (weighted) buffer.addEdge(u, v, w);
+                else buffer.addEdge(u, v);
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+
+        EdgeListBuffer buffer() {
+            if (error != null) throw error;
+            return buffer.ensureN(Math.max(nodesN, nField)).weightModel(weightModel);
+        }
+
+        GraphRecord toRecord(int index) {
+            Graph g = null;
+            RuntimeException err = null;
+            try {
+                g = buffer().build();
+            } catch (RuntimeException e) {
+                err = e;
+            }
+            return new GraphRecord(index, idText, idText == null ? -1 : id, idText == null ? -1 : errorId, density,
+                    variant, hasSource, source, weightModel, dag, g, err);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package aitu.edu.graph.util;
+
+/**
+ * Depth-first search over CSR arrays driven by an explicit stack instead of recursion.
+ * <p>
+ * The stack and the per-frame edge cursors are allocated once for the node count, so traversals never
+ * allocate and never depend on the thread stack size. Edges are explored in CSR order, which makes the
+ * visit and finish order identical to the straightforward recursive DFS. An instance is not thread-safe,
+ * but may be reused for any number of traversals over graphs with at most {@code n} nodes.
+ */
+public final class IterativeDfs {
+    private final int[] stack;
+    private final int[] cursor;
+
+    /**
+     * Constructs a DFS engine for graphs with up to n nodes.
+     *
+     * @param n the maximum number of nodes
+     */
+    public IterativeDfs(int n) {
+        this.stack = new int[Math.max(1, n)];
+        this.cursor = new int[Math.max(1, n)];
+    }
+
+    /**
+     * Runs a DFS from root over unvisited nodes and appends them to out in post-order (finishing order).
+     *
+     * @param root    the start node, which must not be visited yet
+     * @param off     CSR offsets
+     * @param adj     CSR edge endpoints
+     * @param visited visited flags, updated in place
+     * @param out     array receiving finished nodes
+     * @param len     number of entries already in out
+     * @param metrics optional metrics collector
+     * @return the new number of entries in out
+     */
+    public int postOrder(int root, int[] off, int[] adj, boolean[] visited, int[] out, int len, Metrics metrics) {
+        if (metrics != null) metrics.incDfsVisit();
+        visited[root] = true;
+        int sp = 0;
+        stack[0] = root;
+        cursor[0] = off[root];
+        while (sp >= 0) {
+            int v = stack[sp];
+            int i = cursor[sp];
+            if (i < off[v + 1]) {
+                cursor[sp] = i + 1;
+                if (metrics != null) metrics.incDfsEdge();
+                int to = adj[i];
+                if (!visited[to]) {
+                    if (metrics != null) metrics.incDfsVisit();
+                    visited[to] = true;
+                    stack[++sp] = to;
+                    cursor[sp] = off[to];
+                }
+            } else {
+                // All edges explored: record in post-order
+                out[len++] = v;
+                sp--;
+            }
+        }
+        return len;
+    }
+
+    /**
+     * Runs a DFS from root over unlabeled nodes (label -1), assigning them the given label and appending
+     * them to out in pre-order (discovery order).
+     *
+     * @param root    the start node, which must be unlabeled
+     * @param off     CSR offsets
+     * @param adj     CSR edge endpoints
+     * @param label   node labels, -1 for unlabeled, updated in place
+     * @param id      the label to assign
+     * @param out     array receiving discovered nodes
+     * @param len     number of entries already in out
+     * @param metrics optional metrics collector
+     * @return the new number of entries in out
+     */
+    public int preOrder(int root, int[] off, int[] adj, int[] label, int id, int[] out, int len, Metrics metrics) {
+        if (metrics != null) metrics.incDfsVisit();
+        label[root] = id;
+        out[len++] = root;
+        int sp = 0;
+        stack[0] = root;
+        cursor[0] = off[root];
+        while (sp >= 0) {
+            int v = stack[sp];
+            int i = cursor[sp];
+            if (i < off[v + 1]) {
+                cursor[sp] = i + 1;
+                if (metrics != null) metrics.incDfsEdge();
+                int to = adj[i];
+                if (label[to] == -1) {
+                    if (metrics != null) metrics.incDfsVisit();
+                    label[to] = id;
+                    out[len++] = to;
+                    stack[++sp] = to;
+                    cursor[sp] = off[to];
+                }
+            } else {
+                sp--;
+            }
+        }
+        return len;
+    }
+}
@@ -16,6 +16,54 @@ public interface Metrics {
      * Increments the relaxation count.
      */
     void incRelaxation();
+    /**
+     * Adds to the DFS visit count, e.g. to credit work whose result was cached.
+     *
+     * @param count the number of visits
+     */
+    default void addDfsVisits(long count) {
+        for (long i = 0; i < count; i++) incDfsVisit();
+    }
+    /**
+     * Adds to the DFS edge count.
+     *
+     * @param count the number of edges
+     */
+    default void addDfsEdges(long count) {
+        for (long i = 0; i < count; i++) incDfsEdge();
+    }
+    /**
+     * Adds to the relaxation count.
+     *
+     * @param count the number of relaxations
+     */
+    default void addRelaxations(long count) {
+        for (long i = 0; i < count; i++) incRelaxation();
+    }
+    /**
+     * Records the operations a cached result took to compute when it is served from the cache instead. The
+     * regular counts only cover work actually done. Does nothing by default.
+     *
+     * @param count the operations of the original computation
+     */
+    default void addCachedOperations(long count) {}
+    /**
+     * Records the time a cached result took to compute when it is served from the cache instead. Does nothing
+     * by default.
+     *
+     * @param nanos the computation time in nanoseconds
+     */
+    default void addCachedNanos(long nanos) {}
+    /**
+     * Records that a task of an executed graph has finished, e.g. to collect per-task timings. Called from the
+     * thread that ran the task, so implementations that keep anything must be thread-safe. Does nothing by
+     * default.
+     *
+     * @param task  the node id of the task
+     * @param nanos how long the task ran, in nanoseconds
+     * @param ok    false if the task threw
+     */
+    default void recordTask(int task, long nanos, boolean ok) {}
     /**
      * Returns the total DFS visits.
      *
@@ -0,0 +1,63 @@
+package aitu.edu.graph.util;
+
+/**
+ * Metrics that count nothing, for runs where only the result matters.
+ * <p>
+ * All methods are empty and the class is final, so once the JIT sees only this implementation at a call
+ * site it inlines the calls away and the counting costs nothing. Every count reads as 0.
+ */
+public final class NoOpMetrics implements Metrics {
+    /**
+     * The shared instance.
+     */
+    public static final NoOpMetrics INSTANCE = new NoOpMetrics();
+
+    private NoOpMetrics() {}
+
+    @Override
+    public void incDfsVisit() {}
+
+    @Override
+    public void incDfsEdge() {}
+
+    @Override
+    public void incRelaxation() {}
+
+    @Override
+    public void addDfsVisits(long count) {}
+
+    @Override
+    public void addDfsEdges(long count) {}
+
+    @Override
+    public void addRelaxations(long count) {}
+
+    @Override
+    public void addCachedOperations(long count) {}
+
+    @Override
+    public void addCachedNanos(long nanos) {}
+
+    @Override
+    public void recordTask(int task, long nanos, boolean ok) {}
+
+    @Override
+    public long getDfsVisits() {
+        return 0;
+    }
+
+    @Override
+    public long getDfsEdges() {
+        return 0;
+    }
+
+    @Override
+    public long getRelaxations() {
+        return 0;
+    }
+
+    @Override
+    public long elapsedMs() {
+        return 0;
+    }
+}
@@ -1,12 +1,13 @@
 package aitu.edu.graph.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Reconstructs paths from predecessor maps.
+ * Reconstructs paths from predecessor maps or arrays.
  */
 public class PathReconstructor {
 
@@ -32,4 +33,31 @@ public class PathReconstructor {
         Collections.reverse(rev);
         return rev;
     }
-}
\ No newline at end of file
+
+    /**
+     * Reconstructs the path from src to dst using a predecessor array, where -1 (or a node outside the array)
+     * means no predecessor. A predecessor chain that loops without reaching src yields no path.
+     *
+     * @param pred the predecessor of each node
+     * @param src  the source node
+     * @param dst  the destination node
+     * @return the list of nodes in the path, or empty if no path
+     */
+    public static List<Integer> reconstruct(int[] pred, int src, int dst) {
+        int len = 1;
+        int cur = dst;
+        // Walk back once to size the path; a simple path has at most pred.length + 1 nodes
+        while (cur != src) {
+            if (cur < 0 || cur >= pred.length || len > pred.length) return Collections.emptyList();
+            cur = pred[cur];
+            len++;
+        }
+        Integer[] path = new Integer[len];
+        cur = dst;
+        for (int i = len - 1; i >= 0; i--) {
+            path[i] = cur;
+            if (i > 0) cur = pred[cur];
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+}
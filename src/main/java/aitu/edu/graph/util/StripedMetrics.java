@@ -0,0 +1,103 @@
+package aitu.edu.graph.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free implementation of Metrics for algorithms that count from several threads at once.
+ * <p>
+ * Each counter is a {@link LongAdder}: increments go to a per-thread cell and never block, and the cells are
+ * only summed when a count is read. Reads taken while other threads are still counting are not a snapshot.
+ */
+public class StripedMetrics implements Metrics {
+    private final LongAdder dfsVisits = new LongAdder();
+    private final LongAdder dfsEdges = new LongAdder();
+    private final LongAdder relaxations = new LongAdder();
+    private final LongAdder cachedOperations = new LongAdder();
+    private final LongAdder cachedNanos = new LongAdder();
+    private final long startNs;
+
+    /**
+     * Constructs a StripedMetrics instance, starting the timer.
+     */
+    public StripedMetrics() {
+        this.startNs = System.nanoTime();
+    }
+
+    @Override
+    public void incDfsVisit() {
+        dfsVisits.increment();
+    }
+
+    @Override
+    public void incDfsEdge() {
+        dfsEdges.increment();
+    }
+
+    @Override
+    public void incRelaxation() {
+        relaxations.increment();
+    }
+
+    @Override
+    public void addDfsVisits(long count) {
+        dfsVisits.add(count);
+    }
+
+    @Override
+    public void addDfsEdges(long count) {
+        dfsEdges.add(count);
+    }
+
+    @Override
+    public void addRelaxations(long count) {
+        relaxations.add(count);
+    }
+
+    @Override
+    public void addCachedOperations(long count) {
+        cachedOperations.add(count);
+    }
+
+    @Override
+    public void addCachedNanos(long nanos) {
+        cachedNanos.add(nanos);
+    }
+
+    /**
+     * Returns the operations the cached results served to this collector took to compute.
+     *
+     * @return the operations saved by the cache
+     */
+    public long getCachedOperations() {
+        return cachedOperations.sum();
+    }
+
+    /**
+     * Returns the computation time of the cached results served to this collector.
+     *
+     * @return the credited time in nanoseconds
+     */
+    public long getCachedNanos() {
+        return cachedNanos.sum();
+    }
+
+    @Override
+    public long getDfsVisits() {
+        return dfsVisits.sum();
+    }
+
+    @Override
+    public long getDfsEdges() {
+        return dfsEdges.sum();
+    }
+
+    @Override
+    public long getRelaxations() {
+        return relaxations.sum();
+    }
+
+    @Override
+    public long elapsedMs() {
+        return (System.nanoTime() - startNs) / 1_000_000;
+    }
+}
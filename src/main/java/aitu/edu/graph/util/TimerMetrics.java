@@ -8,6 +8,8 @@ public class TimerMetrics implements Metrics {
     private long dfsVisits = 0;
     private long dfsEdges = 0;
     private long relaxations = 0;
+    private long cachedOperations = 0;
+    private long cachedNanos = 0;
     private final long startNs;
 
     /**
@@ -32,6 +34,49 @@ public class TimerMetrics implements Metrics {
         relaxations++;
     }
 
+    @Override
+    public synchronized void addDfsVisits(long count) {
+        dfsVisits += count;
+    }
+
+    @Override
+    public synchronized void addDfsEdges(long count) {
+        dfsEdges += count;
+    }
+
+    @Override
+    public synchronized void addRelaxations(long count) {
+        relaxations += count;
+    }
+
+    @Override
+    public synchronized void addCachedOperations(long count) {
+        cachedOperations += count;
+    }
+
+    @Override
+    public synchronized void addCachedNanos(long nanos) {
+        cachedNanos += nanos;
+    }
+
+    /**
+     * Returns the operations the cached results served to this collector took to compute.
+     *
+     * @return the operations saved by the cache
+     */
+    public synchronized long getCachedOperations() {
+        return cachedOperations;
+    }
+
+    /**
+     * Returns the computation time of the cached results served to this collector.
+     *
+     * @return the credited time in nanoseconds
+     */
+    public synchronized long getCachedNanos() {
+        return cachedNanos;
+    }
+
     @Override
     public synchronized long getDfsVisits() {
         return dfsVisits;
@@ -0,0 +1,110 @@
+package aitu.edu;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchReportRunnerTest {
+    private static final String GOOD = "{\"graphs\":[{\"id\":1,\"n\":3,\"edges\":[[0,1],[1,2]],\"source\":0,"
+            + "\"metadata\":{\"is_dag\":true}}]}";
+    private static final String BAD = "{\"graphs\":[{\"id\":1,\"n\":";
+
+    @TempDir
+    Path dir;
+
+    private PrintStream savedOut;
+    private PrintStream savedErr;
+    private final ByteArrayOutputStream outBuf = new ByteArrayOutputStream();
+
+    @BeforeEach
+    public void captureConsole() {
+        savedOut = System.out;
+        savedErr = System.err;
+        System.setOut(new PrintStream(outBuf, true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void restoreConsole() {
+        System.setOut(savedOut);
+        System.setErr(savedErr);
+    }
+
+    private List<String> inputs(String... contents) throws IOException {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < contents.length; i++) {
+            String name = String.format("input_%02d.json", i);
+            Files.writeString(dir.resolve(name), contents[i]);
+            names.add(name);
+        }
+        return names;
+    }
+
+    private String targetDir() {
+        return dir.toString() + File.separator;
+    }
+
+    @Test
+    public void testLogsFollowInputOrder() throws IOException {
+        String[] contents = new String[12];
+        Arrays.fill(contents, GOOD);
+        List<String> names = inputs(contents);
+        int failed = new BatchReportRunner(4, BatchReportRunner.FailurePolicy.CONTINUE, new ReportOptions())
+                .run(targetDir(), names);
+        assertEquals(0, failed);
+
+        List<String> logged = new ArrayList<>();
+        for (String line : outBuf.toString(StandardCharsets.UTF_8).split("\\R")) {
+            if (line.startsWith("Processing file: ")) logged.add(line.substring("Processing file: ".length()));
+        }
+        assertEquals(names, logged);
+        for (String name : names) {
+            assertTrue(Files.exists(dir.resolve("report_" + name.substring("input_".length()))));
+        }
+    }
+
+    @Test
+    public void testContinueCountsFailuresAndProcessesTheRest() throws IOException {
+        List<String> names = inputs(GOOD, BAD, GOOD, BAD, GOOD);
+        int failed = new BatchReportRunner(2, BatchReportRunner.FailurePolicy.CONTINUE, new ReportOptions())
+                .run(targetDir(), names);
+        assertEquals(2, failed);
+        assertTrue(Files.exists(dir.resolve("report_00.json")));
+        assertTrue(Files.exists(dir.resolve("report_02.json")));
+        assertTrue(Files.exists(dir.resolve("report_04.json")));
+        // The failed files' reports are left without their closing bracket
+        ObjectMapper om = new ObjectMapper();
+        om.readTree(dir.resolve("report_00.json").toFile());
+        assertThrows(IOException.class, () -> om.readTree(dir.resolve("report_01.json").toFile()));
+        assertThrows(IOException.class, () -> om.readTree(dir.resolve("report_03.json").toFile()));
+    }
+
+    @Test
+    public void testFailFastSkipsQueuedFiles() throws IOException {
+        List<String> names = inputs(BAD, GOOD, GOOD, GOOD);
+        BatchReportRunner runner = new BatchReportRunner(1, BatchReportRunner.FailurePolicy.FAIL_FAST, new ReportOptions());
+        IOException e = assertThrows(IOException.class, () -> runner.run(targetDir(), names));
+        assertTrue(e.getMessage().contains("input_00.json"));
+        // One worker: the failing file marks the batch aborted before any queued file starts
+        for (int i = 1; i < 4; i++) assertFalse(Files.exists(dir.resolve(String.format("report_%02d.json", i))));
+    }
+
+    @Test
+    public void testRejectsNonPositiveThreads() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchReportRunner(0, BatchReportRunner.FailurePolicy.CONTINUE, new ReportOptions()));
+    }
+}
@@ -0,0 +1,109 @@
+package aitu.edu;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportWriterTest {
+    private final ObjectMapper om = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    private ArrayNode entries(int count) {
+        ArrayNode all = om.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode entry = om.createObjectNode();
+            entry.put("graph_id", i);
+            entry.set("order", om.createArrayNode().add(i).add(i + 1));
+            all.add(entry);
+        }
+        return all;
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testFinishedReportRoundTrips() throws IOException {
+        Path report = dir.resolve("report.json");
+        ArrayNode expected = entries(3);
+        try (ReportWriter writer = new ReportWriter(om, report.toString(), true)) {
+            writer.write((ObjectNode) expected.get(0));
+            // Entries reach the report path as soon as they are written
+            assertTrue(Files.readString(report).contains("\"graph_id\" : 0"));
+            for (int i = 1; i < expected.size(); i++) writer.write((ObjectNode) expected.get(i));
+            assertEquals(3, writer.count());
+            writer.finish();
+        }
+        assertEquals(om.writerWithDefaultPrettyPrinter().writeValueAsString(expected), Files.readString(report));
+        assertEquals(List.of(report), files());
+
+        try (ReportWriter writer = new ReportWriter(om, report.toString(), false)) {
+            writer.finish();
+        }
+        assertEquals("[]", Files.readString(report));
+    }
+
+    @Test
+    public void testUnfinishedReportIsNotClosed() throws IOException {
+        Path report = dir.resolve("report.json");
+        assertThrows(IllegalStateException.class, () -> {
+            try (ReportWriter writer = new ReportWriter(om, report.toString(), false)) {
+                writer.write((ObjectNode) entries(1).get(0));
+                throw new IllegalStateException("graph failed");
+            }
+        });
+        String written = Files.readString(report);
+        assertEquals("[{\"graph_id\":0,\"order\":[0,1]}", written);
+        assertThrows(IOException.class, () -> om.readTree(written));
+    }
+
+    @Test
+    public void testAtomicReportAppearsOnFinish() throws IOException {
+        Path report = dir.resolve("report.json");
+        Files.writeString(report, "old");
+        ArrayNode expected = entries(2);
+        try (ReportWriter writer = new ReportWriter(om, report.toString(), true, true)) {
+            for (int i = 0; i < expected.size(); i++) writer.write((ObjectNode) expected.get(i));
+            assertEquals("old", Files.readString(report));
+            writer.finish();
+        }
+        assertEquals(om.writerWithDefaultPrettyPrinter().writeValueAsString(expected), Files.readString(report));
+        assertEquals(List.of(report), files());
+    }
+
+    @Test
+    public void testUnfinishedAtomicReportLeavesNothingBehind() throws IOException {
+        Path report = dir.resolve("report.json");
+        try (ReportWriter writer = new ReportWriter(om, report.toString(), true, true)) {
+            writer.write((ObjectNode) entries(1).get(0));
+        }
+        assertTrue(files().isEmpty());
+
+        // A previous report survives a failed run untouched
+        Files.writeString(report, "old");
+        assertThrows(IllegalStateException.class, () -> {
+            try (ReportWriter writer = new ReportWriter(om, report.toString(), true, true)) {
+                writer.write((ObjectNode) entries(1).get(0));
+                throw new IllegalStateException("graph failed");
+            }
+        });
+        assertEquals("old", Files.readString(report));
+        assertEquals(List.of(report), files());
+    }
+}
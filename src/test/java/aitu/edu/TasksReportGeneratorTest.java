@@ -0,0 +1,74 @@
+package aitu.edu;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TasksReportGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testGraphMislabeledAsDagKeepsItsSections() throws IOException {
+        // Graph 1 claims to be a DAG but has the cycle 1 -> 2 -> 1; graph 2 really is one
+        Path input = dir.resolve("input_mislabeled.json");
+        Files.writeString(input, "{\"graphs\":["
+                + "{\"id\":1,\"n\":3,\"edges\":[[0,1],[1,2],[2,1]],\"source\":0,\"metadata\":{\"is_dag\":true}},"
+                + "{\"id\":2,\"n\":3,\"edges\":[{\"u\":0,\"v\":1,\"w\":2},{\"u\":1,\"v\":2,\"w\":3}],"
+                + "\"weight_model\":\"node\",\"source\":0,\"metadata\":{\"is_dag\":true}}]}");
+        Path output = dir.resolve("report_mislabeled.json");
+        PrintStream quiet = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+        TasksReportGenerator.generateReport(input.toString(), output.toString(), new ReportOptions(), quiet, quiet);
+
+        JsonNode report = new ObjectMapper().readTree(output.toFile());
+        assertEquals(2, report.size());
+        JsonNode cyclic = report.get(0);
+        assertFalse(cyclic.has("error"), cyclic.toString());
+        for (String section : new String[]{"kosaraju_scc", "topological_sort", "shortest_path", "longest_path"}) {
+            assertTrue(cyclic.has(section), section);
+        }
+        assertEquals(2, cyclic.get("kosaraju_scc").get("num_sccs").asInt());
+        JsonNode cpm = cyclic.get("cpm_schedule");
+        assertEquals(0, cpm.get("project_duration").asLong());
+        assertEquals(0, cpm.get("earliest_start").size());
+        assertEquals(0, cpm.get("critical_paths").size());
+
+        JsonNode dag = report.get(1).get("cpm_schedule");
+        assertEquals(3, dag.get("earliest_start").size());
+        assertEquals(1, dag.get("critical_paths").size());
+        assertTrue(dag.get("project_duration").asLong() > 0);
+    }
+
+    @Test
+    public void testFailureEntriesReportUnparsableIdsAsMinusOne() throws IOException {
+        // Every graph fails on its negative node; only the numeric ids survive into the failure entries
+        Path input = dir.resolve("input_bad_ids.json");
+        Files.writeString(input, "{\"graphs\":["
+                + "{\"id\":\"abc\",\"edges\":[[-1,0]]},"
+                + "{\"id\":{\"x\":1},\"edges\":[[-1,0]]},"
+                + "{\"id\":\"7\",\"edges\":[[-1,0]]},"
+                + "{\"edges\":[[-1,0]]}]}");
+        Path output = dir.resolve("report_bad_ids.json");
+        PrintStream quiet = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+        TasksReportGenerator.generateReport(input.toString(), output.toString(), new ReportOptions(), quiet, quiet);
+
+        JsonNode report = new ObjectMapper().readTree(output.toFile());
+        int[] expected = {-1, -1, 7, -1};
+        assertEquals(expected.length, report.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(report.get(i).has("error"), report.get(i).toString());
+            assertEquals(expected[i], report.get(i).get("graph_id").asInt(), "graph " + i);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package aitu.edu.graph.dagsp;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CriticalPathMethodTests {
+
+    @Test
+    public void testScheduleOfSmallProject() {
+        // 0 -> 1 -> 3 -> 4, 0 -> 2 -> 3, 2 -> 4
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 3).addEdge(0, 2).addEdge(2, 3).addEdge(3, 4).addEdge(2, 4)
+                .setDuration(0, 2).setDuration(1, 3).setDuration(2, 3).setDuration(3, 4).setDuration(4, 1).build();
+        CpmSchedule s = CriticalPathMethod.schedule(g, null);
+
+        assertEquals(10, s.projectDuration());
+        assertArrayEquals(new long[]{0, 2, 2, 5, 9}, s.earliestStarts());
+        assertArrayEquals(new long[]{2, 5, 5, 9, 10}, s.latestFinishes());
+        assertEquals(0, s.totalSlack(1));
+        assertEquals(0, s.totalSlack(2));
+        assertEquals(0, s.freeSlack(2));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, s.criticalTasks());
+        assertEquals(List.of(List.of(0, 1, 3, 4), List.of(0, 2, 3, 4)), s.criticalPaths(5));
+        assertEquals(List.of(List.of(0, 1, 3, 4)), s.criticalPaths(1));
+
+        // Lengthening 1 by two leaves 2 with two units of slack
+        g = new GraphBuilder().addEdge(0, 1).addEdge(1, 3).addEdge(0, 2).addEdge(2, 3).addEdge(3, 4).addEdge(2, 4)
+                .setDuration(0, 2).setDuration(1, 5).setDuration(2, 3).setDuration(3, 4).setDuration(4, 1).build();
+        s = CriticalPathMethod.schedule(g, null);
+        assertEquals(12, s.projectDuration());
+        assertEquals(2, s.totalSlack(2));
+        assertEquals(2, s.freeSlack(2));
+        assertEquals(List.of(List.of(0, 1, 3, 4)), s.criticalPaths(5));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CriticalPathMethod.schedule(new GraphBuilder().addEdge(0, 1).addEdge(1, 0).build(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> CriticalPathMethod.scheduleParallel(new GraphBuilder().addEdge(0, 1).addEdge(1, 0).build(), null));
+    }
+
+    @Test
+    public void testParallelMatchesSequentialAndCriticalPathsAreTight() {
+        Random rnd = new Random(21);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 100; round++) {
+                int n = 1 + rnd.nextInt(150);
+                GraphBuilder b = new GraphBuilder().ensureN(n);
+                for (int e = rnd.nextInt(3 * n); e > 0; e--) {
+                    int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                    if (u < v) b.addEdge(u, v);
+                }
+                for (int v = 0; v < n; v++) b.setDuration(v, rnd.nextInt(4));
+                Graph g = b.build();
+
+                CpmSchedule s = CriticalPathMethod.schedule(g, null);
+                CpmSchedule p = CriticalPathMethod.scheduleParallel(g, null, pool, 1);
+                assertEquals(s.projectDuration(), p.projectDuration());
+                assertArrayEquals(s.earliestStarts(), p.earliestStarts());
+                assertArrayEquals(s.latestFinishes(), p.latestFinishes());
+                assertArrayEquals(s.freeSlacks(), p.freeSlacks());
+
+                PathResult lp = CriticalPathExtractor.criticalPath(g, null);
+                long best = 0;
+                for (long d : lp.distances()) best = Math.max(best, d);
+                assertEquals(best, s.projectDuration());
+
+                long[] dur = g.durationArray();
+                for (int v = 0; v < n; v++) {
+                    assertTrue(s.freeSlack(v) >= 0 && s.freeSlack(v) <= s.totalSlack(v));
+                    assertEquals(lp.distanceTo(v), s.earliestFinish(v));
+                }
+                for (List<Integer> path : s.criticalPaths(20)) {
+                    assertEquals(0, s.earliestStart(path.get(0)));
+                    long t = 0;
+                    for (int v : path) {
+                        assertTrue(s.isCritical(v));
+                        assertEquals(t, s.earliestStart(v));
+                        t += dur[v];
+                    }
+                    assertEquals(s.projectDuration(), t);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
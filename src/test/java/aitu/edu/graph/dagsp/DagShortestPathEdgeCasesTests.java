@@ -2,8 +2,12 @@ package aitu.edu.graph.dagsp;
 
 import aitu.edu.graph.util.Graph;
 import aitu.edu.graph.util.GraphBuilder;
+import aitu.edu.graph.util.PathReconstructor;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DagShortestPathEdgeCasesTests {
@@ -63,5 +67,24 @@ public class DagShortestPathEdgeCasesTests {
         // source distance should be its duration
         assertEquals(1L, res.distanceTo(0));
     }
-}
 
+    @Test
+    public void testPredecessorArrayAndMapViewAgree() {
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).addEdge(0, 2).ensureN(4)
+                .setDuration(1, 5).setDuration(2, 1).build();
+        PathResult res = DagShortestPath.shortestPath(g, 0, null);
+        assertArrayEquals(new int[]{-1, 0, 0, -1}, res.predecessorArray());
+        assertEquals(Map.of(1, 0, 2, 0), res.predecessors());
+        assertEquals(-1, res.predecessorOf(3));
+        assertEquals(-1, res.predecessorOf(7));
+        assertTrue(res.reconstructPath(3).isEmpty());
+
+        // a predecessor loop that never reaches the source yields no path instead of spinning
+        int[] loop = {-1, 2, 1};
+        assertTrue(PathReconstructor.reconstruct(loop, 0, 2).isEmpty());
+        assertEquals(Arrays.asList(0, 1), PathResult.fromPredecessorArray(0, new long[2], new int[]{-1, 0}).reconstructPath(1));
+        // the Map constructor still takes a plain null, as before the array factory existed
+        assertTrue(new PathResult(0, new long[2], null).predecessors().isEmpty());
+        assertTrue(PathResult.unreached(0, new long[2]).reconstructPath(1).isEmpty());
+    }
+}
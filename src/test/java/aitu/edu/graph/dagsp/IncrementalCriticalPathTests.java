@@ -0,0 +1,106 @@
+package aitu.edu.graph.dagsp;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalCriticalPathTests {
+
+    @Test
+    public void testUpdatesMatchFullRecompute() {
+        Random rnd = new Random(20);
+        for (int round = 0; round < 40; round++) {
+            int n = 1 + rnd.nextInt(60);
+            long[] dur = new long[n];
+            List<int[]> edges = new ArrayList<>();
+            for (int e = rnd.nextInt(3 * n); e > 0; e--) {
+                int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                if (u < v) edges.add(new int[]{u, v});
+            }
+            for (int v = 0; v < n; v++) dur[v] = rnd.nextInt(5);
+            IncrementalCriticalPath cp = new IncrementalCriticalPath(build(n, edges, dur));
+
+            for (int step = 0; step < 3 * n; step++) {
+                int op = rnd.nextInt(3);
+                if (op == 0) {
+                    int v = rnd.nextInt(n);
+                    dur[v] = rnd.nextInt(5);
+                    cp.setDuration(v, dur[v]);
+                } else if (op == 1 || edges.isEmpty()) {
+                    // any direction: edges closing a cycle must be rejected
+                    int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                    if (cp.addEdge(u, v)) edges.add(new int[]{u, v});
+                } else {
+                    int[] e = edges.remove(rnd.nextInt(edges.size()));
+                    assertTrue(cp.removeEdge(e[0], e[1]));
+                }
+                assertMatchesStatic(cp, build(n, edges, dur));
+            }
+        }
+    }
+
+    @Test
+    public void testSlackAndCycleRejection() {
+        // 0 -> 1 -> 3, 0 -> 2 -> 3
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 3).addEdge(0, 2).addEdge(2, 3)
+                .setDuration(0, 1).setDuration(1, 2).setDuration(2, 5).setDuration(3, 3).build();
+        IncrementalCriticalPath cp = new IncrementalCriticalPath(g);
+        assertEquals(9, cp.length());
+        assertEquals(List.of(0, 2, 3), cp.criticalPath());
+        assertEquals(3, cp.slack(1));
+        assertEquals(4, cp.latestStart(1));
+        assertTrue(cp.isCritical(2));
+
+        cp.setDuration(1, 7);
+        assertEquals(11, cp.length());
+        assertEquals(List.of(0, 1, 3), cp.criticalPath());
+        assertEquals(2, cp.slack(2));
+
+        assertFalse(cp.addEdge(3, 0));
+        assertTrue(cp.addEdge(2, 1));
+        assertEquals(16, cp.length());
+        assertEquals(List.of(0, 2, 1, 3), cp.criticalPath());
+        assertThrows(IllegalArgumentException.class, () -> cp.setDuration(4, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IncrementalCriticalPath(new GraphBuilder().addEdge(0, 1).addEdge(1, 0).build()));
+    }
+
+    private static void assertMatchesStatic(IncrementalCriticalPath cp, Graph g) {
+        PathResult full = CriticalPathExtractor.criticalPath(g, null);
+        long best = 0;
+        int sink = -1;
+        for (int v = 0; v < g.nodeCount(); v++) {
+            assertEquals(full.distanceTo(v), cp.earliestFinish(v));
+            if (sink < 0 || full.distanceTo(v) > best) {
+                best = full.distanceTo(v);
+                sink = v;
+            }
+        }
+        assertEquals(best, cp.length());
+        assertEquals(sink, cp.sink());
+
+        // the path is a real path of the graph whose durations sum to the critical length
+        List<Integer> path = cp.criticalPath();
+        long sum = 0;
+        for (int i = 0; i < path.size(); i++) {
+            sum += g.durationArray()[path.get(i)];
+            if (i > 0) assertTrue(g.neighbors(path.get(i - 1)).contains(path.get(i)));
+            assertEquals(0, cp.slack(path.get(i)));
+        }
+        assertEquals(cp.length(), sum);
+        assertEquals(sink, (int) path.get(path.size() - 1));
+    }
+
+    private static Graph build(int n, List<int[]> edges, long[] dur) {
+        GraphBuilder b = new GraphBuilder().ensureN(n);
+        for (int[] e : edges) b.addEdge(e[0], e[1]);
+        for (int v = 0; v < n; v++) b.setDuration(v, dur[v]);
+        return b.build();
+    }
+}
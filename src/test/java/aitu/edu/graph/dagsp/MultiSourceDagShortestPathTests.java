@@ -0,0 +1,69 @@
+package aitu.edu.graph.dagsp;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiSourceDagShortestPathTests {
+
+    @Test
+    public void testBatchedSourcesMatchSingleSource() {
+        Random rnd = new Random(16);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 30; round++) {
+                int n = 1 + rnd.nextInt(120);
+                GraphBuilder b = new GraphBuilder().ensureN(n);
+                for (int e = rnd.nextInt(3 * n); e > 0; e--) {
+                    int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                    // an occasional back edge: the batch must still agree with the single-source version
+                    if (u < v || rnd.nextInt(40) == 0) b.addEdge(u, v);
+                }
+                for (int v = 0; v < n; v++) b.setDuration(v, rnd.nextInt(20) - 8);
+                Graph g = b.build();
+
+                // duplicates, out-of-range sources and a partial last block
+                int[] sources = new int[1 + rnd.nextInt(30)];
+                for (int i = 0; i < sources.length; i++) sources[i] = rnd.nextInt(n + 2) - 1;
+                DistanceTable table = MultiSourceDagShortestPath.shortestPaths(g, sources, null, pool);
+                assertEquals(sources.length, table.sourceCount());
+                for (int i = 0; i < sources.length; i++) {
+                    assertEquals(sources[i], table.source(i));
+                    assertArrayEquals(DagShortestPath.shortestPath(g, sources[i], null).distances(), table.distancesFrom(i));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNegativeDurationLeavesUnreachedLanesAtInf() {
+        Graph g = new GraphBuilder().addEdge(0, 1).ensureN(3).setDuration(1, -5).build();
+        DistanceTable table = MultiSourceDagShortestPath.shortestPaths(g, new int[]{0, 2}, null);
+        assertEquals(-5L, table.distance(0, 1));
+        assertEquals(PathResult.INF, table.distance(1, 1));
+        assertArrayEquals(DagShortestPath.shortestPath(g, 2, null).distances(), table.distancesFrom(1));
+    }
+
+    @Test
+    public void testAllPairsMatrixAndSizeGuard() {
+        // 0 -> 1 -> 3, 0 -> 2 -> 3
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 3).addEdge(0, 2).addEdge(2, 3)
+                .setDuration(0, 1).setDuration(1, 2).setDuration(2, 5).setDuration(3, 3).build();
+        DistanceTable all = MultiSourceDagShortestPath.allPairs(g, null);
+        assertEquals(4, all.sourceCount());
+        assertEquals(6L, all.distance(0, 3));
+        assertEquals(8L, all.distance(2, 3));
+        assertEquals(PathResult.INF, all.distance(3, 0));
+        assertEquals(PathResult.INF, all.distance(1, 9));
+
+        Graph big = new GraphBuilder().ensureN(10_000).build();
+        assertThrows(IllegalArgumentException.class, () -> MultiSourceDagShortestPath.allPairs(big, null));
+    }
+}
@@ -0,0 +1,55 @@
+package aitu.edu.graph.dagsp;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelDagPathTests {
+
+    @Test
+    public void testParallelPathsMatchSequentialIncludingTies() {
+        Random rnd = new Random(14);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 100; round++) {
+                int n = 1 + rnd.nextInt(200);
+                GraphBuilder b = new GraphBuilder().ensureN(n);
+                for (int e = rnd.nextInt(4 * n); e > 0; e--) {
+                    int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                    if (u < v) b.addEdge(u, v);
+                }
+                // few distinct durations, so many vertices have several equally good predecessors
+                for (int v = 0; v < n; v++) if (rnd.nextBoolean()) b.setDuration(v, rnd.nextInt(3));
+                Graph g = b.build();
+                int src = rnd.nextInt(n);
+
+                assertSame(DagShortestPath.shortestPath(g, src, null), ParallelDagPath.compute(g, src, null, pool, 1, false));
+                assertSame(DagLongestPath.longestPath(g, src, null), ParallelDagPath.compute(g, src, null, pool, 1, true));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCyclicGraphAndInvalidSourceFallBackToSequential() {
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).addEdge(2, 1).addEdge(2, 3)
+                .setDuration(1, 2).setDuration(3, 1).build();
+        assertSame(DagShortestPath.shortestPath(g, 0, null), ParallelDagPath.shortestPath(g, 0, null));
+        assertSame(DagLongestPath.longestPath(g, 0, null), ParallelDagPath.longestPath(g, 0, null));
+
+        PathResult none = ParallelDagPath.shortestPath(g, 9, null);
+        assertEquals(PathResult.INF, none.distanceTo(0));
+        assertTrue(none.predecessors().isEmpty());
+    }
+
+    private static void assertSame(PathResult expected, PathResult actual) {
+        assertArrayEquals(expected.distances(), actual.distances());
+        assertEquals(expected.predecessors(), actual.predecessors());
+    }
+}
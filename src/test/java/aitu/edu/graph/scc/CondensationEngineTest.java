@@ -0,0 +1,84 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.topo.TaskOrderDeriver;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CondensationEngineTest {
+
+    @Test
+    public void testRowsMatchHashSetReference() {
+        Random rnd = new Random(24);
+        for (int round = 0; round < 50; round++) {
+            int n = 1 + rnd.nextInt(80);
+            GraphBuilder b = new GraphBuilder().ensureN(n);
+            for (int e = rnd.nextInt(4 * n); e > 0; e--) b.addEdge(rnd.nextInt(n), rnd.nextInt(n));
+            for (int v = 0; v < n; v++) b.setDuration(v, rnd.nextInt(10));
+            Graph g = b.build();
+            SCCResult scc = TarjanSCC.computeSCC(g);
+            int[] comp = scc.getComponentIds();
+            int k = scc.componentCount();
+
+            List<Set<Integer>> firstSeen = new ArrayList<>();
+            for (int c = 0; c < k; c++) firstSeen.add(new LinkedHashSet<>());
+            Map<List<Integer>, long[]> stats = new HashMap<>(); // count, min, max
+            for (int[] e : g.edges()) {
+                int cu = comp[e[0]], cv = comp[e[1]];
+                if (cu == cv) continue;
+                firstSeen.get(cu).add(cv);
+                long w = g.durationArray()[e[1]];
+                long[] s = stats.computeIfAbsent(List.of(cu, cv), x -> new long[]{0, Long.MAX_VALUE, Long.MIN_VALUE});
+                s[0]++;
+                s[1] = Math.min(s[1], w);
+                s[2] = Math.max(s[2], w);
+            }
+
+            List<List<Integer>> expectedFirst = new ArrayList<>();
+            List<List<Integer>> expectedSorted = new ArrayList<>();
+            for (Set<Integer> row : firstSeen) {
+                expectedFirst.add(new ArrayList<>(row));
+                List<Integer> sorted = new ArrayList<>(row);
+                Collections.sort(sorted);
+                expectedSorted.add(sorted);
+            }
+            assertEquals(expectedFirst, TaskOrderDeriver.buildCondensation(g, scc));
+            assertEquals(expectedSorted, CondensationBuilder.build(g, scc).getAdjacency());
+            assertEquals(expectedSorted, CondensationBuilder.build(n, g.edges(), scc).getAdjacency());
+
+            CondensationCsr csr = CondensationEngine.build(g, scc, CondensationEngine.RowOrder.FIRST_APPEARANCE, true);
+            assertEquals(expectedFirst, csr.toAdjacency());
+            int[] off = csr.offsets();
+            for (int c = 0; c < k; c++) {
+                for (int i = off[c]; i < off[c + 1]; i++) {
+                    long[] s = stats.get(List.of(c, csr.targets()[i]));
+                    assertEquals(s[0], csr.multiplicities()[i]);
+                    assertEquals(s[1], csr.minWeights()[i]);
+                    assertEquals(s[2], csr.maxWeights()[i]);
+                }
+            }
+            assertEquals(stats.size(), csr.edgeCount());
+        }
+    }
+
+    @Test
+    public void testEdgeListInputAndMissingStats() {
+        // 0 <-> 1 -> 2, plus edges with an end point outside the graph
+        SCCResult scc = new SCCResult(new int[]{0, 0, 1}, List.of(List.of(0, 1), List.of(2)));
+        List<int[]> edges = List.of(new int[]{0, 1}, new int[]{1, 0}, new int[]{1, 2}, new int[]{0, 2},
+                new int[]{2, 7}, new int[]{-1, 2});
+        CondensationBuilder.Condensation c = CondensationBuilder.build(3, edges, scc);
+        assertEquals(List.of(List.of(1), List.of()), c.getAdjacency());
+        assertEquals(1, c.getEdges().size());
+
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 0).addEdge(1, 2).build();
+        CondensationCsr csr = CondensationEngine.build(g, scc);
+        assertFalse(csr.hasEdgeStats());
+        assertThrows(IllegalStateException.class, csr::multiplicities);
+        assertEquals(1, csr.toGraph().edgeCount());
+    }
+}
@@ -0,0 +1,100 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicSccTest {
+
+    @Test
+    public void testRandomUpdatesMatchFullRecompute() {
+        Random rnd = new Random(19);
+        for (int round = 0; round < 30; round++) {
+            int n = 1 + rnd.nextInt(40);
+            GraphBuilder b = new GraphBuilder().ensureN(n);
+            for (int e = rnd.nextInt(n); e > 0; e--) b.addEdge(rnd.nextInt(n), rnd.nextInt(n));
+            // a large fraction keeps the updates incremental; every fourth round uses the rebuild path
+            DynamicSCC dyn = new DynamicSCC(b.build(), round % 4 == 0 ? 0.05 : 10.0);
+            List<int[]> present = new ArrayList<>();
+            for (int step = 0; step < 6 * n; step++) {
+                if (present.isEmpty() || rnd.nextInt(3) > 0) {
+                    int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                    dyn.addEdge(u, v);
+                    present.add(new int[]{u, v});
+                } else {
+                    int[] e = present.remove(rnd.nextInt(present.size()));
+                    assertTrue(dyn.adjacency().hasEdge(e[0], e[1]));
+                    dyn.removeEdge(e[0], e[1]);
+                }
+                assertMatchesStatic(dyn);
+            }
+        }
+    }
+
+    @Test
+    public void testMergeSplitAndBatch() {
+        // 0 -> 1 -> 2 -> 3
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).addEdge(2, 3).build();
+        DynamicSCC dyn = new DynamicSCC(g);
+        assertEquals(4, dyn.componentCount());
+        assertTrue(dyn.addEdge(3, 1));
+        assertEquals(2, dyn.componentCount());
+        assertTrue(dyn.sameComponent(1, 3));
+        assertFalse(dyn.addEdge(2, 1), "edge inside a component");
+
+        SCCResult r = dyn.toResult();
+        assertEquals(List.of(List.of(0), List.of(1, 2, 3)), r.getComponents());
+        assertEquals(List.of(List.of(1), List.of()), dyn.condensation().getAdjacency());
+
+        assertFalse(dyn.removeEdge(2, 1), "1 -> 2 -> 3 -> 1 still holds");
+        assertTrue(dyn.removeEdge(3, 1));
+        assertEquals(4, dyn.componentCount());
+        assertFalse(dyn.removeEdge(3, 1), "no such edge");
+
+        int rebuilds = dyn.rebuildCount();
+        dyn.applyBatch(new int[][]{{3, 0}, {1, 0}}, new int[][]{{0, 1}});
+        assertEquals(rebuilds + 1, dyn.rebuildCount(), "a batch of 3 on 3 edges exceeds the fraction");
+        assertMatchesStatic(dyn);
+
+        int v = dyn.addNode();
+        assertEquals(5, dyn.componentCount());
+        dyn.addEdge(v, 0);
+        dyn.addEdge(3, v);
+        assertMatchesStatic(dyn);
+    }
+
+    private static void assertMatchesStatic(DynamicSCC dyn) {
+        Graph snap = dyn.adjacency().toGraph();
+        SCCResult expected = KosarajuSCC.computeSCC(snap);
+        SCCResult actual = dyn.toResult();
+        assertEquals(expected.componentCount(), dyn.componentCount());
+        assertArrayEquals(canonical(expected), canonical(actual));
+
+        // ids are in a topological order and the condensation matches the graph's inter-component edges
+        int[] ids = actual.getComponentIds();
+        Set<List<Integer>> condEdges = new HashSet<>();
+        for (int[] e : snap.edges()) {
+            if (ids[e[0]] == ids[e[1]]) continue;
+            assertTrue(ids[e[0]] < ids[e[1]]);
+            condEdges.add(List.of(ids[e[0]], ids[e[1]]));
+        }
+        Set<List<Integer>> got = new HashSet<>();
+        for (int[] e : dyn.condensation().getEdges()) got.add(List.of(e[0], e[1]));
+        assertEquals(condEdges, got);
+    }
+
+    /** Maps each node to the smallest node of its component. */
+    private static int[] canonical(SCCResult r) {
+        int[] ids = r.getComponentIds();
+        int[] min = new int[r.componentCount()];
+        Arrays.fill(min, Integer.MAX_VALUE);
+        for (int v = 0; v < ids.length; v++) min[ids[v]] = Math.min(min[ids[v]], v);
+        int[] out = new int[ids.length];
+        for (int v = 0; v < ids.length; v++) out[v] = min[ids[v]];
+        return out;
+    }
+}
@@ -0,0 +1,114 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import aitu.edu.graph.util.StripedMetrics;
+import aitu.edu.graph.util.TimerMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SccEngineTest {
+
+    private static Graph randomGraph(Random rnd, int n, int m) {
+        GraphBuilder gb = new GraphBuilder().ensureN(n);
+        for (int i = 0; i < m; i++) gb.addEdge(rnd.nextInt(n), rnd.nextInt(n));
+        return gb.build();
+    }
+
+    private static Set<Set<Integer>> partition(SCCResult res) {
+        Set<Set<Integer>> out = new HashSet<>();
+        for (List<Integer> comp : res.getComponents()) out.add(new HashSet<>(comp));
+        return out;
+    }
+
+    @Test
+    public void testEnginesAgreeWithKosarajuOnRandomGraphs() {
+        Random rnd = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + rnd.nextInt(40);
+            Graph g = randomGraph(rnd, n, rnd.nextInt(3 * n + 1));
+            Set<Set<Integer>> expected = partition(KosarajuSCC.computeSCC(g));
+            for (SccEngine engine : SccEngine.values()) {
+                SCCResult res = engine.compute(g, null);
+                assertEquals(expected, partition(res), engine + " on round " + round);
+                int[] ids = res.getComponentIds();
+                for (int c = 0; c < res.componentCount(); c++) {
+                    for (int v : res.getComponents().get(c)) assertEquals(c, ids[v]);
+                }
+                // ids follow the topological order of the condensation
+                for (int[] e : g.edges()) assertTrue(ids[e[0]] <= ids[e[1]], engine + " edge " + e[0] + "->" + e[1]);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelEngineAgreesWithKosarajuBelowTheSequentialThreshold() {
+        Random rnd = new Random(7);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 100; round++) {
+                int n = 1 + rnd.nextInt(400);
+                // Mix of sparse graphs (long trim chains) and denser ones (large SCCs)
+                Graph g = randomGraph(rnd, n, rnd.nextInt(round % 2 == 0 ? n + 1 : 4 * n + 1));
+                SCCResult res = ParallelSCC.computeSCC(g, new StripedMetrics(), pool, 1 + rnd.nextInt(8));
+                assertEquals(partition(KosarajuSCC.computeSCC(g)), partition(res), "round " + round);
+                int[] ids = res.getComponentIds();
+                for (int[] e : g.edges()) assertTrue(ids[e[0]] <= ids[e[1]], "edge " + e[0] + "->" + e[1]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelEngineIdsDoNotDependOnScheduling() {
+        // Wide trim rounds (a random DAG prefix feeding and fed by cycles) and a core large enough to split
+        Random rnd = new Random(12);
+        int n = 30_000;
+        GraphBuilder gb = new GraphBuilder().ensureN(n);
+        for (int i = 0; i < 3 * n; i++) {
+            int u = rnd.nextInt(n);
+            int v = rnd.nextInt(n);
+            if (u < n / 3 || v < n / 3) gb.addEdge(Math.min(u, v), Math.max(u, v));
+            else gb.addEdge(u, v);
+        }
+        Graph g = gb.build();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[] expected = ParallelSCC.computeSCC(g, null, single, 64).getComponentIds();
+            assertEquals(partition(KosarajuSCC.computeSCC(g)), partition(ParallelSCC.computeSCC(g, null, single, 64)));
+            for (int run = 0; run < 10; run++) {
+                assertArrayEquals(expected, ParallelSCC.computeSCC(g, null, pool, 64).getComponentIds(), "run " + run);
+            }
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSinglePassEnginesVisitEachNodeAndEdgeOnce() {
+        Graph g = new GraphBuilder().ensureN(4)
+                .addEdge(0, 1).addEdge(1, 2).addEdge(2, 0).addEdge(2, 3)
+                .build();
+        for (SccEngine engine : new SccEngine[]{SccEngine.TARJAN, SccEngine.GABOW}) {
+            TimerMetrics metrics = new TimerMetrics();
+            SCCResult res = engine.compute(g, metrics);
+            assertEquals(2, res.componentCount());
+            assertEquals(g.nodeCount(), metrics.getDfsVisits());
+            assertEquals(g.edgeCount(), metrics.getDfsEdges());
+        }
+    }
+
+    @Test
+    public void testFromName() {
+        assertEquals(SccEngine.TARJAN, SccEngine.fromName("tarjan"));
+        assertEquals(SccEngine.GABOW, SccEngine.fromName(" Gabow "));
+        assertThrows(IllegalArgumentException.class, () -> SccEngine.fromName("dijkstra"));
+    }
+}
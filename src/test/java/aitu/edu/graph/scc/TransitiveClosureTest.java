@@ -0,0 +1,155 @@
+package aitu.edu.graph.scc;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransitiveClosureTest {
+
+    /** A random DAG whose edges go from lower to higher positions of a shuffled order, with some duplicates. */
+    private static Graph randomDag(Random rnd, int n, int edges) {
+        List<Integer> perm = new ArrayList<>();
+        for (int v = 0; v < n; v++) perm.add(v);
+        Collections.shuffle(perm, rnd);
+        GraphBuilder b = new GraphBuilder().ensureN(n);
+        for (int e = 0; e < edges && n > 1; e++) {
+            int i = rnd.nextInt(n - 1);
+            int j = i + 1 + rnd.nextInt(Math.min(n - i - 1, 1 + rnd.nextInt(n)));
+            b.addEdge(perm.get(i), perm.get(j));
+        }
+        for (int v = 0; v < n; v++) if (rnd.nextBoolean()) b.setDuration(v, rnd.nextInt(10));
+        return b.build();
+    }
+
+    private static boolean[][] bfsClosure(Graph g) {
+        int n = g.nodeCount();
+        boolean[][] reach = new boolean[n][n];
+        for (int s = 0; s < n; s++) {
+            ArrayDeque<Integer> queue = new ArrayDeque<>(g.neighbors(s));
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                if (reach[s][v]) continue;
+                reach[s][v] = true;
+                queue.addAll(g.neighbors(v));
+            }
+        }
+        return reach;
+    }
+
+    @Test
+    public void testClosureMatchesBfs() {
+        Random rnd = new Random(25);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 40; round++) {
+                int n = 1 + rnd.nextInt(200);
+                Graph g = randomDag(rnd, n, rnd.nextInt(3 * n));
+                boolean[][] reach = bfsClosure(g);
+                TransitiveClosure seq = TransitiveClosure.of(g);
+                TransitiveClosure par = TransitiveClosure.compute(g, pool, 1);
+                for (int u = 0; u < n; u++) {
+                    int count = 0;
+                    for (int v = 0; v < n; v++) {
+                        assertEquals(reach[u][v], seq.reaches(u, v));
+                        assertEquals(reach[u][v], par.reaches(u, v));
+                        if (reach[u][v]) count++;
+                    }
+                    assertEquals(count, seq.reachableCount(u));
+                    int[] expected = new int[count];
+                    for (int v = 0, k = 0; v < n; v++) if (reach[u][v]) expected[k++] = v;
+                    assertArrayEquals(expected, seq.reachable(u));
+                    assertArrayEquals(expected, par.reachable(u));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testReductionKeepsReachabilityWithFewestEdges() {
+        Random rnd = new Random(52);
+        for (int round = 0; round < 40; round++) {
+            int n = 1 + rnd.nextInt(120);
+            Graph g = randomDag(rnd, n, rnd.nextInt(4 * n));
+            Graph r = TransitiveReduction.reduce(g);
+            boolean[][] reach = bfsClosure(g);
+            for (int u = 0; u < n; u++) assertArrayEquals(reach[u], bfsClosure(r)[u]);
+            assertEquals(g.durations(), r.durations());
+
+            // Every surviving edge is needed: removing it breaks reachability, and none is duplicated
+            for (int[] e : r.edges()) {
+                int u = e[0], v = e[1];
+                for (int w : r.neighbors(u)) {
+                    if (w != v) assertFalse(reach[w][v], "edge " + u + "->" + v + " is implied through " + w);
+                }
+                assertEquals(1, Collections.frequency(r.neighbors(u), v));
+                assertTrue(g.neighbors(u).contains(v));
+            }
+        }
+    }
+
+    @Test
+    public void testReduceDiamondWithShortcut() {
+        Graph g = new GraphBuilder()
+                .addEdge(0, 1).addEdge(0, 2).addEdge(1, 3).addEdge(2, 3).addEdge(0, 3).addEdge(0, 1)
+                .build();
+        Graph r = TransitiveReduction.reduce(g);
+        assertEquals(List.of(1, 2), r.neighbors(0));
+        assertEquals(List.of(3), r.neighbors(1));
+        assertEquals(List.of(3), r.neighbors(2));
+        assertEquals(4, r.edgeCount());
+    }
+
+    @Test
+    public void testCondensationReductionKeepsEdgeStats() {
+        // Components {0,1}, {2,3}, {4}; edges {0,1}->{2,3} twice, {2,3}->{4}, and the shortcut {0,1}->{4}
+        Graph g = new GraphBuilder()
+                .addEdge(0, 1).addEdge(1, 0).addEdge(2, 3).addEdge(3, 2)
+                .addEdge(0, 2).addEdge(1, 3).addEdge(3, 4).addEdge(0, 4)
+                .setDuration(2, 5).setDuration(3, 7).setDuration(4, 1)
+                .build();
+        SCCResult scc = TarjanSCC.computeSCC(g);
+        int[] comp = scc.getComponentIds();
+        CondensationCsr c = CondensationEngine.build(g, scc, CondensationEngine.RowOrder.SORTED, true);
+        assertEquals(3, c.edgeCount());
+
+        CondensationCsr r = TransitiveReduction.reduce(c);
+        assertEquals(2, r.edgeCount());
+        assertTrue(r.hasEdgeStats());
+        TransitiveClosure closure = TransitiveClosure.of(c);
+        for (int a = 0; a < 3; a++) {
+            for (int i = r.offsets()[a]; i < r.offsets()[a + 1]; i++) {
+                int b = r.targets()[i];
+                if (a == comp[0]) {
+                    assertEquals(comp[2], b);
+                    assertEquals(2, r.multiplicities()[i]);
+                    assertEquals(5, r.minWeights()[i]);
+                    assertEquals(7, r.maxWeights()[i]);
+                } else {
+                    assertEquals(comp[4], b);
+                    assertEquals(1, r.multiplicities()[i]);
+                }
+            }
+        }
+        assertTrue(closure.reaches(comp[0], comp[4]));
+        assertFalse(closure.reaches(comp[4], comp[0]));
+        assertFalse(TransitiveReduction.reduce(CondensationEngine.build(g, scc)).hasEdgeStats());
+    }
+
+    @Test
+    public void testCyclicGraphRejected() {
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).addEdge(2, 0).addEdge(2, 3).build();
+        assertThrows(IllegalArgumentException.class, () -> TransitiveClosure.of(g));
+        assertThrows(IllegalArgumentException.class, () -> TransitiveClosure.ofParallel(g));
+        assertThrows(IllegalArgumentException.class, () -> TransitiveReduction.reduce(g));
+        assertThrows(IllegalArgumentException.class, () -> TransitiveClosure.of((Graph) null));
+        Graph dag = new GraphBuilder().addEdge(0, 1).build();
+        assertThrows(IllegalArgumentException.class, () -> TransitiveClosure.of(dag).reaches(0, 2));
+    }
+}
@@ -0,0 +1,85 @@
+package aitu.edu.graph.topo;
+
+import aitu.edu.graph.util.DynamicAdjacency;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicTopologicalOrderTests {
+
+    @Test
+    public void testInsertionsKeepOrderValidAndRejectCycles() {
+        Random rnd = new Random(18);
+        for (int round = 0; round < 20; round++) {
+            int n = 2 + rnd.nextInt(60);
+            DynamicTopologicalOrder dto = new DynamicTopologicalOrder(n);
+            for (int k = 0; k < 4 * n; k++) {
+                int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                boolean cycle = u == v || reaches(dto.adjacency(), v, u);
+                int edges = dto.edgeCount();
+                assertEquals(!cycle, dto.addEdge(u, v), "edge " + u + "->" + v);
+                assertEquals(cycle ? edges : edges + 1, dto.edgeCount());
+                assertValid(dto);
+                if (rnd.nextInt(8) == 0 && dto.edgeCount() > 0) {
+                    int x = rnd.nextInt(n);
+                    if (dto.adjacency().outDegree(x) > 0) {
+                        assertTrue(dto.removeEdge(x, dto.adjacency().successors(x)[0]));
+                        assertValid(dto);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStartFromGraphAndAddNodes() {
+        Graph g = new GraphBuilder().addEdge(2, 1).addEdge(1, 0).build();
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(g);
+        assertArrayEquals(new int[]{2, 1, 0}, dto.order());
+        assertFalse(dto.addEdge(0, 2));
+
+        int v = dto.addNode();
+        assertEquals(3, v);
+        assertEquals(3, dto.position(v));
+        assertTrue(dto.addEdge(v, 2));
+        assertArrayEquals(new int[]{3, 2, 1, 0}, dto.order());
+        assertTrue(dto.precedes(3, 0));
+
+        Graph cyclic = new GraphBuilder().addEdge(0, 1).addEdge(1, 0).build();
+        assertThrows(IllegalArgumentException.class, () -> new DynamicTopologicalOrder(cyclic));
+        assertThrows(IllegalArgumentException.class, () -> dto.addEdge(0, 9));
+    }
+
+    private static void assertValid(DynamicTopologicalOrder dto) {
+        int[] order = dto.order();
+        for (int i = 0; i < order.length; i++) assertEquals(i, dto.position(order[i]));
+        DynamicAdjacency adj = dto.adjacency();
+        for (int u = 0; u < adj.nodeCount(); u++) {
+            for (int i = 0; i < adj.outDegree(u); i++) assertTrue(dto.precedes(u, adj.successors(u)[i]));
+        }
+    }
+
+    private static boolean reaches(DynamicAdjacency adj, int from, int to) {
+        boolean[] seen = new boolean[adj.nodeCount()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        seen[from] = true;
+        while (!queue.isEmpty()) {
+            int x = queue.poll();
+            if (x == to) return true;
+            for (int i = 0; i < adj.outDegree(x); i++) {
+                int y = adj.successors(x)[i];
+                if (!seen[y]) {
+                    seen[y] = true;
+                    queue.add(y);
+                }
+            }
+        }
+        return false;
+    }
+}
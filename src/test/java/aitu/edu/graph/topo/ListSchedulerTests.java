@@ -0,0 +1,98 @@
+package aitu.edu.graph.topo;
+
+import aitu.edu.graph.dagsp.CriticalPathExtractor;
+import aitu.edu.graph.scc.SCCResult;
+import aitu.edu.graph.scc.TarjanSCC;
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListSchedulerTests {
+
+    @Test
+    public void testRulesOnSmallGraph() {
+        // 0 -> 2 -> 3; 1 is independent and long, so its placement decides the makespan
+        Graph g = new GraphBuilder().addEdge(0, 2).addEdge(2, 3).ensureN(4)
+                .setDuration(0, 1).setDuration(1, 4).setDuration(2, 2).setDuration(3, 2).build();
+
+        TaskSchedule hl = ListScheduler.schedule(g, 1, PriorityRule.HLFET);
+        assertEquals(9, hl.makespan());
+        assertEquals(1.0, hl.utilization(), 1e-9);
+        // b-levels: 0 -> 5, 1 -> 4, so 0 runs first
+        assertEquals(0, hl.startOf(0));
+        assertEquals(1, hl.startOf(1));
+
+        TaskSchedule two = ListScheduler.schedule(g, 2, PriorityRule.HLFET);
+        assertEquals(5, two.makespan());
+        assertEquals(0, two.workerOf(0));
+        assertEquals(1, two.workerOf(1));
+        assertEquals(9.0 / 10.0, two.utilization(), 1e-9);
+
+        // remaining path after 0 is 4, after 1 is 0: 0 still wins; critical path first prefers 0 (no slack)
+        assertEquals(0, ListScheduler.schedule(g, 1, PriorityRule.LONGEST_REMAINING_PATH).startOf(0));
+        assertEquals(0, ListScheduler.schedule(g, 1, PriorityRule.CRITICAL_PATH_FIRST).startOf(0));
+
+        assertThrows(IllegalArgumentException.class, () -> ListScheduler.schedule(g, 0, PriorityRule.HLFET));
+        assertThrows(IllegalArgumentException.class,
+                () -> ListScheduler.schedule(new GraphBuilder().addEdge(0, 1).setDuration(0, -1).build(), 1, PriorityRule.HLFET));
+    }
+
+    @Test
+    public void testSchedulesAreFeasibleForEveryRule() {
+        Random rnd = new Random(22);
+        for (int round = 0; round < 60; round++) {
+            int n = 1 + rnd.nextInt(120);
+            boolean cyclic = round % 3 == 0;
+            GraphBuilder b = new GraphBuilder().ensureN(n);
+            for (int e = rnd.nextInt(3 * n); e > 0; e--) {
+                int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                if (cyclic || u < v) b.addEdge(u, v);
+            }
+            for (int v = 0; v < n; v++) b.setDuration(v, rnd.nextInt(6));
+            Graph g = b.build();
+            SCCResult scc = TarjanSCC.computeSCC(g);
+            long total = 0;
+            for (long d : g.durationArray()) total += d;
+
+            for (PriorityRule rule : PriorityRule.values()) {
+                int workers = 1 + rnd.nextInt(5);
+                TaskSchedule s = ListScheduler.schedule(g, workers, rule);
+                assertFeasible(g, scc, s);
+                assertTrue(s.makespan() * workers >= total);
+                if (workers == 1) assertEquals(total, s.makespan());
+
+                if (!cyclic) {
+                    // Enough workers: no task ever waits, so the makespan is the critical path
+                    long cp = 0;
+                    for (long d : CriticalPathExtractor.criticalPath(g, null).distances()) cp = Math.max(cp, d);
+                    assertEquals(cp, ListScheduler.schedule(g, n, rule).makespan());
+                }
+            }
+        }
+    }
+
+    private static void assertFeasible(Graph g, SCCResult scc, TaskSchedule s) {
+        int[] comp = scc.getComponentIds();
+        long[] dur = g.durationArray();
+        for (int[] e : g.edges()) {
+            if (comp[e[0]] != comp[e[1]]) assertTrue(s.startOf(e[1]) >= s.finishOf(e[0]), "edge " + e[0] + "->" + e[1]);
+        }
+        List<List<long[]>> byWorker = new ArrayList<>();
+        for (int w = 0; w < s.workerCount(); w++) byWorker.add(new ArrayList<>());
+        for (int v = 0; v < g.nodeCount(); v++) {
+            assertEquals(s.startOf(v) + dur[v], s.finishOf(v));
+            assertTrue(s.finishOf(v) <= s.makespan());
+            if (dur[v] > 0) byWorker.get(s.workerOf(v)).add(new long[]{s.startOf(v), s.finishOf(v)});
+        }
+        for (List<long[]> spans : byWorker) {
+            spans.sort((a, b) -> Long.compare(a[0], b[0]));
+            for (int i = 1; i < spans.size(); i++) assertTrue(spans.get(i)[0] >= spans.get(i - 1)[1], "overlap");
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package aitu.edu.graph.topo;
+
+import aitu.edu.graph.util.Graph;
+import aitu.edu.graph.util.GraphBuilder;
+import aitu.edu.graph.util.StripedMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskGraphExecutorTests {
+
+    @Test
+    public void testTasksRunAfterTheirPredecessors() throws Exception {
+        Random rnd = new Random(23);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 30; round++) {
+                int n = 1 + rnd.nextInt(200);
+                GraphBuilder b = new GraphBuilder().ensureN(n);
+                for (int e = rnd.nextInt(3 * n); e > 0; e--) {
+                    int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                    if (u < v) b.addEdge(u, v);
+                }
+                Graph g = b.build();
+
+                // A shared clock stamps every start and finish
+                Stamps stamps = new Stamps(n);
+                Map<Integer, Callable<Integer>> tasks = new HashMap<>();
+                for (int v = 0; v < n; v++) {
+                    if (v % 7 == 3) continue; // placeholders without a task
+                    int id = v;
+                    tasks.put(v, () -> {
+                        stamps.start(id);
+                        stamps.finish(id);
+                        return id * 2;
+                    });
+                }
+                AtomicInteger timed = new AtomicInteger();
+                StripedMetrics metrics = new StripedMetrics() {
+                    @Override
+                    public void recordTask(int task, long nanos, boolean ok) {
+                        assertTrue(ok && nanos >= 0);
+                        timed.incrementAndGet();
+                    }
+                };
+
+                Map<Integer, Integer> results = TaskGraphExecutor.callAll(g, tasks, metrics, pool);
+                assertEquals(tasks.size(), results.size());
+                for (int v : tasks.keySet()) assertEquals(v * 2, results.get(v));
+                assertEquals(tasks.size(), timed.get());
+                assertEquals(n, metrics.getDfsVisits());
+                assertEquals(g.edgeCount(), metrics.getDfsEdges());
+                for (int[] e : g.edges()) {
+                    if (tasks.containsKey(e[0]) && tasks.containsKey(e[1])) {
+                        assertTrue(stamps.finished(e[0]) < stamps.started(e[1]), "edge " + e[0] + "->" + e[1]);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testIndependentTasksRunConcurrently() throws Exception {
+        // 0 and 1 only finish once both are running
+        Graph g = new GraphBuilder().addEdge(0, 2).addEdge(1, 2).build();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        AtomicInteger last = new AtomicInteger(-1);
+        Map<Integer, Runnable> tasks = new HashMap<>();
+        for (int v = 0; v < 2; v++) {
+            tasks.put(v, () -> {
+                try {
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        tasks.put(2, () -> last.set(2));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            TaskGraphExecutor.runAll(g, tasks, null, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(2, last.get());
+    }
+
+    @Test
+    public void testFailureCancelsDependentTasks() {
+        // 0 -> 1 -> 2, and 0 fails
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).build();
+        AtomicInteger ran = new AtomicInteger();
+        Map<Integer, Runnable> tasks = new HashMap<>();
+        tasks.put(0, () -> {
+            throw new IllegalStateException("boom");
+        });
+        tasks.put(1, ran::incrementAndGet);
+        tasks.put(2, ran::incrementAndGet);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> TaskGraphExecutor.runAll(g, tasks, null));
+        assertEquals("boom", e.getCause().getMessage());
+        assertEquals(0, ran.get());
+
+        Graph cyclic = new GraphBuilder().addEdge(0, 1).addEdge(1, 0).build();
+        assertThrows(IllegalArgumentException.class, () -> TaskGraphExecutor.runAll(cyclic, Map.of(), null));
+        assertThrows(IllegalArgumentException.class, () -> TaskGraphExecutor.runAll(g, Map.of(5, () -> {}), null));
+    }
+
+    @Test
+    public void testRejectedSubmissionFailsInsteadOfHanging() {
+        // The pool accepts the root and then rejects everything, as one shutting down would
+        ForkJoinPool pool = new ForkJoinPool(2) {
+            private final AtomicInteger accepted = new AtomicInteger();
+
+            @Override
+            public void execute(Runnable task) {
+                if (accepted.incrementAndGet() > 1) throw new RejectedExecutionException("shutting down");
+                super.execute(task);
+            }
+        };
+        try {
+            Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).build();
+            Map<Integer, Callable<Integer>> tasks = Map.of(0, () -> 0, 1, () -> 1, 2, () -> 2);
+            ExecutionException e = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> assertThrows(ExecutionException.class, () -> TaskGraphExecutor.callAll(g, tasks, null, pool)));
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+            assertEquals("task 1 failed", e.getMessage());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Start and finish stamps from one global counter. */
+    private static final class Stamps {
+        private final AtomicInteger clock = new AtomicInteger();
+        private final AtomicLongArray start;
+        private final AtomicLongArray finish;
+
+        Stamps(int n) {
+            start = new AtomicLongArray(n);
+            finish = new AtomicLongArray(n);
+        }
+
+        void start(int v) {
+            start.set(v, clock.incrementAndGet());
+        }
+
+        void finish(int v) {
+            finish.set(v, clock.incrementAndGet());
+        }
+
+        long started(int v) {
+            return start.get(v);
+        }
+
+        long finished(int v) {
+            return finish.get(v);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -96,5 +97,82 @@ public class TopoTests {
         List<Integer> expected = TaskOrderDeriver.deriveTaskOrderFromComponentOrder(compOrder.subList(1, 1 + scc.componentCount()), scc);
         assertEquals(expected, taskOrder);
     }
-}
 
+    @Test
+    public void testDeepChainDoesNotOverflowStack() {
+        // 0 -> 1 -> ... -> n-1, far deeper than a recursive DFS could go on the default stack
+        int n = 1_000_000;
+        int[] off = new int[n + 1];
+        int[] tgt = new int[n - 1];
+        for (int v = 0; v < n - 1; v++) {
+            off[v + 1] = v + 1;
+            tgt[v] = v + 1;
+        }
+        off[n] = n - 1;
+        Graph g = Graph.fromCsr(n, off, tgt, new long[n], null);
+
+        int[] topo = DFSTopologicalSort.topologicalOrderArray(g, null);
+        for (int i = 0; i < n; i++) assertEquals(i, topo[i]);
+
+        // closing the chain into a cycle yields a single SCC
+        int[] cyc = Arrays.copyOf(tgt, n);
+        cyc[n - 1] = 0;
+        int[] cycOff = Arrays.copyOf(off, n + 1);
+        cycOff[n] = n;
+        SCCResult scc = KosarajuSCC.computeSCC(Graph.fromCsr(n, cycOff, cyc, new long[n], null));
+        assertEquals(1, scc.componentCount());
+        assertEquals(n, scc.getComponents().get(0).size());
+    }
+
+    @Test
+    public void testKahnSortReturnsLevelsAndReportsCycles() {
+        // 0 -> {1, 2}, 1 -> 3, 2 -> 3, 4 isolated
+        Graph dag = new GraphBuilder().addEdge(0, 2).addEdge(0, 1).addEdge(2, 3).addEdge(1, 3).ensureN(5).build();
+        LevelOrder lo = ParallelKahnSort.sort(dag);
+        assertTrue(lo.isAcyclic());
+        assertArrayEquals(new int[]{0, 4, 1, 2, 3}, lo.order());
+        assertArrayEquals(new int[]{0, 1, 1, 2, 0}, lo.levels());
+        assertEquals(3, lo.levelCount());
+        assertEquals(0, lo.blockedVertices().length);
+
+        // 1 <-> 2 is a cycle; 3 hangs below it, 0 and 4 are free
+        Graph cyc = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).addEdge(2, 1).addEdge(2, 3).ensureN(5).build();
+        LevelOrder bad = ParallelKahnSort.sort(cyc);
+        assertFalse(bad.isAcyclic());
+        assertArrayEquals(new int[]{1, 2, 3}, bad.blockedVertices());
+        assertArrayEquals(new int[]{0, 4}, bad.sortedPrefix());
+        assertEquals(-1, bad.levelOf(3));
+        assertThrows(IllegalStateException.class, bad::order);
+    }
+
+    @Test
+    public void testKahnSortParallelStepsAgreeWithSequential() {
+        Random rnd = new Random(13);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 50; round++) {
+                int n = 1 + rnd.nextInt(300);
+                GraphBuilder b = new GraphBuilder().ensureN(n);
+                for (int e = rnd.nextInt(4 * n); e > 0; e--) {
+                    int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                    // mostly forward edges, with an occasional back edge closing a cycle
+                    if (u < v || rnd.nextInt(50) == 0) b.addEdge(u, v);
+                }
+                Graph g = b.build();
+                LevelOrder seq = ParallelKahnSort.sort(g, null, pool, Integer.MAX_VALUE);
+                LevelOrder par = ParallelKahnSort.sort(g, null, pool, 1);
+                assertEquals(seq.isAcyclic(), par.isAcyclic());
+                assertArrayEquals(seq.sortedPrefix(), par.sortedPrefix());
+                assertArrayEquals(seq.levels(), par.levels());
+
+                int[] level = par.levels();
+                for (int[] e : g.edges()) {
+                    if (level[e[0]] >= 0) assertTrue(level[e[1]] < 0 || level[e[0]] < level[e[1]]);
+                    else assertEquals(-1, level[e[1]], "successor of a blocked vertex must be blocked");
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package aitu.edu.graph.util;
+
+import aitu.edu.graph.scc.SCCResult;
+import aitu.edu.graph.scc.SccEngine;
+import aitu.edu.graph.topo.DFSTopologicalSort;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisCacheTest {
+
+    @Test
+    public void testCachedResultsAreSharedAndCreditedSeparately() {
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).addEdge(2, 0).addEdge(2, 3).build();
+        AnalysisCache cache = g.analysis();
+        assertSame(cache, g.analysis());
+        assertEquals(0, cache.memoryBytes());
+
+        TimerMetrics direct = new TimerMetrics();
+        int[] expected = DFSTopologicalSort.topologicalOrderArray(g, direct);
+        TimerMetrics first = new TimerMetrics();
+        TimerMetrics second = new TimerMetrics();
+        int[] a = DFSTopologicalSort.cachedOrder(g, first);
+        int[] b = DFSTopologicalSort.cachedOrder(g, second);
+        assertArrayEquals(expected, a);
+        assertSame(a, b);
+        // the request that computed the order is counted; the one served from the cache did no work and is
+        // credited with what the cache saved instead
+        assertEquals(direct.getDfsVisits(), first.getDfsVisits());
+        assertEquals(direct.getDfsEdges(), first.getDfsEdges());
+        assertEquals(0, first.getCachedOperations());
+        assertEquals(0, first.getCachedNanos());
+        assertEquals(0, second.getDfsVisits() + second.getDfsEdges());
+        assertEquals(direct.getDfsVisits() + direct.getDfsEdges(), second.getCachedOperations());
+        assertTrue(second.getCachedNanos() > 0);
+
+        SCCResult scc = SccEngine.TARJAN.computeCached(g, null);
+        assertSame(scc, SccEngine.TARJAN.computeCached(g, null));
+        assertNotSame(scc, SccEngine.KOSARAJU.computeCached(g, null));
+
+        assertArrayEquals(new int[]{1, 1, 2, 0}, cache.outDegrees());
+        assertArrayEquals(new int[]{1, 1, 1, 1}, cache.inDegrees());
+        assertArrayEquals(new int[]{0, 1, 2, 2}, cache.edgeSources());
+        assertEquals(6, cache.size());
+        long bytes = cache.memoryBytes();
+        assertTrue(bytes > 6 * 16, "accounts for every entry and the reverse CSR: " + bytes);
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertTrue(cache.memoryBytes() > 0, "the reverse CSR stays with the graph");
+        assertNotSame(a, DFSTopologicalSort.cachedOrder(g, null));
+    }
+
+    @Test
+    public void testConcurrentRequestsComputeOnce() throws Exception {
+        Graph g = new GraphBuilder().addEdge(0, 1).build();
+        AtomicInteger computations = new AtomicInteger();
+        AnalysisCache.Key<int[]> key = new AnalysisCache.Key<>("test-slow", (gr, m) -> {
+            computations.incrementAndGet();
+            m.addRelaxations(5);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new int[gr.nodeCount()];
+        }, AnalysisCache.Key::intArrayBytes);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        StripedMetrics metrics = new StripedMetrics();
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) results.add(pool.submit(() -> g.analysis().get(key, metrics)));
+            int[] first = results.get(0).get();
+            for (Future<int[]> f : results) assertSame(first, f.get());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, computations.get());
+        assertEquals(5, metrics.getRelaxations());
+        assertEquals(35, metrics.getCachedOperations());
+        assertTrue(g.analysis().contains(key));
+    }
+}
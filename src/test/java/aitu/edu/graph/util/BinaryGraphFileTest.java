@@ -0,0 +1,122 @@
+package aitu.edu.graph.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryGraphFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRoundTripPreservesGraphs() throws IOException {
+        Graph a = new GraphBuilder().ensureN(70)
+                .addEdge(0, 2).addEdge(0, 1).addEdge(2, 69).addEdge(69, 0)
+                .setDuration(1, 4).setDuration(65, -3).setDuration(69, 0)
+                .build();
+        Graph empty = new GraphBuilder().build();
+        Graph b = new GraphBuilder().addEdge(1, 0).build();
+
+        Path file = dir.resolve("graphs.bin");
+        try (BinaryGraphWriter w = new BinaryGraphWriter(file)) {
+            assertEquals(0, w.add(11, a));
+            assertEquals(1, w.add(-1, empty));
+            assertEquals(2, w.add(7, b));
+        }
+
+        try (BinaryGraphFile in = BinaryGraphFile.open(file)) {
+            assertEquals(3, in.graphCount());
+            assertEquals(11, in.graphId(0));
+            assertEquals(7, in.graphId(2));
+            List<Graph> expected = List.of(a, empty, b);
+            for (int i = 0; i < expected.size(); i++) {
+                Graph g = in.graph(i);
+                assertEquals(expected.get(i).nodeCount(), g.nodeCount());
+                assertArrayEquals(expected.get(i).offsets(), g.offsets());
+                assertArrayEquals(expected.get(i).targets(), g.targets());
+                assertEquals(expected.get(i).durations(), g.durations());
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> in.graph(3));
+        }
+    }
+
+    @Test
+    public void testConvertJsonAndRejectForeignFiles() throws IOException {
+        Path json = dir.resolve("input.json");
+        Files.writeString(json, "{\"graphs\":[{\"id\":3,\"edges\":[{\"u\":0,\"v\":1,\"w\":5}],\"weight_model\":\"node\"},"
+                + "{\"id\":4,\"n\":3,\"edges\":[[2,0]]}]}");
+        Path bin = dir.resolve("input.bin");
+        assertEquals(2, BinaryGraphWriter.convertJson(json.toFile(), bin));
+        try (BinaryGraphFile in = BinaryGraphFile.open(bin)) {
+            assertEquals(4, in.graphId(1));
+            assertEquals(Map.of(0, 5L), in.graph(0).durations());
+            assertEquals(List.of(0), in.graph(1).neighbors(2));
+        }
+
+        assertThrows(IOException.class, () -> BinaryGraphFile.open(json));
+    }
+
+    @Test
+    public void testRejectCorruptOffsetsAndTargets() throws IOException {
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).build();
+        // The only section starts right after the header; its offsets follow the 16-byte section header
+        long offsetsAt = BinaryGraphFile.HEADER_BYTES + 16;
+        long targetsAt = offsetsAt + 4 * Integer.BYTES;
+
+        Path target = write(g, "target.bin");
+        putInt(target, targetsAt + Integer.BYTES, 7);
+        Path offsets = write(g, "offsets.bin");
+        putInt(offsets, offsetsAt + Integer.BYTES, 3);
+        Path first = write(g, "first.bin");
+        putInt(first, offsetsAt, 1);
+        for (Path file : List.of(target, offsets, first)) {
+            try (BinaryGraphFile in = BinaryGraphFile.open(file)) {
+                IOException e = assertThrows(IOException.class, () -> in.graph(0));
+                assertTrue(e.getMessage().startsWith("corrupt graph section 0"), e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testRejectCountsTooLargeForTheSection() throws IOException {
+        Graph g = new GraphBuilder().addEdge(0, 1).addEdge(1, 2).build();
+        long nodesAt = BinaryGraphFile.HEADER_BYTES + 4;
+
+        Path maxNodes = write(g, "max-nodes.bin");
+        putInt(maxNodes, nodesAt, Integer.MAX_VALUE);
+        Path manyNodes = write(g, "many-nodes.bin");
+        putInt(manyNodes, nodesAt, Integer.MAX_VALUE - 1);
+        Path manyEdges = write(g, "many-edges.bin");
+        putInt(manyEdges, nodesAt + Integer.BYTES, Integer.MAX_VALUE);
+        for (Path file : List.of(maxNodes, manyNodes, manyEdges)) {
+            try (BinaryGraphFile in = BinaryGraphFile.open(file)) {
+                assertThrows(IOException.class, () -> in.graph(0));
+            }
+        }
+    }
+
+    private Path write(Graph g, String name) throws IOException {
+        Path file = dir.resolve(name);
+        try (BinaryGraphWriter w = new BinaryGraphWriter(file)) {
+            w.add(1, g);
+        }
+        return file;
+    }
+
+    private static void putInt(Path file, long at, int value) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value), at);
+        }
+    }
+}
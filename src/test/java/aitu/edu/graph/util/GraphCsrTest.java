@@ -0,0 +1,53 @@
+package aitu.edu.graph.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphCsrTest {
+
+    @Test
+    public void testCsrArraysMatchAdjacency() {
+        Graph g = new GraphBuilder().ensureN(4)
+                .addEdge(0, 2).addEdge(0, 1).addEdge(2, 3).addEdge(1, 3)
+                .setDuration(1, 4).setDuration(3, 9)
+                .build();
+
+        assertArrayEquals(new int[]{0, 2, 3, 4, 4}, g.offsets());
+        assertArrayEquals(new int[]{2, 1, 3, 3}, g.targets());
+        assertEquals(4, g.edgeCount());
+        assertEquals(Arrays.asList(2, 1), g.neighbors(0));
+        assertEquals(Arrays.asList(Arrays.asList(2, 1), List.of(3), List.of(3), List.of()), g.adjacency());
+
+        // absent durations read as 0 in the primitive array but stay empty in durationOf
+        assertArrayEquals(new long[]{0, 4, 0, 9}, g.durationArray());
+        assertFalse(g.durationOf(0).isPresent());
+        assertEquals(Map.of(1, 4L, 3, 9L), g.durations());
+    }
+
+    @Test
+    public void testReverseCsrIsSortedBySource() {
+        Graph g = new GraphBuilder().ensureN(3)
+                .addEdge(2, 0).addEdge(1, 0).addEdge(0, 1).addEdge(2, 1)
+                .build();
+
+        int[] roff = g.reverseOffsets();
+        int[] rsrc = g.reverseSources();
+        assertArrayEquals(new int[]{0, 2, 4, 4}, roff);
+        assertArrayEquals(new int[]{1, 2, 0, 2}, rsrc);
+    }
+
+    @Test
+    public void testFromCsrRejectsInconsistentArrays() {
+        Graph g = Graph.fromCsr(2, new int[]{0, 1, 1}, new int[]{1}, new long[]{3, 5}, null);
+        assertEquals(List.of(1), g.neighbors(0));
+        assertFalse(g.durationOf(1).isPresent());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Graph.fromCsr(2, new int[]{0, 1, 2}, new int[]{1}, new long[2], null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Graph.fromCsr(2, new int[]{0, 1}, new int[]{1}, new long[2], null));
+    }
+}
@@ -0,0 +1,76 @@
+package aitu.edu.graph.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphStreamReaderTest {
+
+    private static GraphStreamReader reader(String json) throws IOException {
+        return new GraphStreamReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testGraphsArrayMatchesFromJson() throws IOException {
+        String json = "{\"note\":{\"x\":[1,2]},\"graphs\":["
+                + "{\"id\":7,\"edges\":[{\"u\":0,\"v\":2,\"w\":3},{\"u\":0,\"v\":1,\"w\":5},[1,2]],"
+                + "\"weight_model\":\"node\",\"durations\":{\"1\":4},\"source\":0,\"metadata\":{\"is_dag\":true}},"
+                + "{\"n\":4,\"nodes\":[0,5],\"edges\":[[3,1],[0,3]]}"
+                + "]}";
+        ObjectMapper om = new ObjectMapper();
+        List<GraphRecord> records = new ArrayList<>();
+        try (GraphStreamReader r = reader(json)) {
+            assertTrue(r.hasGraphsArray());
+            r.forEachRemaining(records::add);
+        }
+        assertEquals(2, records.size());
+
+        int i = 0;
+        for (JsonNode gnode : om.readTree(json).get("graphs")) {
+            Graph expected = GraphBuilder.fromJson(gnode).build();
+            Graph actual = records.get(i).graph();
+            assertEquals(i, records.get(i).getIndex());
+            assertEquals(expected.nodeCount(), actual.nodeCount());
+            assertEquals(expected.adjacency(), actual.adjacency());
+            assertEquals(expected.durations(), actual.durations());
+            i++;
+        }
+
+        GraphRecord first = records.get(0);
+        assertEquals(7, first.getId());
+        assertEquals("node", first.getWeightModel());
+        assertEquals(0, first.getSource());
+        assertTrue(first.isDag());
+        assertEquals(Map.of(0, 5L, 1, 4L), first.graph().durations());
+
+        GraphRecord second = records.get(1);
+        assertNull(second.getIdText());
+        assertEquals(-1, second.getId());
+        assertFalse(second.hasSource());
+        assertEquals(6, second.graph().nodeCount());
+    }
+
+    @Test
+    public void testSingleGraphAndBuildErrors() throws IOException {
+        try (GraphStreamReader r = reader("{\"id\":1,\"edges\":[[0,1]]}")) {
+            assertFalse(r.hasGraphsArray());
+            assertEquals(List.of(1), r.next().graph().neighbors(0));
+            assertFalse(r.hasNext());
+        }
+
+        // an invalid graph is reported on access and does not stop the following graphs
+        try (GraphStreamReader r = reader("{\"graphs\":[{\"edges\":[[-1,0]]},{\"edges\":[[0,1]]}]}")) {
+            GraphRecord bad = r.next();
+            assertThrows(IllegalArgumentException.class, bad::graph);
+            assertEquals(1, r.next().graph().edgeCount());
+            assertFalse(r.hasNext());
+        }
+    }
+}
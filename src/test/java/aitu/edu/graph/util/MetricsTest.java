@@ -0,0 +1,50 @@
+package aitu.edu.graph.util;
+
+import aitu.edu.graph.scc.KosarajuSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    public void testStripedMetricsCountsConcurrentIncrements() throws InterruptedException {
+        StripedMetrics m = new StripedMetrics();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    m.incDfsVisit();
+                    m.incDfsEdge();
+                    m.incDfsEdge();
+                    m.incRelaxation();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) t.join();
+
+        assertEquals(400_000, m.getDfsVisits());
+        assertEquals(800_000, m.getDfsEdges());
+        assertEquals(400_000, m.getRelaxations());
+    }
+
+    @Test
+    public void testImplementationsAgreeOnAlgorithmCounts() {
+        Graph g = new GraphBuilder().ensureN(5)
+                .addEdge(0, 1).addEdge(1, 2).addEdge(2, 0).addEdge(2, 3).addEdge(3, 4)
+                .build();
+        TimerMetrics timer = new TimerMetrics();
+        StripedMetrics striped = new StripedMetrics();
+        KosarajuSCC.computeSCC(g, timer);
+        KosarajuSCC.computeSCC(g, striped);
+        assertEquals(timer.getDfsVisits(), striped.getDfsVisits());
+        assertEquals(timer.getDfsEdges(), striped.getDfsEdges());
+
+        assertEquals(3, KosarajuSCC.computeSCC(g, NoOpMetrics.INSTANCE).componentCount());
+        assertEquals(0, NoOpMetrics.INSTANCE.getDfsVisits());
+    }
+}